@@ -1,11 +1,44 @@
 /**
  * Clase principal para iniciar la aplicación.
+ * Sin argumentos inicia la partida por consola; con
+ * "simular [manos] [limite|basica] [hilos] [barajas] [asientos] [diario]" ejecuta
+ * la simulación sin interfaz; con más de una baraja se reparte de un zapato con
+ * corte al 75%, y con varios asientos cada turno del Dealer resuelve varias manos.
+ * Si se indica un directorio de diario, todas las manos se guardan en él.
  */
 public class Main {
     public static void main(String[] args) {
+        if (args.length > 0 && args[0].equals("simular")) {
+            long manos = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000L;
+            String estrategia = args.length > 2 ? args[2] : "17";
+            int hilos = args.length > 3 ? Integer.parseInt(args[3])
+                    : Runtime.getRuntime().availableProcessors();
+            int barajas = args.length > 4 ? Integer.parseInt(args[4]) : 1;
+            int asientos = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+            persistencia.DiarioJugadas diario = args.length > 6
+                    ? new persistencia.DiarioJugadas(java.nio.file.Paths.get(args[6]))
+                    : null;
+
+            logica.EstrategiaJugador decisiones = estrategia.equals("basica")
+                    ? simulacion.TablaEstrategiaBasica.paraBarajas(barajas)
+                    : new simulacion.EstrategiaUmbral(Integer.parseInt(estrategia));
+            simulacion.SimulacionParalela simulacion = new simulacion.SimulacionParalela(
+                    decisiones, hilos, System.nanoTime());
+            simulacion.setAsientos(asientos);
+            if (barajas > 1) {
+                simulacion.setFabricaMazos(generador -> new logica.Zapato(barajas, 0.75, generador));
+            }
+            simulacion.setDiario(diario);
+            System.out.println(simulacion.ejecutar(manos));
+            if (diario != null) {
+                diario.cerrar();
+                System.out.println("Registros en el diario: " + diario.getRegistrosEscritos());
+            }
+            return;
+        }
+
         // Crear y arrancar la partida de Blackjack
         juego.JuegoBlackjack partidaBlackjack = new juego.JuegoBlackjack();
         partidaBlackjack.comenzarPartida();
     }
 }
-
@@ -1,28 +1,59 @@
 package componentes;
 
+import java.util.function.Function;
+
 /*
  * Árbol binario especializado en decisiones del Dealer para Blackjack.
- * Aplica una estrategia fija y directa basada en el puntaje del Dealer.
- * 
+ * La estrategia se carga desde una definición de reglas, una por línea, que se
+ * evalúan en orden hasta que una se cumple:
+ *
+ *   # El Dealer pide con soft 17 (H17)
+ *   puntaje < 17 => Pedir carta | El Dealer intenta mejorar su mano
+ *   suave puntaje == 17 => Pedir carta | El Dealer pide con 17 suave
+ *   siempre => Plantarse | El Dealer mantiene su mano actual
+ *
+ * Una condición combina opcionalmente "suave" o "duro" con una comparación
+ * "puntaje <op> N" (op: <, <=, >, >=, ==); "siempre" se cumple en todos los
+ * casos y debe cerrar la definición. Cada regla es un nodo cuyo hijo izquierdo
+ * es la acción y el derecho la regla siguiente.
+ *
+ * Al construirse, el árbol se compila a un arreglo plano indexado por
+ * (suave, puntaje), así que decidir no recorre nodos, no crea objetos y no
+ * escribe nada salvo que se active la traza.
+ *
  * Ventajas:
  * - Espacio: constante, ya que no cambia su estructura.
  * - Tiempo: evaluación inmediata O(1).
- * 
- * Versión ajustada con nombres neutros para reutilización general.
- * @version 2.1
+ *
+ * @version 3.0
  */
 public class ArbolBinario<T> {
 
-    // Valor límite para que el Dealer decida detenerse
-    private static final int LIMITE_ESTRATEGIA = 17;
+    /** Reglas estándar: el Dealer se planta con cualquier 17 (S17). */
+    public static final String REGLAS_PLANTA_17 = String.join("\n",
+            "puntaje < 17 => Pedir carta | El Dealer intenta mejorar su mano",
+            "siempre => Plantarse | El Dealer mantiene su mano actual");
+
+    /** Variante en la que el Dealer pide carta con 17 suave (H17). */
+    public static final String REGLAS_PIDE_SUAVE_17 = String.join("\n",
+            "puntaje < 17 => Pedir carta | El Dealer intenta mejorar su mano",
+            "suave puntaje == 17 => Pedir carta | El Dealer pide con 17 suave",
+            "siempre => Plantarse | El Dealer mantiene su mano actual");
+
+    // Puntajes por encima de este valor comparten la última posición compilada
+    private static final int PUNTAJE_MAXIMO = 31;
 
     // Nodo raíz del árbol
     private NodoBinario<T> nodoRaiz;
+    // Decisión precalculada para cada combinación de (suave, puntaje)
+    private NodoBinario<T>[] decisiones;
+    // Si está activa, cada decisión se muestra por consola
+    private boolean traza;
 
     /*
      * Nodo individual del árbol binario.
      * Contiene un valor, dos hijos (izquierdo y derecho), y metadatos de la
-     * decisión.
+     * decisión. Los nodos de regla llevan además la condición a evaluar.
      */
     public static class NodoBinario<T> {
         private T valor;
@@ -30,6 +61,7 @@ public class ArbolBinario<T> {
         private NodoBinario<T> derecho;
         private String descripcion;
         private String condicion;
+        private Condicion prueba;
 
         public NodoBinario(T valor, String descripcion, String condicion) {
             this.valor = valor;
@@ -66,49 +98,229 @@ public class ArbolBinario<T> {
         public void setDerecho(NodoBinario<T> nodo) {
             this.derecho = nodo;
         }
+
+        /*
+         * Indica si el nodo es una acción final y no una regla.
+         */
+        public boolean esHoja() {
+            return prueba == null;
+        }
+    }
+
+    /*
+     * Condición de una regla: tipo de mano y rango de puntaje aceptado.
+     */
+    private static final class Condicion {
+        // -1 cualquier mano, 0 solo duras, 1 solo suaves
+        private final int suavidad;
+        private final int minimo;
+        private final int maximo;
+
+        private Condicion(int suavidad, int minimo, int maximo) {
+            this.suavidad = suavidad;
+            this.minimo = minimo;
+            this.maximo = maximo;
+        }
+
+        private boolean cumple(int puntos, boolean suave) {
+            if (suavidad >= 0 && (suavidad == 1) != suave) {
+                return false;
+            }
+            return puntos >= minimo && puntos <= maximo;
+        }
     }
 
     /*
-     * Constructor que crea un árbol de decisiones básicas para el Dealer.
+     * Constructor que crea el árbol de decisiones estándar del Dealer (S17).
+     * Los valores de las hojas son los textos de las acciones, por lo que
+     * solo tiene sentido con T = String; para otros tipos use desdeReglas.
      */
     @SuppressWarnings("unchecked")
     public ArbolBinario() {
-        nodoRaiz = new NodoBinario<>((T) "Inicio",
-                "Evaluar si seguir o detenerse según el puntaje",
-                String.format("puntaje >= %d", LIMITE_ESTRATEGIA));
+        this(REGLAS_PLANTA_17, accion -> (T) accion);
+    }
+
+    /*
+     * Constructor que carga el árbol desde una definición de reglas.
+     *
+     * @param reglas      Definición de reglas, una por línea.
+     * @param convertidor Convierte el texto de cada acción en el valor de la hoja.
+     *
+     * @throws IllegalArgumentException si la definición no es válida.
+     */
+    public ArbolBinario(String reglas, Function<String, T> convertidor) {
+        nodoRaiz = construir(reglas, convertidor);
+        compilar();
+    }
+
+    /*
+     * Crea un árbol a partir de una definición de reglas.
+     *
+     * @param reglas      Definición de reglas, una por línea.
+     * @param convertidor Convierte el texto de cada acción en el valor de la hoja.
+     */
+    public static <T> ArbolBinario<T> desdeReglas(String reglas, Function<String, T> convertidor) {
+        return new ArbolBinario<>(reglas, convertidor);
+    }
+
+    // Arma la cadena de nodos de regla a partir del texto
+    private NodoBinario<T> construir(String reglas, Function<String, T> convertidor) {
+        NodoBinario<T> raiz = null;
+        NodoBinario<T> ultimaRegla = null;
+        boolean cerrada = false;
+
+        for (String linea : reglas.split("[\\n;]")) {
+            linea = linea.trim();
+            if (linea.isEmpty() || linea.startsWith("#")) {
+                continue;
+            }
+            if (cerrada) {
+                throw new IllegalArgumentException("Regla inalcanzable después de 'siempre': " + linea);
+            }
+
+            int flecha = linea.indexOf("=>");
+            if (flecha < 0) {
+                throw new IllegalArgumentException("Falta '=>' en la regla: " + linea);
+            }
+            String condicion = linea.substring(0, flecha).trim();
+            String accion = linea.substring(flecha + 2).trim();
+            String descripcion = accion;
+            int barra = accion.indexOf('|');
+            if (barra >= 0) {
+                descripcion = accion.substring(barra + 1).trim();
+                accion = accion.substring(0, barra).trim();
+            }
+
+            NodoBinario<T> hoja = new NodoBinario<>(convertidor.apply(accion), descripcion, condicion);
+            NodoBinario<T> nodo;
+            if (condicion.equals("siempre")) {
+                nodo = hoja;
+                cerrada = true;
+            } else {
+                nodo = new NodoBinario<>(null, "Evaluar " + condicion, condicion);
+                nodo.prueba = interpretarCondicion(condicion);
+                nodo.setIzquierdo(hoja);
+            }
+
+            if (raiz == null) {
+                raiz = nodo;
+            } else {
+                ultimaRegla.setDerecho(nodo);
+            }
+            ultimaRegla = nodo;
+        }
 
-        NodoBinario<T> pedir = new NodoBinario<>((T) "Pedir carta",
-                "El Dealer intenta mejorar su mano",
-                String.format("puntaje < %d", LIMITE_ESTRATEGIA));
+        if (!cerrada) {
+            throw new IllegalArgumentException("Las reglas deben terminar con 'siempre => ...'");
+        }
+        return raiz;
+    }
+
+    // Interpreta textos como "suave puntaje == 17" o "puntaje < 17"
+    private static Condicion interpretarCondicion(String texto) {
+        String[] partes = texto.split("\\s+");
+        int i = 0;
+        int suavidad = -1;
+
+        if (partes[i].equals("suave") || partes[i].equals("duro")) {
+            suavidad = partes[i].equals("suave") ? 1 : 0;
+            i++;
+        }
+
+        if (i == partes.length) {
+            return new Condicion(suavidad, 0, Integer.MAX_VALUE);
+        }
+        if (partes.length - i != 3 || !partes[i].equals("puntaje")) {
+            throw new IllegalArgumentException("Condición no válida: " + texto);
+        }
 
-        NodoBinario<T> plantarse = new NodoBinario<>((T) "Plantarse",
-                "El Dealer mantiene su mano actual",
-                String.format("puntaje >= %d", LIMITE_ESTRATEGIA));
+        int limite;
+        try {
+            limite = Integer.parseInt(partes[i + 2]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Puntaje no válido en la condición: " + texto);
+        }
 
-        nodoRaiz.setIzquierdo(pedir);
-        nodoRaiz.setDerecho(plantarse);
+        switch (partes[i + 1]) {
+            case "<":
+                return new Condicion(suavidad, 0, limite - 1);
+            case "<=":
+                return new Condicion(suavidad, 0, limite);
+            case ">":
+                return new Condicion(suavidad, limite + 1, Integer.MAX_VALUE);
+            case ">=":
+                return new Condicion(suavidad, limite, Integer.MAX_VALUE);
+            case "==":
+                return new Condicion(suavidad, limite, limite);
+            default:
+                throw new IllegalArgumentException("Operador no válido en la condición: " + texto);
+        }
+    }
+
+    // Recorre el árbol una vez por cada (suave, puntaje) y guarda la hoja
+    @SuppressWarnings("unchecked")
+    private void compilar() {
+        decisiones = (NodoBinario<T>[]) new NodoBinario<?>[2 * (PUNTAJE_MAXIMO + 1)];
+        for (int suave = 0; suave <= 1; suave++) {
+            for (int puntos = 0; puntos <= PUNTAJE_MAXIMO; puntos++) {
+                NodoBinario<T> nodo = nodoRaiz;
+                while (!nodo.esHoja()) {
+                    nodo = nodo.prueba.cumple(puntos, suave == 1) ? nodo.getIzquierdo() : nodo.getDerecho();
+                }
+                decisiones[suave * (PUNTAJE_MAXIMO + 1) + puntos] = nodo;
+            }
+        }
     }
 
     /*
-     * Devuelve el nodo correspondiente a la acción según el puntaje del Dealer.
-     * 
+     * Devuelve el nodo correspondiente a la acción según el puntaje del Dealer,
+     * tratando la mano como dura.
+     *
      * @param puntosActuales Puntaje actual del Dealer
      */
     public NodoBinario<T> decidir(int puntosActuales) {
+        return decidir(puntosActuales, false);
+    }
+
+    /*
+     * Devuelve el nodo correspondiente a la acción según el puntaje del Dealer
+     * y si su mano es suave. Es una consulta a la tabla compilada.
+     *
+     * @param puntosActuales Puntaje actual del Dealer
+     * @param suave          true si la mano tiene un As contado como 11
+     */
+    public NodoBinario<T> decidir(int puntosActuales, boolean suave) {
         if (estaVacio())
             return null;
 
-        NodoBinario<T> resultado = (puntosActuales < LIMITE_ESTRATEGIA)
-                ? nodoRaiz.getIzquierdo()
-                : nodoRaiz.getDerecho();
+        int puntos = Math.max(0, Math.min(puntosActuales, PUNTAJE_MAXIMO));
+        NodoBinario<T> resultado = decisiones[(suave ? PUNTAJE_MAXIMO + 1 : 0) + puntos];
 
-        System.out.println(String.format(
-                "\nDealer Con %d puntos → %s",
-                puntosActuales, resultado.getDescripcion()));
+        if (traza) {
+            System.out.println(String.format(
+                    "\nDealer Con %d puntos → %s",
+                    puntosActuales, resultado.getDescripcion()));
+        }
 
         return resultado;
     }
 
+    /*
+     * Activa o desactiva la impresión de cada decisión por consola.
+     *
+     * @param traza true para mostrar las decisiones
+     */
+    public void setTraza(boolean traza) {
+        this.traza = traza;
+    }
+
+    /*
+     * Indica si la traza de decisiones está activa.
+     */
+    public boolean isTraza() {
+        return traza;
+    }
+
     /*
      * Verifica si el árbol está vacío.
      */
@@ -117,38 +329,40 @@ public class ArbolBinario<T> {
     }
 
     /*
-     * Muestra el árbol completo por consola.
+     * Representa el árbol completo como texto.
      */
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("\nÁrbol Binario de Decisiones");
         sb.append("\n===========================\n");
-        imprimir(nodoRaiz, "", true);
+        imprimir(nodoRaiz, "", true, sb);
         return sb.toString();
     }
 
     // Lógica auxiliar para impresión estructurada
-    private void imprimir(NodoBinario<T> nodo, String prefijo, String rama, boolean ultimo) {
+    private void imprimir(NodoBinario<T> nodo, String prefijo, String rama, boolean ultimo, StringBuilder sb) {
         if (nodo == null)
             return;
 
-        System.out.println(prefijo + rama + nodo.getValor() +
-                " [" + nodo.getCondicion() + "]" +
-                "\n" + prefijo + "   └── " + nodo.getDescripcion());
+        sb.append(prefijo).append(rama)
+                .append(nodo.esHoja() ? String.valueOf(nodo.getValor()) : "Si")
+                .append(" [").append(nodo.getCondicion()).append("]")
+                .append("\n").append(prefijo).append("   └── ").append(nodo.getDescripcion())
+                .append("\n");
 
         String nuevoPrefijo = prefijo + (ultimo ? "    " : "│   ");
 
         if (nodo.getIzquierdo() != null) {
-            imprimir(nodo.getIzquierdo(), nuevoPrefijo, "├── ", nodo.getDerecho() == null);
+            imprimir(nodo.getIzquierdo(), nuevoPrefijo, "├── ", nodo.getDerecho() == null, sb);
         }
         if (nodo.getDerecho() != null) {
-            imprimir(nodo.getDerecho(), nuevoPrefijo, "└── ", true);
+            imprimir(nodo.getDerecho(), nuevoPrefijo, "└── ", true, sb);
         }
     }
 
-    private void imprimir(NodoBinario<T> nodo, String prefijo, boolean ultimo) {
-        imprimir(nodo, prefijo, ultimo ? "└── " : "├── ", ultimo);
+    private void imprimir(NodoBinario<T> nodo, String prefijo, boolean ultimo, StringBuilder sb) {
+        imprimir(nodo, prefijo, ultimo ? "└── " : "├── ", ultimo, sb);
     }
 
     /*
@@ -0,0 +1,190 @@
+package componentes;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Cola FIFO acotada y sin bloqueos para pasar mensajes entre hilos, pensada
+ * para que muchos productores depositen acciones de jugadores en el buzón de
+ * una mesa. Admite varios productores y varios consumidores a la vez.
+ *
+ * Los elementos viven en un arreglo circular reservado al crearla, así que
+ * agregar no crea nodos como {@link Cola}. Cada casillero lleva un número de
+ * secuencia que dice de quién es el turno: si vale la posición, está libre
+ * para el productor que la reservó; si vale la posición más uno, tiene un
+ * elemento listo para el consumidor. Productores y consumidores solo compiten
+ * por avanzar su propio contador, con una comparación e intercambio.
+ *
+ * No admite elementos null: null es la respuesta de una cola vacía.
+ */
+public class ColaConcurrente<T> {
+
+    private final Object[] elementos;
+    private final AtomicLongArray secuencias;
+    private final int mascara;
+    // Próxima posición a escribir y próxima a leer
+    private final AtomicLong fin;
+    private final AtomicLong inicio;
+
+    /**
+     * Crea una cola vacía.
+     *
+     * @param capacidad Cantidad máxima de elementos; se redondea a la potencia
+     *                  de dos siguiente.
+     */
+    public ColaConcurrente(int capacidad) {
+        if (capacidad < 1 || capacidad > (1 << 30)) {
+            throw new IllegalArgumentException("Capacidad fuera de rango: " + capacidad);
+        }
+        int tamaño = Integer.highestOneBit(capacidad);
+        if (tamaño < capacidad) {
+            tamaño <<= 1;
+        }
+        this.elementos = new Object[tamaño];
+        this.secuencias = new AtomicLongArray(tamaño);
+        for (int i = 0; i < tamaño; i++) {
+            secuencias.set(i, i);
+        }
+        this.mascara = tamaño - 1;
+        this.fin = new AtomicLong();
+        this.inicio = new AtomicLong();
+    }
+
+    /**
+     * Inserta un elemento al final de la cola si hay lugar.
+     *
+     * @param valor Elemento a insertar.
+     * @return true si se insertó, false si la cola estaba llena.
+     */
+    public boolean agregar(T valor) {
+        if (valor == null) {
+            throw new IllegalArgumentException("La cola no admite elementos null");
+        }
+
+        long posicion = fin.get();
+        while (true) {
+            int indice = (int) posicion & mascara;
+            long diferencia = secuencias.get(indice) - posicion;
+            if (diferencia == 0) {
+                // Casillero libre: se reserva avanzando el final
+                if (fin.compareAndSet(posicion, posicion + 1)) {
+                    elementos[indice] = valor;
+                    // Publica el elemento para los consumidores
+                    secuencias.set(indice, posicion + 1);
+                    return true;
+                }
+                posicion = fin.get();
+            } else if (diferencia < 0) {
+                // El consumidor todavía no liberó el casillero de la vuelta anterior
+                return false;
+            } else {
+                // Otro productor ya tomó esta posición
+                posicion = fin.get();
+            }
+        }
+    }
+
+    /**
+     * Remueve y retorna el primer elemento de la cola.
+     *
+     * @return El primer elemento, o null si la cola está vacía.
+     */
+    @SuppressWarnings("unchecked")
+    public T eliminar() {
+        long posicion = inicio.get();
+        while (true) {
+            int indice = (int) posicion & mascara;
+            long diferencia = secuencias.get(indice) - (posicion + 1);
+            if (diferencia == 0) {
+                if (inicio.compareAndSet(posicion, posicion + 1)) {
+                    T valor = (T) elementos[indice];
+                    elementos[indice] = null;
+                    // Deja el casillero libre para la próxima vuelta
+                    secuencias.set(indice, posicion + mascara + 1);
+                    return valor;
+                }
+                posicion = inicio.get();
+            } else if (diferencia < 0) {
+                return null;
+            } else {
+                posicion = inicio.get();
+            }
+        }
+    }
+
+    /**
+     * Pasa a la colección destino los elementos listos al inicio de la cola,
+     * hasta el máximo indicado. Reserva todo el lote con una sola comparación
+     * e intercambio, en lugar de una por elemento.
+     *
+     * @param destino Colección a la que se agregan los elementos, en orden.
+     * @param maximo  Cantidad máxima de elementos a pasar.
+     * @return Cantidad de elementos pasados.
+     */
+    @SuppressWarnings("unchecked")
+    public int drenarA(Collection<? super T> destino, int maximo) {
+        if (maximo <= 0) {
+            return 0;
+        }
+
+        long posicion;
+        int cantidad;
+        while (true) {
+            posicion = inicio.get();
+            // Cuenta los casilleros consecutivos que ya tienen su elemento
+            cantidad = 0;
+            while (cantidad < maximo && cantidad <= mascara
+                    && secuencias.get((int) (posicion + cantidad) & mascara) == posicion + cantidad + 1) {
+                cantidad++;
+            }
+            if (cantidad == 0) {
+                if (inicio.get() == posicion) {
+                    return 0;
+                }
+            } else if (inicio.compareAndSet(posicion, posicion + cantidad)) {
+                break;
+            }
+        }
+
+        for (int i = 0; i < cantidad; i++) {
+            long actual = posicion + i;
+            int indice = (int) actual & mascara;
+            destino.add((T) elementos[indice]);
+            elementos[indice] = null;
+            secuencias.set(indice, actual + mascara + 1);
+        }
+        return cantidad;
+    }
+
+    /**
+     * Comprueba si la cola no contiene elementos. Con otros hilos usándola el
+     * resultado puede quedar viejo apenas se devuelve.
+     *
+     * @return true si la cola está vacía.
+     */
+    public boolean estaVacía() {
+        return obtenerCantidad() == 0;
+    }
+
+    /**
+     * Cantidad aproximada de elementos en la cola.
+     *
+     * @return Cantidad de elementos reservados y no retirados.
+     */
+    public int obtenerCantidad() {
+        // Se lee primero el inicio para no dar nunca un número negativo
+        long leidos = inicio.get();
+        long escritos = fin.get();
+        return (int) Math.min(Math.max(escritos - leidos, 0), mascara + 1L);
+    }
+
+    /**
+     * Devuelve la capacidad real de la cola, ya redondeada.
+     *
+     * @return Cantidad máxima de elementos que admite la cola.
+     */
+    public int getCapacidad() {
+        return mascara + 1;
+    }
+}
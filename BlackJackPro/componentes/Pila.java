@@ -1,23 +1,32 @@
 package componentes;
 
+import java.util.concurrent.atomic.AtomicReference;
+
 /*
  * Implementación genérica de una Pila (Stack) para uso general.
+ *
+ * Es segura para varios hilos sin bloqueos (pila de Treiber): los nodos son
+ * inmutables y push y pop solo cambian la cima con una comparación e
+ * intercambio, reintentando si otro hilo la cambió antes. Cada nodo guarda
+ * cuántos elementos hay desde él hasta la base, así que el tamaño siempre
+ * corresponde a la misma cima que se leyó.
  */
 public class Pila<T> {
 
-    private volatile Nodo<T> tope;
-    private volatile int contador;
+    private final AtomicReference<Nodo<T>> tope;
 
     /*
      * Nodo interno inmutable para mantener la integridad del dato.
      */
     private static class Nodo<T> {
-        private T valor;
-        private Nodo<T> siguiente;
+        private final T valor;
+        private final Nodo<T> siguiente;
+        private final int tamaño;
 
-        public Nodo(T valor) {
+        public Nodo(T valor, Nodo<T> siguiente) {
             this.valor = valor;
-            this.siguiente = null;
+            this.siguiente = siguiente;
+            this.tamaño = (siguiente != null) ? siguiente.tamaño + 1 : 1;
         }
     }
 
@@ -25,8 +34,7 @@ public class Pila<T> {
      * Inicializa una pila vacía.
      */
     public Pila() {
-        this.tope = null;
-        this.contador = 0;
+        this.tope = new AtomicReference<>(null);
     }
 
     /**
@@ -35,10 +43,12 @@ public class Pila<T> {
      * @param valor Elemento a agregar.
      */
     public void push(T valor) {
-        Nodo<T> nuevoNodo = new Nodo<>(valor);
-        nuevoNodo.siguiente = tope;
-        tope = nuevoNodo;
-        contador++;
+        Nodo<T> actual;
+        Nodo<T> nuevoNodo;
+        do {
+            actual = tope.get();
+            nuevoNodo = new Nodo<>(valor, actual);
+        } while (!tope.compareAndSet(actual, nuevoNodo));
     }
 
     /**
@@ -47,15 +57,15 @@ public class Pila<T> {
      * @return Elemento extraído o null si la pila está vacía.
      */
     public T pop() {
-        if (tope == null) {
-            return null;
-        }
-
-        T valor = tope.valor;
-        tope = tope.siguiente;
-        contador--;
-
-        return valor;
+        Nodo<T> actual;
+        do {
+            actual = tope.get();
+            if (actual == null) {
+                return null;
+            }
+        } while (!tope.compareAndSet(actual, actual.siguiente));
+
+        return actual.valor;
     }
 
     /**
@@ -64,7 +74,8 @@ public class Pila<T> {
      * @return Elemento en la cima o null si no hay elementos.
      */
     public T peek() {
-        return tope != null ? tope.valor : null;
+        Nodo<T> actual = tope.get();
+        return actual != null ? actual.valor : null;
     }
 
     /**
@@ -73,7 +84,7 @@ public class Pila<T> {
      * @return true si no contiene elementos, false de lo contrario.
      */
     public boolean estaVacia() {
-        return tope == null;
+        return tope.get() == null;
     }
 
     /**
@@ -82,7 +93,8 @@ public class Pila<T> {
      * @return Número de elementos almacenados.
      */
     public int tamaño() {
-        return contador;
+        Nodo<T> actual = tope.get();
+        return actual != null ? actual.tamaño : 0;
     }
 
     /**
@@ -95,7 +107,7 @@ public class Pila<T> {
         StringBuilder sb = new StringBuilder();
         sb.append("Tope -> ");
 
-        Nodo<T> actual = tope;
+        Nodo<T> actual = tope.get();
         while (actual != null) {
             sb.append("[")
                     .append(actual.valor)
@@ -108,27 +120,40 @@ public class Pila<T> {
     }
 
     /**
-     * Representación recursiva de la pila desde la base hasta la cima.
+     * Representación de la pila desde la base hasta la cima.
      * 
      * @return Cadena con el contenido en orden inverso.
      */
     public String inverso() {
-        StringBuilder sb = new StringBuilder();
-        sb.append("Base -> ");
-        inversoRecursivo(tope, sb);
-        sb.append("Tope");
-        return sb.toString();
+        return inverso(new StringBuilder()).toString();
     }
 
-    private void inversoRecursivo(Nodo<T> nodo, StringBuilder sb) {
-        if (nodo == null) {
-            return;
+    /**
+     * Agrega la representación de la pila desde la base hasta la cima a un
+     * StringBuilder existente, sin armar una cadena intermedia.
+     *
+     * Se recorre sin recursión para no agotar la pila de llamadas con
+     * historiales largos: los valores se copian a un arreglo del tamaño de la
+     * cima leída y se escriben de atrás hacia adelante.
+     *
+     * @param sb Destino del texto.
+     * @return El mismo StringBuilder recibido.
+     */
+    public StringBuilder inverso(StringBuilder sb) {
+        Nodo<T> actual = tope.get();
+        Object[] valores = new Object[actual != null ? actual.tamaño : 0];
+        for (int i = valores.length - 1; i >= 0; i--) {
+            valores[i] = actual.valor;
+            actual = actual.siguiente;
         }
 
-        inversoRecursivo(nodo.siguiente, sb);
-
-        sb.append("[")
-                .append(nodo.valor)
-                .append("] -> ");
+        sb.append("Base -> ");
+        for (Object valor : valores) {
+            sb.append("[")
+                    .append(valor)
+                    .append("] -> ");
+        }
+        sb.append("Tope");
+        return sb;
     }
 }
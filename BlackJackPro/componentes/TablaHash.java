@@ -2,11 +2,19 @@ package componentes;
 /**
  * Implementación de una Tabla Hash para almacenar el estado de los jugadores.
  * Cada entrada almacena: nombre, puntaje, cartas en mano, estado actual.
+ *
+ * Por defecto, al superar la carga la tabla se redistribuye completa en la
+ * inserción que cruza el umbral. En modo de rehash incremental conserva el
+ * arreglo viejo y el nuevo, y cada inserción o eliminación traslada solo unas
+ * pocas listas, de modo que ninguna operación individual paga el costo de
+ * mover toda la tabla.
  */
 public class TablaHash<Clave, Valor> {
 
     private static final int CAPACIDAD_INICIAL = 16;
     private static final double FACTOR_CARGA = 0.75;
+    // Listas del arreglo viejo que se trasladan en cada operación de escritura
+    private static final int CUBETAS_POR_PASO = 4;
 
     // Array que almacena las listas enlazadas para manejar colisiones
     private Nodo<Clave, Valor>[] tabla;
@@ -14,17 +22,25 @@ public class TablaHash<Clave, Valor> {
     private int cantidad;
     // Umbral para hacer rehash cuando se alcanza la carga máxima permitida
     private int umbralRehash;
+    // Si el rehash se reparte entre varias operaciones
+    private final boolean rehashIncremental;
+    // Arreglo anterior mientras dura una migración incremental, o null
+    private Nodo<Clave, Valor>[] tablaVieja;
+    // Próxima lista del arreglo viejo que falta trasladar
+    private int indiceMigracion;
 
     /**
-     * Nodo que almacena cada par clave-valor y la referencia al siguiente nodo en
-     * la lista enlazada.
+     * Nodo que almacena cada par clave-valor, el hash ya calculado de la clave y
+     * la referencia al siguiente nodo en la lista enlazada.
      */
     private static class Nodo<Clave, Valor> {
+        private final int hash;
         private final Clave clave;
         private Valor valor;
         private Nodo<Clave, Valor> siguiente;
 
-        public Nodo(Clave clave, Valor valor) {
+        public Nodo(int hash, Clave clave, Valor valor) {
+            this.hash = hash;
             this.clave = clave;
             this.valor = valor;
             this.siguiente = null;
@@ -34,22 +50,86 @@ public class TablaHash<Clave, Valor> {
     /**
      * Constructor que inicializa la tabla con capacidad inicial y umbral de carga.
      */
-    @SuppressWarnings("unchecked")
     public TablaHash() {
+        this(false);
+    }
+
+    /**
+     * Constructor que permite elegir el modo de rehash.
+     *
+     * @param rehashIncremental true para repartir cada rehash entre las
+     *                          operaciones siguientes en lugar de hacerlo de
+     *                          una vez.
+     */
+    @SuppressWarnings("unchecked")
+    public TablaHash(boolean rehashIncremental) {
         this.tabla = new Nodo[CAPACIDAD_INICIAL];
         this.cantidad = 0;
         this.umbralRehash = (int) (CAPACIDAD_INICIAL * FACTOR_CARGA);
+        this.rehashIncremental = rehashIncremental;
+        this.tablaVieja = null;
+        this.indiceMigracion = 0;
     }
 
     /**
-     * Calcula el índice correspondiente en la tabla para una clave dada.
-     * 
-     * @param clave La clave a ubicar en la tabla.
+     * Mezcla los bits del hashCode de la clave para que los bits bajos, que son
+     * los que eligen la posición, dependan también de los altos.
+     *
+     * @param clave La clave a dispersar.
+     * @return Hash dispersado.
+     */
+    static int dispersar(Object clave) {
+        int h = clave.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Calcula el índice correspondiente en la tabla para un hash dado. La
+     * capacidad siempre es potencia de dos, así que alcanza con una máscara.
+     *
+     * @param hash Hash dispersado de la clave.
      * @return El índice calculado dentro del rango de la tabla.
      */
-    private int indiceParaClave(Clave clave) {
-        int hash = clave.hashCode();
-        return (hash & 0x7FFFFFFF) % tabla.length;
+    private int indiceParaHash(int hash) {
+        return hash & (tabla.length - 1);
+    }
+
+    /**
+     * Busca el nodo de una clave comparando primero el hash guardado.
+     *
+     * @param clave Clave a buscar.
+     * @return Nodo de la clave, o null si no está.
+     */
+    private Nodo<Clave, Valor> buscarNodo(Clave clave) {
+        if (clave == null) {
+            return null;
+        }
+
+        int hash = dispersar(clave);
+
+        // Durante una migración la clave puede seguir en una lista vieja
+        if (tablaVieja != null) {
+            int indiceViejo = hash & (tablaVieja.length - 1);
+            if (indiceViejo >= indiceMigracion) {
+                Nodo<Clave, Valor> encontrado = buscarEnLista(tablaVieja[indiceViejo], hash, clave);
+                if (encontrado != null) {
+                    return encontrado;
+                }
+            }
+        }
+
+        return buscarEnLista(tabla[indiceParaHash(hash)], hash, clave);
+    }
+
+    private static <Clave, Valor> Nodo<Clave, Valor> buscarEnLista(Nodo<Clave, Valor> actual, int hash,
+            Clave clave) {
+        while (actual != null) {
+            if (actual.hash == hash && actual.clave.equals(clave)) {
+                return actual;
+            }
+            actual = actual.siguiente;
+        }
+        return null;
     }
 
     /**
@@ -67,19 +147,23 @@ public class TablaHash<Clave, Valor> {
         if (cantidad >= umbralRehash) {
             expandirTabla();
         }
+        int hash = dispersar(clave);
+        if (tablaVieja != null) {
+            avanzarMigracion(hash);
+        }
 
-        int indice = indiceParaClave(clave);
+        int indice = indiceParaHash(hash);
         Nodo<Clave, Valor> actual = tabla[indice];
 
         while (actual != null) {
-            if (actual.clave.equals(clave)) {
+            if (actual.hash == hash && actual.clave.equals(clave)) {
                 actual.valor = valor;
                 return;
             }
             actual = actual.siguiente;
         }
 
-        Nodo<Clave, Valor> nuevoNodo = new Nodo<>(clave, valor);
+        Nodo<Clave, Valor> nuevoNodo = new Nodo<>(hash, clave, valor);
         nuevoNodo.siguiente = tabla[indice];
         tabla[indice] = nuevoNodo;
         cantidad++;
@@ -92,21 +176,8 @@ public class TablaHash<Clave, Valor> {
      * @return Valor asociado o null si no se encuentra la clave.
      */
     public Valor obtener(Clave clave) {
-        if (clave == null) {
-            return null;
-        }
-
-        int indice = indiceParaClave(clave);
-        Nodo<Clave, Valor> actual = tabla[indice];
-
-        while (actual != null) {
-            if (actual.clave.equals(clave)) {
-                return actual.valor;
-            }
-            actual = actual.siguiente;
-        }
-
-        return null;
+        Nodo<Clave, Valor> nodo = buscarNodo(clave);
+        return nodo != null ? nodo.valor : null;
     }
 
     /**
@@ -120,12 +191,17 @@ public class TablaHash<Clave, Valor> {
             return null;
         }
 
-        int indice = indiceParaClave(clave);
+        int hash = dispersar(clave);
+        if (tablaVieja != null) {
+            avanzarMigracion(hash);
+        }
+
+        int indice = indiceParaHash(hash);
         Nodo<Clave, Valor> actual = tabla[indice];
         Nodo<Clave, Valor> previo = null;
 
         while (actual != null) {
-            if (actual.clave.equals(clave)) {
+            if (actual.hash == hash && actual.clave.equals(clave)) {
                 if (previo == null) {
                     tabla[indice] = actual.siguiente;
                 } else {
@@ -142,13 +218,13 @@ public class TablaHash<Clave, Valor> {
     }
 
     /**
-     * Verifica si una clave existe en la tabla.
+     * Verifica si una clave existe en la tabla, aunque su valor sea null.
      * 
      * @param clave Clave a verificar.
      * @return true si la clave está presente, false si no.
      */
     public boolean contieneClave(Clave clave) {
-        return obtener(clave) != null;
+        return buscarNodo(clave) != null;
     }
 
     /**
@@ -170,29 +246,97 @@ public class TablaHash<Clave, Valor> {
     }
 
     /**
-     * Duplica la capacidad de la tabla y redistribuye todos los elementos para
-     * mantener eficiencia.
+     * Indica si hay un rehash incremental en curso.
+     *
+     * @return true si todavía quedan listas en el arreglo viejo.
+     */
+    public boolean estaMigrando() {
+        return tablaVieja != null;
+    }
+
+    /**
+     * Duplica la capacidad de la tabla. En el modo normal redistribuye todos los
+     * elementos de una vez; en el incremental solo guarda el arreglo viejo para
+     * vaciarlo de a poco.
      */
     @SuppressWarnings("unchecked")
     private void expandirTabla() {
+        // Una migración anterior sin terminar se completa antes de empezar otra
+        terminarMigracion();
+
         Nodo<Clave, Valor>[] viejoTabla = tabla;
         int nuevaCapacidad = tabla.length * 2;
         tabla = new Nodo[nuevaCapacidad];
         umbralRehash = (int) (nuevaCapacidad * FACTOR_CARGA);
 
+        if (rehashIncremental) {
+            tablaVieja = viejoTabla;
+            indiceMigracion = 0;
+            return;
+        }
+
         for (Nodo<Clave, Valor> nodo : viejoTabla) {
-            while (nodo != null) {
-                int indice = indiceParaClave(nodo.clave);
-                Nodo<Clave, Valor> siguienteNodo = nodo.siguiente;
-                nodo.siguiente = tabla[indice];
-                tabla[indice] = nodo;
-                nodo = siguienteNodo;
-            }
+            trasladarLista(nodo);
+        }
+    }
+
+    /**
+     * Traslada la lista vieja de la clave que se va a modificar, para que la
+     * escritura solo tenga que mirar el arreglo nuevo, y luego unas pocas
+     * listas más en orden.
+     *
+     * @param hash Hash de la clave que se está insertando o eliminando.
+     */
+    private void avanzarMigracion(int hash) {
+        int indiceViejo = hash & (tablaVieja.length - 1);
+        if (indiceViejo >= indiceMigracion) {
+            trasladarLista(tablaVieja[indiceViejo]);
+            tablaVieja[indiceViejo] = null;
+        }
+
+        for (int paso = 0; paso < CUBETAS_POR_PASO && indiceMigracion < tablaVieja.length; paso++) {
+            trasladarLista(tablaVieja[indiceMigracion]);
+            tablaVieja[indiceMigracion] = null;
+            indiceMigracion++;
+        }
+
+        if (indiceMigracion == tablaVieja.length) {
+            tablaVieja = null;
         }
     }
 
     /**
-     * Representación en cadena del contenido actual de la tabla.
+     * Traslada al arreglo nuevo todas las listas viejas que falten.
+     */
+    private void terminarMigracion() {
+        if (tablaVieja == null) {
+            return;
+        }
+        for (int i = indiceMigracion; i < tablaVieja.length; i++) {
+            trasladarLista(tablaVieja[i]);
+        }
+        tablaVieja = null;
+    }
+
+    /**
+     * Inserta cada nodo de una lista en su posición del arreglo actual.
+     *
+     * @param nodo Primer nodo de la lista a trasladar.
+     */
+    private void trasladarLista(Nodo<Clave, Valor> nodo) {
+        while (nodo != null) {
+            int indice = indiceParaHash(nodo.hash);
+            Nodo<Clave, Valor> siguienteNodo = nodo.siguiente;
+            nodo.siguiente = tabla[indice];
+            tabla[indice] = nodo;
+            nodo = siguienteNodo;
+        }
+    }
+
+    /**
+     * Representación en cadena del contenido actual de la tabla. Durante una
+     * migración muestra también las listas viejas que faltan trasladar, sin
+     * trasladarlas.
      * 
      * @return Cadena con los pares clave-valor de cada índice.
      */
@@ -204,51 +348,71 @@ public class TablaHash<Clave, Valor> {
         for (int i = 0; i < tabla.length; i++) {
             if (tabla[i] != null) {
                 sb.append(i).append(": ");
-                Nodo<Clave, Valor> nodo = tabla[i];
-                while (nodo != null) {
-                    sb.append("[")
-                            .append(nodo.clave)
-                            .append("=>").append(nodo.valor)
-                            .append("]").append(nodo.siguiente != null ? " -> " : "");
-                    nodo = nodo.siguiente;
+                agregarLista(tabla[i], sb);
+            }
+        }
+
+        if (tablaVieja != null) {
+            for (int i = indiceMigracion; i < tablaVieja.length; i++) {
+                if (tablaVieja[i] != null) {
+                    sb.append("pendiente ").append(i).append(": ");
+                    agregarLista(tablaVieja[i], sb);
                 }
-                sb.append("\n");
             }
         }
 
         return sb.toString();
     }
 
+    private static <Clave, Valor> void agregarLista(Nodo<Clave, Valor> nodo, StringBuilder sb) {
+        while (nodo != null) {
+            sb.append("[")
+                    .append(nodo.clave)
+                    .append("=>").append(nodo.valor)
+                    .append("]").append(nodo.siguiente != null ? " -> " : "");
+            nodo = nodo.siguiente;
+        }
+        sb.append("\n");
+    }
+
     /**
      * Muestra todas las claves almacenadas en la tabla usando recursividad.
+     * Durante una migración incluye primero las que siguen en listas viejas,
+     * sin trasladarlas.
      * 
      * @return Cadena con todas las claves separadas por coma.
      */
     public String listarClaves() {
         StringBuilder sb = new StringBuilder();
         sb.append("Claves: [");
-        listarClavesRecursivo(0, sb);
+        if (tablaVieja != null) {
+            listarClavesRecursivo(tablaVieja, indiceMigracion, true, sb);
+        }
+        listarClavesRecursivo(tabla, 0, false, sb);
         sb.append("]");
         return sb.toString();
     }
 
     /**
-     * Método recursivo auxiliar para listar las claves.
+     * Método recursivo auxiliar para listar las claves de un arreglo.
+     *
+     * @param hayMas true si después de este arreglo se listan más claves.
      */
-    private void listarClavesRecursivo(int indice, StringBuilder sb) {
-        if (indice >= tabla.length) {
+    private static <Clave, Valor> void listarClavesRecursivo(Nodo<Clave, Valor>[] arreglo, int indice,
+            boolean hayMas, StringBuilder sb) {
+        if (indice >= arreglo.length) {
             return;
         }
 
-        Nodo<Clave, Valor> nodo = tabla[indice];
+        Nodo<Clave, Valor> nodo = arreglo[indice];
         while (nodo != null) {
             sb.append(nodo.clave);
             nodo = nodo.siguiente;
-            if (nodo != null || indice < tabla.length - 1) {
+            if (nodo != null || indice < arreglo.length - 1 || hayMas) {
                 sb.append(", ");
             }
         }
 
-        listarClavesRecursivo(indice + 1, sb);
+        listarClavesRecursivo(arreglo, indice + 1, hayMas, sb);
     }
 }
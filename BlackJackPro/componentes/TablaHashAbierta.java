@@ -0,0 +1,246 @@
+package componentes;
+
+/**
+ * Tabla Hash de direccionamiento abierto para registros grandes. En lugar de
+ * un nodo por entrada guarda claves, valores y hashes en tres arreglos
+ * paralelos, lo que reduce la memoria por entrada y mantiene las búsquedas
+ * sobre posiciones contiguas.
+ *
+ * Las colisiones se resuelven con sondeo lineal sobre una capacidad potencia
+ * de dos. Al eliminar, las entradas siguientes se corren hacia atrás, por lo
+ * que no quedan marcas de borrado que alarguen las búsquedas.
+ *
+ * No admite claves null; los valores sí pueden ser null.
+ */
+public class TablaHashAbierta<Clave, Valor> {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final double FACTOR_CARGA = 0.75;
+
+    // Clave de cada posición; null indica posición libre
+    private Object[] claves;
+    private Object[] valores;
+    // Hash dispersado de cada clave, para no recalcularlo ni llamar a equals
+    private int[] hashes;
+    private int cantidad;
+    private int umbralRehash;
+
+    /**
+     * Crea una tabla vacía con la capacidad inicial por defecto.
+     */
+    public TablaHashAbierta() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea una tabla con espacio para la cantidad indicada de entradas sin
+     * necesidad de crecer.
+     *
+     * @param esperados Cantidad de entradas esperadas.
+     * @throws IllegalArgumentException si la cantidad es negativa.
+     */
+    public TablaHashAbierta(int esperados) {
+        if (esperados < 0) {
+            throw new IllegalArgumentException("La cantidad esperada no puede ser negativa");
+        }
+        int capacidad = CAPACIDAD_INICIAL;
+        while (capacidad * FACTOR_CARGA < esperados) {
+            capacidad <<= 1;
+        }
+        reservar(capacidad);
+    }
+
+    private void reservar(int capacidad) {
+        this.claves = new Object[capacidad];
+        this.valores = new Object[capacidad];
+        this.hashes = new int[capacidad];
+        this.umbralRehash = (int) (capacidad * FACTOR_CARGA);
+    }
+
+    /**
+     * Busca la posición de una clave.
+     *
+     * @return Posición de la clave, o -1 si no está.
+     */
+    private int posicionDe(Object clave) {
+        if (clave == null) {
+            return -1;
+        }
+        int hash = TablaHash.dispersar(clave);
+        int mascara = claves.length - 1;
+        int indice = hash & mascara;
+
+        Object actual;
+        while ((actual = claves[indice]) != null) {
+            if (hashes[indice] == hash && actual.equals(clave)) {
+                return indice;
+            }
+            indice = (indice + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Inserta un nuevo par clave-valor o actualiza el valor si la clave ya existe.
+     *
+     * @param clave Clave a insertar o actualizar.
+     * @param valor Valor asociado a la clave.
+     */
+    public void insertar(Clave clave, Valor valor) {
+        if (clave == null) {
+            throw new IllegalArgumentException("Clave no puede ser null");
+        }
+        if (cantidad >= umbralRehash) {
+            expandirTabla();
+        }
+
+        int hash = TablaHash.dispersar(clave);
+        int mascara = claves.length - 1;
+        int indice = hash & mascara;
+
+        Object actual;
+        while ((actual = claves[indice]) != null) {
+            if (hashes[indice] == hash && actual.equals(clave)) {
+                valores[indice] = valor;
+                return;
+            }
+            indice = (indice + 1) & mascara;
+        }
+
+        claves[indice] = clave;
+        valores[indice] = valor;
+        hashes[indice] = hash;
+        cantidad++;
+    }
+
+    /**
+     * Busca y devuelve el valor asociado a una clave dada.
+     *
+     * @param clave Clave a buscar.
+     * @return Valor asociado o null si no se encuentra la clave.
+     */
+    @SuppressWarnings("unchecked")
+    public Valor obtener(Clave clave) {
+        int posicion = posicionDe(clave);
+        return posicion >= 0 ? (Valor) valores[posicion] : null;
+    }
+
+    /**
+     * Verifica si una clave existe en la tabla, aunque su valor sea null.
+     *
+     * @param clave Clave a verificar.
+     * @return true si la clave está presente, false si no.
+     */
+    public boolean contieneClave(Clave clave) {
+        return posicionDe(clave) >= 0;
+    }
+
+    /**
+     * Elimina el par clave-valor asociado a la clave dada.
+     *
+     * @param clave Clave a eliminar.
+     * @return Valor eliminado o null si la clave no existe.
+     */
+    @SuppressWarnings("unchecked")
+    public Valor eliminar(Clave clave) {
+        int posicion = posicionDe(clave);
+        if (posicion < 0) {
+            return null;
+        }
+        Valor eliminado = (Valor) valores[posicion];
+        correrHaciaAtras(posicion);
+        cantidad--;
+        return eliminado;
+    }
+
+    /**
+     * Libera la posición indicada moviendo hacia atrás las entradas del mismo
+     * grupo que quedarían inalcanzables por el hueco.
+     */
+    private void correrHaciaAtras(int hueco) {
+        int mascara = claves.length - 1;
+        int siguiente = hueco;
+        while (true) {
+            siguiente = (siguiente + 1) & mascara;
+            if (claves[siguiente] == null) {
+                break;
+            }
+            int ideal = hashes[siguiente] & mascara;
+            // La entrada se queda si su posición ideal está en (hueco, siguiente]
+            boolean seQueda = (hueco <= siguiente)
+                    ? (hueco < ideal && ideal <= siguiente)
+                    : (hueco < ideal || ideal <= siguiente);
+            if (!seQueda) {
+                claves[hueco] = claves[siguiente];
+                valores[hueco] = valores[siguiente];
+                hashes[hueco] = hashes[siguiente];
+                hueco = siguiente;
+            }
+        }
+        claves[hueco] = null;
+        valores[hueco] = null;
+        hashes[hueco] = 0;
+    }
+
+    /**
+     * Devuelve el número de pares clave-valor almacenados.
+     *
+     * @return Número de elementos en la tabla.
+     */
+    public int tamaño() {
+        return cantidad;
+    }
+
+    /**
+     * Verifica si la tabla está vacía.
+     *
+     * @return true si no hay elementos, false en caso contrario.
+     */
+    public boolean estaVacia() {
+        return cantidad == 0;
+    }
+
+    /**
+     * Duplica la capacidad y vuelve a ubicar cada entrada usando su hash
+     * guardado.
+     */
+    private void expandirTabla() {
+        Object[] viejasClaves = claves;
+        Object[] viejosValores = valores;
+        int[] viejosHashes = hashes;
+        reservar(viejasClaves.length * 2);
+        int mascara = claves.length - 1;
+
+        for (int i = 0; i < viejasClaves.length; i++) {
+            if (viejasClaves[i] != null) {
+                int indice = viejosHashes[i] & mascara;
+                while (claves[indice] != null) {
+                    indice = (indice + 1) & mascara;
+                }
+                claves[indice] = viejasClaves[i];
+                valores[indice] = viejosValores[i];
+                hashes[indice] = viejosHashes[i];
+            }
+        }
+    }
+
+    /**
+     * Representación en cadena de los pares almacenados.
+     *
+     * @return Cadena con los pares clave-valor.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("TablaHashAbierta[tamaño=").append(cantidad).append("] {");
+        boolean primero = true;
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != null) {
+                sb.append(primero ? "" : ", ").append(claves[i]).append("=>").append(valores[i]);
+                primero = false;
+            }
+        }
+        sb.append("}");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,466 @@
+package componentes;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Tabla Hash segura para uso concurrente, pensada para registros compartidos
+ * entre mesas e hilos (por ejemplo, el de jugadores).
+ *
+ * La tabla se divide en segmentos, cada uno con su propio bloqueo y sus
+ * propias listas de colisiones. Las escrituras solo bloquean el segmento de
+ * la clave; las lecturas no bloquean nada. Los nodos tienen clave, hash y
+ * siguiente inmutables, así que un lector siempre recorre una lista
+ * consistente aunque haya escrituras en curso.
+ *
+ * Cada segmento crece por separado cuando supera su carga, y de a poco: cada
+ * escritura en el segmento traslada al arreglo nuevo la lista de su clave y
+ * unas pocas más, así que ninguna escritura paga el rehash completo. Una
+ * cubeta ya trasladada queda con un reenvío que lleva a los lectores al
+ * arreglo nuevo. Al trasladar una lista se reutiliza su tramo final si todos
+ * sus nodos van a la misma cubeta, y solo se copian los anteriores.
+ *
+ * No admite claves ni valores null.
+ */
+public class TablaHashConcurrente<Clave, Valor> {
+
+    private static final int SEGMENTOS_POR_DEFECTO = 16;
+    private static final int MAXIMO_SEGMENTOS = 1 << 16;
+    private static final int CAPACIDAD_SEGMENTO_INICIAL = 8;
+    private static final double FACTOR_CARGA = 0.75;
+    // Listas que traslada cada escritura durante un rehash, además de la suya
+    private static final int CUBETAS_POR_PASO = 4;
+
+    private final Segmento<Clave, Valor>[] segmentos;
+    // Desplazamiento que deja los bits altos del hash para elegir segmento
+    private final int desplazamientoSegmento;
+    private final int mascaraSegmento;
+
+    /**
+     * Nodo de una lista de colisiones. Solo el valor puede cambiar; para
+     * quitar un nodo se copian los que lo preceden.
+     */
+    private static class Nodo<Clave, Valor> {
+        private final int hash;
+        private final Clave clave;
+        private volatile Valor valor;
+        private final Nodo<Clave, Valor> siguiente;
+
+        Nodo(int hash, Clave clave, Valor valor, Nodo<Clave, Valor> siguiente) {
+            this.hash = hash;
+            this.clave = clave;
+            this.valor = valor;
+            this.siguiente = siguiente;
+        }
+    }
+
+    /**
+     * Marca que queda en una cubeta del arreglo viejo cuando su lista ya se
+     * trasladó; indica a los lectores en qué arreglo seguir buscando.
+     */
+    private static final class Reenvio<Clave, Valor> extends Nodo<Clave, Valor> {
+        private final AtomicReferenceArray<Nodo<Clave, Valor>> tabla;
+
+        Reenvio(AtomicReferenceArray<Nodo<Clave, Valor>> tabla) {
+            super(0, null, null, null);
+            this.tabla = tabla;
+        }
+    }
+
+    /**
+     * Segmento de la tabla: una tabla hash encadenada protegida por su propio
+     * bloqueo para las escrituras.
+     */
+    private static final class Segmento<Clave, Valor> extends ReentrantLock {
+        private static final long serialVersionUID = 1L;
+
+        private volatile AtomicReferenceArray<Nodo<Clave, Valor>> tabla;
+        private volatile int cantidad;
+        private int umbralRehash;
+        // Arreglo al que se trasladan las listas durante un rehash; null si no hay uno en curso
+        private AtomicReferenceArray<Nodo<Clave, Valor>> tablaNueva;
+        private Reenvio<Clave, Valor> reenvio;
+        private int indiceMigracion;
+
+        Segmento(int capacidad) {
+            this.tabla = new AtomicReferenceArray<>(capacidad);
+            this.umbralRehash = (int) (capacidad * FACTOR_CARGA);
+        }
+
+        Valor obtener(Clave clave, int hash) {
+            AtomicReferenceArray<Nodo<Clave, Valor>> actual = tabla;
+            Nodo<Clave, Valor> nodo = actual.get(hash & (actual.length() - 1));
+            // Un lector atrasado puede encontrar varios rehash encadenados
+            while (nodo instanceof Reenvio) {
+                actual = ((Reenvio<Clave, Valor>) nodo).tabla;
+                nodo = actual.get(hash & (actual.length() - 1));
+            }
+            while (nodo != null) {
+                if (nodo.hash == hash && nodo.clave.equals(clave)) {
+                    return nodo.valor;
+                }
+                nodo = nodo.siguiente;
+            }
+            return null;
+        }
+
+        /**
+         * Arreglo donde deben escribirse las claves con el hash dado. Durante
+         * un rehash traslada antes la lista de la clave y unas pocas más.
+         */
+        private AtomicReferenceArray<Nodo<Clave, Valor>> tablaParaEscribir(int hash) {
+            if (tablaNueva == null) {
+                return tabla;
+            }
+            AtomicReferenceArray<Nodo<Clave, Valor>> destino = tablaNueva;
+            avanzarMigracion(hash);
+            return destino;
+        }
+
+        Valor insertar(Clave clave, int hash, Valor valor, boolean soloSiAusente) {
+            lock();
+            try {
+                AtomicReferenceArray<Nodo<Clave, Valor>> actual = tablaParaEscribir(hash);
+                int indice = hash & (actual.length() - 1);
+                Nodo<Clave, Valor> primero = actual.get(indice);
+                for (Nodo<Clave, Valor> nodo = primero; nodo != null; nodo = nodo.siguiente) {
+                    if (nodo.hash == hash && nodo.clave.equals(clave)) {
+                        Valor anterior = nodo.valor;
+                        if (!soloSiAusente) {
+                            nodo.valor = valor;
+                        }
+                        return anterior;
+                    }
+                }
+
+                if (cantidad >= umbralRehash) {
+                    expandir();
+                    actual = tablaParaEscribir(hash);
+                    indice = hash & (actual.length() - 1);
+                    primero = actual.get(indice);
+                }
+                actual.set(indice, new Nodo<>(hash, clave, valor, primero));
+                cantidad = cantidad + 1;
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        Valor computarSiAusente(Clave clave, int hash, Function<? super Clave, ? extends Valor> funcion) {
+            Valor existente = obtener(clave, hash);
+            if (existente != null) {
+                return existente;
+            }
+            lock();
+            try {
+                existente = obtener(clave, hash);
+                if (existente != null) {
+                    return existente;
+                }
+                Valor nuevo = funcion.apply(clave);
+                if (nuevo != null) {
+                    insertar(clave, hash, nuevo, true);
+                }
+                return nuevo;
+            } finally {
+                unlock();
+            }
+        }
+
+        Valor eliminar(Clave clave, int hash) {
+            lock();
+            try {
+                AtomicReferenceArray<Nodo<Clave, Valor>> actual = tablaParaEscribir(hash);
+                int indice = hash & (actual.length() - 1);
+                Nodo<Clave, Valor> primero = actual.get(indice);
+                Nodo<Clave, Valor> objetivo = primero;
+                while (objetivo != null && !(objetivo.hash == hash && objetivo.clave.equals(clave))) {
+                    objetivo = objetivo.siguiente;
+                }
+                if (objetivo == null) {
+                    return null;
+                }
+
+                // Se copian los nodos anteriores al eliminado; los lectores que
+                // ya recorren la lista vieja no se ven afectados
+                Nodo<Clave, Valor> nuevaLista = objetivo.siguiente;
+                for (Nodo<Clave, Valor> nodo = primero; nodo != objetivo; nodo = nodo.siguiente) {
+                    nuevaLista = new Nodo<>(nodo.hash, nodo.clave, nodo.valor, nuevaLista);
+                }
+                actual.set(indice, nuevaLista);
+                cantidad = cantidad - 1;
+                return objetivo.valor;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Empieza a duplicar la capacidad del segmento. Se llama con el
+         * bloqueo tomado; solo crea el arreglo nuevo, y las listas se
+         * trasladan de a poco en las escrituras siguientes.
+         */
+        private void expandir() {
+            // Un rehash anterior sin terminar se completa antes de empezar otro
+            terminarMigracion();
+
+            int nuevaCapacidad = tabla.length() * 2;
+            tablaNueva = new AtomicReferenceArray<>(nuevaCapacidad);
+            reenvio = new Reenvio<>(tablaNueva);
+            indiceMigracion = 0;
+            umbralRehash = (int) (nuevaCapacidad * FACTOR_CARGA);
+        }
+
+        /**
+         * Traslada la lista vieja de la clave que se va a modificar y luego
+         * unas pocas listas más en orden. Al trasladar la última se publica
+         * el arreglo nuevo.
+         */
+        private void avanzarMigracion(int hash) {
+            AtomicReferenceArray<Nodo<Clave, Valor>> viejo = tabla;
+            trasladarLista(viejo, hash & (viejo.length() - 1));
+            for (int paso = 0; paso < CUBETAS_POR_PASO && indiceMigracion < viejo.length(); paso++) {
+                trasladarLista(viejo, indiceMigracion++);
+            }
+            if (indiceMigracion == viejo.length()) {
+                publicarTablaNueva();
+            }
+        }
+
+        /**
+         * Traslada todas las listas viejas que falten.
+         */
+        private void terminarMigracion() {
+            if (tablaNueva == null) {
+                return;
+            }
+            AtomicReferenceArray<Nodo<Clave, Valor>> viejo = tabla;
+            while (indiceMigracion < viejo.length()) {
+                trasladarLista(viejo, indiceMigracion++);
+            }
+            publicarTablaNueva();
+        }
+
+        private void publicarTablaNueva() {
+            tabla = tablaNueva;
+            tablaNueva = null;
+            reenvio = null;
+        }
+
+        /**
+         * Reparte una lista vieja entre sus dos cubetas del arreglo nuevo y
+         * deja un reenvío en su lugar. El tramo final cuyos nodos van todos a
+         * la misma cubeta se reutiliza tal cual; solo se copian los nodos
+         * anteriores a él.
+         */
+        private void trasladarLista(AtomicReferenceArray<Nodo<Clave, Valor>> viejo, int indice) {
+            Nodo<Clave, Valor> primero = viejo.get(indice);
+            if (primero instanceof Reenvio) {
+                return;
+            }
+            int capacidadVieja = viejo.length();
+            Nodo<Clave, Valor> bajos = null;
+            Nodo<Clave, Valor> altos = null;
+
+            if (primero != null) {
+                Nodo<Clave, Valor> tramo = primero;
+                int bitTramo = primero.hash & capacidadVieja;
+                for (Nodo<Clave, Valor> nodo = primero.siguiente; nodo != null; nodo = nodo.siguiente) {
+                    int bit = nodo.hash & capacidadVieja;
+                    if (bit != bitTramo) {
+                        tramo = nodo;
+                        bitTramo = bit;
+                    }
+                }
+                if (bitTramo == 0) {
+                    bajos = tramo;
+                } else {
+                    altos = tramo;
+                }
+                for (Nodo<Clave, Valor> nodo = primero; nodo != tramo; nodo = nodo.siguiente) {
+                    if ((nodo.hash & capacidadVieja) == 0) {
+                        bajos = new Nodo<>(nodo.hash, nodo.clave, nodo.valor, bajos);
+                    } else {
+                        altos = new Nodo<>(nodo.hash, nodo.clave, nodo.valor, altos);
+                    }
+                }
+            }
+
+            // Las listas nuevas quedan visibles antes que el reenvío que lleva a ellas
+            tablaNueva.set(indice, bajos);
+            tablaNueva.set(indice + capacidadVieja, altos);
+            viejo.set(indice, reenvio);
+        }
+    }
+
+    /**
+     * Crea una tabla con 16 segmentos.
+     */
+    public TablaHashConcurrente() {
+        this(SEGMENTOS_POR_DEFECTO);
+    }
+
+    /**
+     * Crea una tabla con al menos la cantidad de segmentos indicada, redondeada
+     * a una potencia de dos. Más segmentos permiten más escritores simultáneos.
+     *
+     * @param nivelConcurrencia Cantidad estimada de hilos que escriben a la vez.
+     * @throws IllegalArgumentException si el nivel no es positivo.
+     */
+    @SuppressWarnings("unchecked")
+    public TablaHashConcurrente(int nivelConcurrencia) {
+        if (nivelConcurrencia < 1) {
+            throw new IllegalArgumentException("El nivel de concurrencia debe ser positivo");
+        }
+        int cantidadSegmentos = 1;
+        while (cantidadSegmentos < Math.min(nivelConcurrencia, MAXIMO_SEGMENTOS)) {
+            cantidadSegmentos <<= 1;
+        }
+
+        this.segmentos = (Segmento<Clave, Valor>[]) new Segmento<?, ?>[cantidadSegmentos];
+        for (int i = 0; i < cantidadSegmentos; i++) {
+            segmentos[i] = new Segmento<>(CAPACIDAD_SEGMENTO_INICIAL);
+        }
+        this.mascaraSegmento = cantidadSegmentos - 1;
+        this.desplazamientoSegmento = 32 - Integer.numberOfTrailingZeros(cantidadSegmentos);
+    }
+
+    private Segmento<Clave, Valor> segmentoPara(int hash) {
+        // Con un solo segmento el desplazamiento es 32, que Java trata como 0
+        return segmentos[(hash >>> desplazamientoSegmento) & mascaraSegmento];
+    }
+
+    private static void validar(Object clave, Object valor) {
+        if (clave == null) {
+            throw new IllegalArgumentException("Clave no puede ser null");
+        }
+        if (valor == null) {
+            throw new IllegalArgumentException("Valor no puede ser null");
+        }
+    }
+
+    /**
+     * Inserta un nuevo par clave-valor o actualiza el valor si la clave ya existe.
+     *
+     * @param clave Clave a insertar o actualizar.
+     * @param valor Valor asociado a la clave.
+     * @return Valor anterior, o null si la clave no existía.
+     */
+    public Valor insertar(Clave clave, Valor valor) {
+        validar(clave, valor);
+        int hash = TablaHash.dispersar(clave);
+        return segmentoPara(hash).insertar(clave, hash, valor, false);
+    }
+
+    /**
+     * Inserta el par solo si la clave no existe, de forma atómica.
+     *
+     * @param clave Clave a insertar.
+     * @param valor Valor asociado a la clave.
+     * @return Valor que ya existía, o null si se insertó el nuevo.
+     */
+    public Valor insertarSiAusente(Clave clave, Valor valor) {
+        validar(clave, valor);
+        int hash = TablaHash.dispersar(clave);
+        return segmentoPara(hash).insertar(clave, hash, valor, true);
+    }
+
+    /**
+     * Devuelve el valor de la clave o, si no existe, lo calcula y lo inserta de
+     * forma atómica. La función se llama a lo sumo una vez por clave, con el
+     * segmento bloqueado, por lo que debe ser breve.
+     *
+     * @param clave   Clave a buscar.
+     * @param funcion Función que crea el valor a partir de la clave.
+     * @return Valor existente o recién calculado; null si la función devolvió null.
+     */
+    public Valor computarSiAusente(Clave clave, Function<? super Clave, ? extends Valor> funcion) {
+        if (clave == null) {
+            throw new IllegalArgumentException("Clave no puede ser null");
+        }
+        int hash = TablaHash.dispersar(clave);
+        return segmentoPara(hash).computarSiAusente(clave, hash, funcion);
+    }
+
+    /**
+     * Busca y devuelve el valor asociado a una clave dada, sin bloquear.
+     *
+     * @param clave Clave a buscar.
+     * @return Valor asociado o null si no se encuentra la clave.
+     */
+    public Valor obtener(Clave clave) {
+        if (clave == null) {
+            return null;
+        }
+        int hash = TablaHash.dispersar(clave);
+        return segmentoPara(hash).obtener(clave, hash);
+    }
+
+    /**
+     * Elimina el par clave-valor asociado a la clave dada.
+     *
+     * @param clave Clave a eliminar.
+     * @return Valor eliminado o null si la clave no existe.
+     */
+    public Valor eliminar(Clave clave) {
+        if (clave == null) {
+            return null;
+        }
+        int hash = TablaHash.dispersar(clave);
+        return segmentoPara(hash).eliminar(clave, hash);
+    }
+
+    /**
+     * Verifica si una clave existe en la tabla. Como no se admiten valores
+     * null, equivale a que {@link #obtener} devuelva algo.
+     *
+     * @param clave Clave a verificar.
+     * @return true si la clave está presente, false si no.
+     */
+    public boolean contieneClave(Clave clave) {
+        return obtener(clave) != null;
+    }
+
+    /**
+     * Devuelve el número de pares almacenados. Con escrituras en curso es solo
+     * una aproximación.
+     *
+     * @return Número de elementos en la tabla.
+     */
+    public int tamaño() {
+        long total = 0;
+        for (Segmento<Clave, Valor> segmento : segmentos) {
+            total += segmento.cantidad;
+        }
+        return (int) Math.min(total, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Verifica si la tabla está vacía.
+     *
+     * @return true si no hay elementos, false en caso contrario.
+     */
+    public boolean estaVacia() {
+        for (Segmento<Clave, Valor> segmento : segmentos) {
+            if (segmento.cantidad != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Representación en cadena con la cantidad de elementos por segmento.
+     *
+     * @return Cadena con el resumen de la tabla.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("TablaHashConcurrente[tamaño=").append(tamaño())
+                .append(", segmentos=").append(segmentos.length).append("]");
+        return sb.toString();
+    }
+}
@@ -0,0 +1,239 @@
+package componentes;
+
+/**
+ * Tabla Hash con claves primitivas long, por ejemplo identificadores de
+ * jugador o de sesión. Usa el mismo direccionamiento abierto con sondeo lineal
+ * que {@link TablaHashAbierta}, pero guarda las claves en un long[], así que
+ * ni insertar ni buscar crean objetos.
+ *
+ * Como 0 marca las posiciones libres, la clave 0 se guarda aparte.
+ * Los valores pueden ser null.
+ */
+public class TablaHashLong<Valor> {
+
+    private static final int CAPACIDAD_INICIAL = 16;
+    private static final double FACTOR_CARGA = 0.75;
+
+    // Clave de cada posición; 0 indica posición libre
+    private long[] claves;
+    private Object[] valores;
+    private int cantidad;
+    private int umbralRehash;
+    // Entrada de la clave 0, que no puede vivir en el arreglo
+    private boolean tieneCero;
+    private Valor valorCero;
+
+    /**
+     * Crea una tabla vacía con la capacidad inicial por defecto.
+     */
+    public TablaHashLong() {
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Crea una tabla con espacio para la cantidad indicada de entradas sin
+     * necesidad de crecer.
+     *
+     * @param esperados Cantidad de entradas esperadas.
+     * @throws IllegalArgumentException si la cantidad es negativa.
+     */
+    public TablaHashLong(int esperados) {
+        if (esperados < 0) {
+            throw new IllegalArgumentException("La cantidad esperada no puede ser negativa");
+        }
+        int capacidad = CAPACIDAD_INICIAL;
+        while (capacidad * FACTOR_CARGA < esperados) {
+            capacidad <<= 1;
+        }
+        reservar(capacidad);
+    }
+
+    private void reservar(int capacidad) {
+        this.claves = new long[capacidad];
+        this.valores = new Object[capacidad];
+        this.umbralRehash = (int) (capacidad * FACTOR_CARGA);
+    }
+
+    /**
+     * Mezcla los 64 bits de la clave (finalizador de MurmurHash3) para que
+     * identificadores consecutivos no queden agrupados.
+     */
+    private static int dispersar(long clave) {
+        long h = clave;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return (int) h;
+    }
+
+    private int posicionDe(long clave) {
+        int mascara = claves.length - 1;
+        int indice = dispersar(clave) & mascara;
+        long actual;
+        while ((actual = claves[indice]) != 0) {
+            if (actual == clave) {
+                return indice;
+            }
+            indice = (indice + 1) & mascara;
+        }
+        return -1;
+    }
+
+    /**
+     * Inserta un nuevo par clave-valor o actualiza el valor si la clave ya existe.
+     *
+     * @param clave Clave a insertar o actualizar.
+     * @param valor Valor asociado a la clave.
+     */
+    public void insertar(long clave, Valor valor) {
+        if (clave == 0) {
+            if (!tieneCero) {
+                tieneCero = true;
+                cantidad++;
+            }
+            valorCero = valor;
+            return;
+        }
+        if (cantidad >= umbralRehash) {
+            expandirTabla();
+        }
+
+        int mascara = claves.length - 1;
+        int indice = dispersar(clave) & mascara;
+        long actual;
+        while ((actual = claves[indice]) != 0) {
+            if (actual == clave) {
+                valores[indice] = valor;
+                return;
+            }
+            indice = (indice + 1) & mascara;
+        }
+        claves[indice] = clave;
+        valores[indice] = valor;
+        cantidad++;
+    }
+
+    /**
+     * Busca y devuelve el valor asociado a una clave dada.
+     *
+     * @param clave Clave a buscar.
+     * @return Valor asociado o null si no se encuentra la clave.
+     */
+    @SuppressWarnings("unchecked")
+    public Valor obtener(long clave) {
+        if (clave == 0) {
+            return valorCero;
+        }
+        int posicion = posicionDe(clave);
+        return posicion >= 0 ? (Valor) valores[posicion] : null;
+    }
+
+    /**
+     * Verifica si una clave existe en la tabla, aunque su valor sea null.
+     *
+     * @param clave Clave a verificar.
+     * @return true si la clave está presente, false si no.
+     */
+    public boolean contieneClave(long clave) {
+        return clave == 0 ? tieneCero : posicionDe(clave) >= 0;
+    }
+
+    /**
+     * Elimina el par clave-valor asociado a la clave dada.
+     *
+     * @param clave Clave a eliminar.
+     * @return Valor eliminado o null si la clave no existe.
+     */
+    @SuppressWarnings("unchecked")
+    public Valor eliminar(long clave) {
+        if (clave == 0) {
+            if (!tieneCero) {
+                return null;
+            }
+            Valor eliminado = valorCero;
+            tieneCero = false;
+            valorCero = null;
+            cantidad--;
+            return eliminado;
+        }
+        int posicion = posicionDe(clave);
+        if (posicion < 0) {
+            return null;
+        }
+        Valor eliminado = (Valor) valores[posicion];
+        correrHaciaAtras(posicion);
+        cantidad--;
+        return eliminado;
+    }
+
+    /**
+     * Libera la posición indicada moviendo hacia atrás las entradas que
+     * quedarían inalcanzables por el hueco.
+     */
+    private void correrHaciaAtras(int hueco) {
+        int mascara = claves.length - 1;
+        int siguiente = hueco;
+        while (true) {
+            siguiente = (siguiente + 1) & mascara;
+            if (claves[siguiente] == 0) {
+                break;
+            }
+            int ideal = dispersar(claves[siguiente]) & mascara;
+            // La entrada se queda si su posición ideal está en (hueco, siguiente]
+            boolean seQueda = (hueco <= siguiente)
+                    ? (hueco < ideal && ideal <= siguiente)
+                    : (hueco < ideal || ideal <= siguiente);
+            if (!seQueda) {
+                claves[hueco] = claves[siguiente];
+                valores[hueco] = valores[siguiente];
+                hueco = siguiente;
+            }
+        }
+        claves[hueco] = 0;
+        valores[hueco] = null;
+    }
+
+    /**
+     * Devuelve el número de pares clave-valor almacenados.
+     *
+     * @return Número de elementos en la tabla.
+     */
+    public int tamaño() {
+        return cantidad;
+    }
+
+    /**
+     * Verifica si la tabla está vacía.
+     *
+     * @return true si no hay elementos, false en caso contrario.
+     */
+    public boolean estaVacia() {
+        return cantidad == 0;
+    }
+
+    private void expandirTabla() {
+        long[] viejasClaves = claves;
+        Object[] viejosValores = valores;
+        reservar(viejasClaves.length * 2);
+        int mascara = claves.length - 1;
+
+        for (int i = 0; i < viejasClaves.length; i++) {
+            long clave = viejasClaves[i];
+            if (clave != 0) {
+                int indice = dispersar(clave) & mascara;
+                while (claves[indice] != 0) {
+                    indice = (indice + 1) & mascara;
+                }
+                claves[indice] = clave;
+                valores[indice] = viejosValores[i];
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "TablaHashLong[tamaño=" + cantidad + "]";
+    }
+}
@@ -0,0 +1,151 @@
+package eventos;
+
+import logica.Carta;
+import logica.ResultadoMano;
+
+/**
+ * Evento inmutable que describe algo ocurrido durante una mano: una carta
+ * repartida, una decisión, un exceso de 21, el resultado o un mensaje libre.
+ * Solo guarda los datos; el texto se arma en {@link #toString()} cuando un
+ * receptor decide mostrarlo.
+ */
+public final class EventoJuego {
+
+    /**
+     * Tipos de evento que produce el juego.
+     */
+    public enum Tipo {
+        CARTA_REPARTIDA,
+        DECISION,
+        PLANTADO,
+        EXCESO,
+        RESULTADO,
+        MENSAJE
+    }
+
+    private final Tipo tipo;
+    private final String participante;
+    private final Carta carta;
+    private final int puntaje;
+    private final ResultadoMano resultado;
+    private final String detalle;
+
+    private EventoJuego(Tipo tipo, String participante, Carta carta, int puntaje,
+            ResultadoMano resultado, String detalle) {
+        this.tipo = tipo;
+        this.participante = participante;
+        this.carta = carta;
+        this.puntaje = puntaje;
+        this.resultado = resultado;
+        this.detalle = detalle;
+    }
+
+    /**
+     * Un participante recibió una carta.
+     *
+     * @param participante Nombre de quien recibe la carta.
+     * @param carta        Carta recibida.
+     * @param puntaje      Puntaje tras recibirla.
+     */
+    public static EventoJuego cartaRepartida(String participante, Carta carta, int puntaje) {
+        return new EventoJuego(Tipo.CARTA_REPARTIDA, participante, carta, puntaje, null, null);
+    }
+
+    /**
+     * Un participante tomó una decisión.
+     *
+     * @param participante Nombre de quien decide.
+     * @param puntaje      Puntaje en el momento de decidir.
+     * @param descripcion  Descripción de la decisión.
+     */
+    public static EventoJuego decision(String participante, int puntaje, String descripcion) {
+        return new EventoJuego(Tipo.DECISION, participante, null, puntaje, null, descripcion);
+    }
+
+    /**
+     * Un participante se plantó.
+     *
+     * @param participante Nombre de quien se planta.
+     * @param puntaje      Puntaje con el que se planta.
+     */
+    public static EventoJuego plantado(String participante, int puntaje) {
+        return new EventoJuego(Tipo.PLANTADO, participante, null, puntaje, null, null);
+    }
+
+    /**
+     * Un participante se pasó de 21.
+     *
+     * @param participante Nombre de quien se pasó.
+     * @param puntaje      Puntaje final.
+     */
+    public static EventoJuego exceso(String participante, int puntaje) {
+        return new EventoJuego(Tipo.EXCESO, participante, null, puntaje, null, null);
+    }
+
+    /**
+     * Resultado de la mano para un jugador.
+     *
+     * @param participante Nombre del jugador.
+     * @param resultado    Resultado de la mano.
+     * @param descripcion  Explicación del resultado.
+     */
+    public static EventoJuego resultado(String participante, ResultadoMano resultado, String descripcion) {
+        return new EventoJuego(Tipo.RESULTADO, participante, null, 0, resultado, descripcion);
+    }
+
+    /**
+     * Mensaje de texto libre, como encabezados o el estado de la mesa.
+     *
+     * @param texto Texto a mostrar.
+     */
+    public static EventoJuego mensaje(String texto) {
+        return new EventoJuego(Tipo.MENSAJE, null, null, 0, null, texto);
+    }
+
+    public Tipo getTipo() {
+        return tipo;
+    }
+
+    public String getParticipante() {
+        return participante;
+    }
+
+    public Carta getCarta() {
+        return carta;
+    }
+
+    public int getPuntaje() {
+        return puntaje;
+    }
+
+    public ResultadoMano getResultado() {
+        return resultado;
+    }
+
+    public String getDetalle() {
+        return detalle;
+    }
+
+    /**
+     * Texto del evento tal como se muestra en consola.
+     *
+     * @return Descripción legible del evento.
+     */
+    @Override
+    public String toString() {
+        switch (tipo) {
+            case CARTA_REPARTIDA:
+                return participante + " recibe: " + carta + " (Puntaje: " + puntaje + ")";
+            case DECISION:
+                return "\n" + participante + " con " + puntaje + " puntos → " + detalle;
+            case PLANTADO:
+                return participante + " se planta con " + puntaje + " puntos.";
+            case EXCESO:
+                return "¡" + participante + " se pasó de 21! Puntaje final: " + puntaje;
+            case RESULTADO:
+                return "\n" + detalle;
+            default:
+                return detalle;
+        }
+    }
+}
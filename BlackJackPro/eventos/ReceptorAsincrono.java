@@ -0,0 +1,90 @@
+package eventos;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Receptor que entrega los eventos a otro receptor desde un hilo en segundo
+ * plano. Quien publica solo encola el evento; el formateo y la escritura
+ * ocurren en el hilo escritor.
+ *
+ * Puede recibir eventos de varios hilos a la vez. El receptor de destino solo
+ * es usado por el hilo escritor.
+ */
+public class ReceptorAsincrono implements ReceptorEventos {
+
+    // Marca de fin que detiene al hilo escritor
+    private static final EventoJuego FIN = EventoJuego.mensaje("");
+    private static final int LOTE_MAXIMO = 1024;
+
+    private final BlockingQueue<EventoJuego> cola;
+    private final ReceptorEventos destino;
+    private final Thread escritor;
+    private volatile boolean cerrado;
+
+    /**
+     * Crea el receptor y arranca su hilo escritor.
+     *
+     * @param destino Receptor que recibirá los eventos en segundo plano.
+     */
+    public ReceptorAsincrono(ReceptorEventos destino) {
+        this.cola = new LinkedBlockingQueue<>();
+        this.destino = destino;
+        this.escritor = new Thread(this::escribir, "receptor-eventos");
+        this.escritor.setDaemon(true);
+        this.escritor.start();
+    }
+
+    @Override
+    public void publicar(EventoJuego evento) {
+        if (cerrado) {
+            throw new IllegalStateException("El receptor ya fue cerrado");
+        }
+        cola.add(evento);
+    }
+
+    @Override
+    public boolean activo() {
+        return destino.activo();
+    }
+
+    // Bucle del hilo escritor: toma lotes de la cola y los entrega al destino
+    private void escribir() {
+        List<EventoJuego> lote = new ArrayList<>(LOTE_MAXIMO);
+        try {
+            while (true) {
+                lote.add(cola.take());
+                cola.drainTo(lote, LOTE_MAXIMO - 1);
+                for (EventoJuego evento : lote) {
+                    if (evento == FIN) {
+                        destino.cerrar();
+                        return;
+                    }
+                    destino.publicar(evento);
+                }
+                lote.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Espera a que se escriban los eventos pendientes y detiene el hilo.
+     */
+    @Override
+    public void cerrar() {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        cola.add(FIN);
+        try {
+            escritor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package eventos;
+
+import java.io.PrintStream;
+
+/**
+ * Receptor que acumula el texto de los eventos en memoria y lo escribe en un
+ * solo bloque cuando se alcanza la capacidad o al vaciarlo. Reduce las
+ * escrituras sincronizadas sobre la consola a una por bloque.
+ *
+ * No es seguro para uso concurrente: cada hilo o mesa debe tener el suyo.
+ */
+public class ReceptorBuffer implements ReceptorEventos {
+
+    private static final int CAPACIDAD_POR_DEFECTO = 8192;
+
+    private final PrintStream salida;
+    private final StringBuilder pendiente;
+    private final int capacidad;
+
+    /**
+     * Crea un receptor que vuelca en la salida estándar.
+     */
+    public ReceptorBuffer() {
+        this(System.out, CAPACIDAD_POR_DEFECTO);
+    }
+
+    /**
+     * Crea un receptor con la salida y la capacidad indicadas.
+     *
+     * @param salida    Flujo donde se vuelcan los eventos.
+     * @param capacidad Cantidad de caracteres acumulados antes de volcar.
+     */
+    public ReceptorBuffer(PrintStream salida, int capacidad) {
+        this.salida = salida;
+        this.capacidad = capacidad;
+        this.pendiente = new StringBuilder(capacidad + 256);
+    }
+
+    @Override
+    public void publicar(EventoJuego evento) {
+        pendiente.append(evento).append('\n');
+        if (pendiente.length() >= capacidad) {
+            vaciar();
+        }
+    }
+
+    /**
+     * Escribe en la salida todo el texto acumulado.
+     */
+    public void vaciar() {
+        if (pendiente.length() > 0) {
+            salida.print(pendiente);
+            salida.flush();
+            pendiente.setLength(0);
+        }
+    }
+
+    @Override
+    public void cerrar() {
+        vaciar();
+    }
+}
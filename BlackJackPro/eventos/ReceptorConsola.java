@@ -0,0 +1,32 @@
+package eventos;
+
+import java.io.PrintStream;
+
+/**
+ * Receptor que muestra cada evento inmediatamente en la consola.
+ */
+public class ReceptorConsola implements ReceptorEventos {
+
+    private final PrintStream salida;
+
+    /**
+     * Crea un receptor que escribe en la salida estándar.
+     */
+    public ReceptorConsola() {
+        this(System.out);
+    }
+
+    /**
+     * Crea un receptor que escribe en la salida indicada.
+     *
+     * @param salida Flujo donde se muestran los eventos.
+     */
+    public ReceptorConsola(PrintStream salida) {
+        this.salida = salida;
+    }
+
+    @Override
+    public void publicar(EventoJuego evento) {
+        salida.println(evento);
+    }
+}
@@ -0,0 +1,34 @@
+package eventos;
+
+/**
+ * Destino de los eventos del juego. Las implementaciones deciden si los
+ * muestran por consola, los acumulan, los escriben en segundo plano o los
+ * descartan.
+ *
+ * Quien publica debe consultar {@link #activo()} antes de crear el evento, de
+ * modo que con un receptor inactivo no se construya ni se formatee nada.
+ */
+public interface ReceptorEventos {
+
+    /**
+     * Recibe un evento del juego.
+     *
+     * @param evento Evento publicado.
+     */
+    void publicar(EventoJuego evento);
+
+    /**
+     * Indica si vale la pena construir eventos para este receptor.
+     *
+     * @return false si el receptor descarta todo lo que recibe.
+     */
+    default boolean activo() {
+        return true;
+    }
+
+    /**
+     * Vacía lo pendiente y libera los recursos del receptor.
+     */
+    default void cerrar() {
+    }
+}
@@ -0,0 +1,23 @@
+package eventos;
+
+/**
+ * Receptor que descarta todos los eventos. Al estar inactivo, quien publica
+ * ni siquiera construye los eventos.
+ */
+public final class ReceptorNulo implements ReceptorEventos {
+
+    /** Instancia única compartida. */
+    public static final ReceptorNulo INSTANCIA = new ReceptorNulo();
+
+    private ReceptorNulo() {
+    }
+
+    @Override
+    public void publicar(EventoJuego evento) {
+    }
+
+    @Override
+    public boolean activo() {
+        return false;
+    }
+}
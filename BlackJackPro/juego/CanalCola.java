@@ -0,0 +1,97 @@
+package juego;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Canal de entrada respaldado por una cola en memoria. Otro hilo entrega las
+ * respuestas con {@link #enviar(String)} y la partida las toma en orden,
+ * bloqueándose mientras la cola esté vacía. Las preguntas se ignoran.
+ *
+ * Es seguro para un productor y un consumidor en hilos distintos.
+ */
+public class CanalCola implements CanalEntrada {
+
+    // Marca interna que indica que el canal se cerró
+    private static final String FIN = new String("FIN");
+
+    private final BlockingQueue<String> lineas;
+    private volatile boolean cerrado;
+
+    /**
+     * Crea un canal vacío.
+     */
+    public CanalCola() {
+        this.lineas = new LinkedBlockingQueue<>();
+    }
+
+    /**
+     * Entrega una línea al canal.
+     *
+     * @param linea Línea a entregar.
+     * @throws IllegalArgumentException si la línea es null.
+     * @throws IllegalStateException    si el canal ya fue cerrado.
+     */
+    public void enviar(String linea) {
+        if (linea == null) {
+            throw new IllegalArgumentException("La línea no puede ser null");
+        }
+        if (cerrado) {
+            throw new IllegalStateException("El canal ya fue cerrado");
+        }
+        lineas.add(linea);
+    }
+
+    @Override
+    public String leerLinea(String pregunta) {
+        try {
+            String linea = lineas.take();
+            if (linea == FIN) {
+                lineas.add(FIN); // Las siguientes lecturas también ven el cierre
+                return null;
+            }
+            return linea;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Espera una línea como máximo el tiempo indicado.
+     *
+     * @param espera Tiempo máximo de espera.
+     * @param unidad Unidad del tiempo de espera.
+     * @return Línea recibida, o null si venció el plazo o el canal se cerró.
+     */
+    public String leerLinea(long espera, TimeUnit unidad) {
+        try {
+            String linea = lineas.poll(espera, unidad);
+            if (linea == FIN) {
+                lineas.add(FIN);
+                return null;
+            }
+            return linea;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    /**
+     * Cierra el canal. Las líneas ya enviadas se siguen entregando; después
+     * de ellas cada lectura devuelve null.
+     */
+    @Override
+    public void cerrar() {
+        if (!cerrado) {
+            cerrado = true;
+            lineas.add(FIN);
+        }
+    }
+
+    public boolean estaCerrado() {
+        return cerrado;
+    }
+}
@@ -0,0 +1,35 @@
+package juego;
+
+import java.util.NoSuchElementException;
+import java.util.Scanner;
+
+/**
+ * Canal de entrada que muestra las preguntas en la consola y lee las
+ * respuestas del teclado.
+ */
+public class CanalConsola implements CanalEntrada {
+
+    private final Scanner entradaUsuario;
+
+    /**
+     * Crea un canal sobre la entrada estándar.
+     */
+    public CanalConsola() {
+        this.entradaUsuario = new Scanner(System.in);
+    }
+
+    @Override
+    public String leerLinea(String pregunta) {
+        System.out.print(pregunta);
+        try {
+            return entradaUsuario.nextLine();
+        } catch (NoSuchElementException e) {
+            return null; // Se terminó la entrada
+        }
+    }
+
+    @Override
+    public void cerrar() {
+        entradaUsuario.close();
+    }
+}
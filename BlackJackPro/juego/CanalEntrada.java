@@ -0,0 +1,24 @@
+package juego;
+
+/**
+ * Fuente de las respuestas del jugador. Reemplaza la lectura directa de la
+ * consola para que una partida pueda recibir sus decisiones desde el teclado,
+ * desde una cola en memoria o desde una conexión remota.
+ */
+public interface CanalEntrada {
+
+    /**
+     * Presenta la pregunta, si el canal tiene dónde mostrarla, y espera la
+     * respuesta.
+     *
+     * @param pregunta Texto que se le muestra al jugador.
+     * @return Línea recibida, o null si el canal se cerró.
+     */
+    String leerLinea(String pregunta);
+
+    /**
+     * Cierra el canal y libera sus recursos.
+     */
+    default void cerrar() {
+    }
+}
@@ -5,34 +5,47 @@ import logica.Carta;
 import logica.Dealer;
 import logica.Jugador;
 
-import java.util.Scanner;
-
-import componentes.ListaEnlazada;
-import componentes.TablaHash;
+import eventos.EventoJuego;
+import eventos.ReceptorConsola;
+import eventos.ReceptorEventos;
 
 /**
  * Controlador principal para la gestión y dinámica del juego Blackjack.
- * Hace uso de estructuras de datos y clases del modelo para el desarrollo del
- * juego.
+ * Sienta de uno a {@link MesaBlackjack#MAXIMO_ASIENTOS} jugadores en una
+ * {@link MesaBlackjack} y les pide sus decisiones a través de un
+ * {@link CanalEntrada}, por defecto la consola.
+ * El desarrollo de cada mano se publica como eventos en un
+ * {@link ReceptorEventos}; las preguntas las presenta el canal de entrada.
  */
 public class JuegoBlackjack {
 
-    private MazoCartas mazo;
-    private Jugador participante;
+    private MesaBlackjack mesa;
     private Dealer repartidor;
-    private AdministradorTurnos gestionTurnos;
-    private TablaHash<String, Jugador> mapaJugadores;
-    private Scanner entradaUsuario;
+    private CanalEntrada entradaUsuario;
     private boolean partidaActiva;
+    private ReceptorEventos receptor;
 
     /**
-     * Inicializa los componentes esenciales para la partida de Blackjack.
+     * Inicializa los componentes esenciales para la partida de Blackjack,
+     * mostrando el juego por consola.
      */
     public JuegoBlackjack() {
-        this.mazo = new MazoCartas();
-        this.entradaUsuario = new Scanner(System.in);
-        this.gestionTurnos = new AdministradorTurnos();
-        this.mapaJugadores = new TablaHash<>();
+        this(new ReceptorConsola(), new CanalConsola());
+    }
+
+    /**
+     * Inicializa la partida publicando su desarrollo en el receptor indicado y
+     * leyendo las respuestas del canal indicado.
+     *
+     * @param receptor Receptor de los eventos del juego.
+     * @param entrada  Canal del que llegan las respuestas de los jugadores.
+     */
+    public JuegoBlackjack(ReceptorEventos receptor, CanalEntrada entrada) {
+        this.receptor = receptor;
+        this.repartidor = new Dealer();
+        this.mesa = new MesaBlackjack(new MazoCartas(), repartidor);
+        this.mesa.setReceptorEventos(receptor);
+        this.entradaUsuario = entrada;
         this.partidaActiva = false;
     }
 
@@ -40,25 +53,24 @@ public class JuegoBlackjack {
      * Método principal que pone en marcha el flujo completo del juego.
      */
     public void comenzarPartida() {
-        System.out.println("====================================");
-        System.out.println("          BLACKJACK GAME :P             ");
-        System.out.println("====================================");
-
-        // Pedir nombre del jugador
-        System.out.print("\n Tu nombre: ");
-        String nombre = entradaUsuario.nextLine().trim();
-        if (nombre.isEmpty()) {
-            nombre = "Jugador";
+        mostrar("====================================\n"
+                + "          BLACKJACK GAME :P             \n"
+                + "====================================");
+
+        // Pedir cantidad de jugadores y sus nombres
+        int cantidad = solicitarCantidadJugadores();
+        for (int i = 1; i <= cantidad; i++) {
+            String nombre = leer("\n Nombre del jugador " + i + ": ");
+            if (nombre.isEmpty()) {
+                nombre = (cantidad == 1) ? "Jugador" : "Jugador " + i;
+            }
+            // Los nombres identifican a los asientos, así que no se repiten
+            while (mesa.obtenerAsiento(nombre) != null || nombre.equals(repartidor.getNombre())) {
+                nombre = nombre + " " + i;
+            }
+            mesa.sentarJugador(new Jugador(nombre), null);
         }
 
-        // Crear instancias de jugador y dealer
-        participante = new Jugador(nombre);
-        repartidor = new Dealer();
-
-        // Registrar jugadores en la estructura de control
-        mapaJugadores.insertar(participante.getNombre(), participante);
-        mapaJugadores.insertar(repartidor.getNombre(), repartidor);
-
         // Activar el ciclo principal de la partida
         partidaActiva = true;
         while (partidaActiva) {
@@ -68,182 +80,106 @@ public class JuegoBlackjack {
 
         // Presentar resumen final del juego
         mostrarResumenFinal();
-        System.out.println("\nGracias por jugar. Vuelve pronto!");
-        entradaUsuario.close();
+        mostrar("\nGracias por jugar. Vuelve pronto!");
+        receptor.cerrar();
+        entradaUsuario.cerrar();
     }
 
     /**
      * Ejecuta una mano completa, desde reparto hasta definición del ganador.
+     * La mesa resuelve los Blackjack iniciales, el turno del Dealer y los
+     * resultados; aquí solo se piden las decisiones de cada jugador.
      */
     private void jugarMano() {
-        System.out.println("\n====================================");
-        System.out.println("         UNA NUEVA MANO EN LA MESA    ");
-        System.out.println("======================================");
-
-        // Reiniciar el mazo y barajar
-        mazo = new MazoCartas();
-        mazo.barajar();
-
-        // Limpiar las cartas de ambos jugadores
-        participante.reiniciarMano();
-        repartidor.reiniciarMano();
-
-        // Repartir dos cartas a cada jugador
-        for (int i = 0; i < 2; i++) {
-            participante.añadirCarta(mazo.extraerCarta());
-            repartidor.añadirCarta(mazo.extraerCarta());
-        }
-
-        // Establecer el orden de turno
-        gestionTurnos.reiniciarFilaJugadores(participante, repartidor);
+        mostrar("\n====================================\n"
+                + "         UNA NUEVA MANO EN LA MESA    \n"
+                + "======================================");
 
-        // Mostrar estado actual de la partida
+        // Repartir y mostrar el estado de la mesa
+        boolean hayTurnos = mesa.iniciarRonda();
         mostrarEstadoActual();
 
-        // Verificar si existe Blackjack inicial
-        if (detectarBlackjack()) {
-            return;
-        }
-
-        // Turno del jugador
-        ejecutarTurnoJugador();
-
-        // Turno automático del dealer si jugador no se pasó
-        if (!participante.seExcedio()) {
-            repartidor.ejecutarTurno(mazo);
+        // Turno de cada jugador, en el orden de la fila
+        MesaBlackjack.Asiento anterior = null;
+        MesaBlackjack.Asiento asiento;
+        while (hayTurnos && (asiento = mesa.asientoEnTurno()) != null) {
+            if (asiento != anterior) {
+                if (receptor.activo()) {
+                    mostrar("\n--- Es el turno de " + asiento.getJugador().getNombre() + " ---");
+                }
+                anterior = asiento;
+            }
+            mesa.aplicarDecision(solicitarDecision(asiento.getJugador()));
         }
-
-        // Determinar ganador de la mano
-        declararGanador();
     }
 
     /**
-     * Controla las acciones durante el turno del jugador.
+     * Muestra la mano del jugador en turno y le pregunta qué hacer.
+     *
+     * @param jugador Jugador que debe decidir.
+     * @return true si pide carta, false si se planta.
      */
-    private void ejecutarTurnoJugador() {
-        System.out.println("\n--- Es el turno de " + participante.getNombre() + " ---");
+    private boolean solicitarDecision(Jugador jugador) {
+        if (receptor.activo()) {
+            mostrar("\nTu mano actual: \n" + listarCartas(jugador)
+                    + "Puntaje actual: " + jugador.puntajeTotal());
+        }
 
-        boolean terminoTurno = false;
-        while (!terminoTurno) {
-            System.out.println("\nTu mano actual: ");
-            ListaEnlazada<Carta> mano = participante.getCartas();
-            for (int i = 0; i < mano.obtenerTamaño(); i++) {
-                System.out.println("- " + mano.obtenerElemento(i));
+        // Opciones para el jugador
+        String opciones = "\n¿Ahora qué vas a hacer, " + jugador.getNombre() + "?\n"
+                + "1. Pides carta\n"
+                + "2. Te plantas\n"
+                + "Elige opción (1-2): ";
+        while (true) {
+            String respuesta = entradaUsuario.leerLinea(opciones);
+            if (respuesta == null) {
+                return false; // Sin entrada, el jugador se planta
             }
-            System.out.println("Puntaje actual: " + participante.puntajeTotal());
-
-            // Opciones para el jugador
-            System.out.println("\n¿Ahora qué vas a hacer?");
-            System.out.println("1. Pides carta");
-            System.out.println("2. Te plantas");
-            System.out.print("Elige opción (1-2): ");
 
             int eleccion;
             try {
-                eleccion = Integer.parseInt(entradaUsuario.nextLine().trim());
+                eleccion = Integer.parseInt(respuesta.trim());
             } catch (NumberFormatException e) {
                 eleccion = 0; // Opción inválida
             }
 
             switch (eleccion) {
                 case 1: // Solicitar carta
-                    if (!mazo.sinCartas()) {
-                        Carta cartaNueva = mazo.extraerCarta();
-                        participante.añadirCarta(cartaNueva);
-                        System.out.println("\nHas recibido: " + cartaNueva);
-
-                        if (participante.seExcedio()) {
-                            System.out.println("Te pasaste de los 21. Puntaje final: " + participante.puntajeTotal());
-                            terminoTurno = true;
-                        }
-                    } else {
-                        System.out.println("Las cartas se agotaron ;(.");
-                        terminoTurno = true;
+                    if (mesa.getMazo().sinCartas()) {
+                        mostrar("Las cartas se agotaron ;(.");
                     }
-                    break;
+                    return true;
 
                 case 2: // Plantarse
-                    participante.plantado();
-                    System.out.println("Te has plantado con " + participante.puntajeTotal() + " puntos.");
-                    terminoTurno = true;
-                    break;
+                    return false;
 
                 default:
-                    System.out.println("Opción no valida. Intenta de nuevo");
+                    mostrar("Opción no valida. Intenta de nuevo");
             }
         }
     }
 
     /**
-     * Revisa si alguno tiene Blackjack al inicio y maneja resultado inmediato.
-     * 
-     * @return true si hay Blackjack inicial, false en caso contrario.
+     * Pregunta cuántos jugadores se sientan a la mesa.
+     *
+     * @return Cantidad de jugadores, entre 1 y el máximo de la mesa.
      */
-    private boolean detectarBlackjack() {
-        boolean jugadorBlackjack = participante.tieneBlackjack();
-        boolean dealerBlackjack = repartidor.tieneBlackjack();
-
-        if (jugadorBlackjack || dealerBlackjack) {
-            System.out.println("\n¡Blackjack inicial detectado!");
-
-            // Mostrar cartas del jugador
-            System.out.println("\nCartas de " + participante.getNombre() + ":");
-            ListaEnlazada<Carta> mano = participante.getCartas();
-            for (int i = 0; i < mano.obtenerTamaño(); i++) {
-                System.out.println("- " + mano.obtenerElemento(i));
+    private int solicitarCantidadJugadores() {
+        String pregunta = "\n ¿Cuántos jugadores? (1-" + MesaBlackjack.MAXIMO_ASIENTOS + "): ";
+        while (true) {
+            String respuesta = leer(pregunta);
+            if (respuesta.isEmpty()) {
+                return 1;
             }
-
-            // Mostrar cartas del dealer
-            System.out.println("\nCartas del Dealer:");
-            ListaEnlazada<Carta> manoDealer = repartidor.getCartas();
-            for (int i = 0; i < manoDealer.obtenerTamaño(); i++) {
-                System.out.println("- " + manoDealer.obtenerElemento(i));
-            }
-
-            // Evaluar ganador según Blackjack
-            if (jugadorBlackjack && dealerBlackjack) {
-                System.out.println("\nEmpate, ambos jugadores han terminado con Blackjack.");
-            } else if (jugadorBlackjack) {
-                System.out.println("\n¡" + participante.getNombre() + " gana con un estupendo Blackjack!");
-                participante.sumarVictoria();
-            } else {
-                System.out.println("\nEl Dealer gana con un maravilloso Blackjack!");
-                repartidor.sumarVictoria();
+            try {
+                int cantidad = Integer.parseInt(respuesta);
+                if (cantidad >= 1 && cantidad <= MesaBlackjack.MAXIMO_ASIENTOS) {
+                    return cantidad;
+                }
+            } catch (NumberFormatException e) {
+                // Se vuelve a preguntar
             }
-
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * Determina el ganador según las reglas después de los turnos.
-     */
-    private void declararGanador() {
-        System.out.println("\n====================================");
-        System.out.println("         RESULTADO DE LA MANO        ");
-        System.out.println("====================================");
-
-        int puntosJugador = participante.puntajeTotal();
-        int puntosDealer = repartidor.puntajeTotal();
-
-        System.out.println(participante.getNombre() + ": " + puntosJugador + " puntos");
-        System.out.println("Dealer: " + puntosDealer + " puntos");
-
-        if (participante.seExcedio()) {
-            System.out.println("\nEl Dealer ha ganado " + participante.getNombre() + " excedió los 21 puntos.");
-            repartidor.sumarVictoria();
-        } else if (repartidor.seExcedio()) {
-            System.out.println("\n¡" + participante.getNombre() + " ha ganado! El Dealer excedió 21 puntos.");
-            participante.sumarVictoria();
-        } else if (puntosJugador > puntosDealer) {
-            System.out.println("\n¡" + participante.getNombre() + " gana por un puntaje mayor!");
-            participante.sumarVictoria();
-        } else if (puntosDealer > puntosJugador) {
-            System.out.println("\nEl Dealer gana por un puntaje mayor!");
-            repartidor.sumarVictoria();
-        } else {
-            System.out.println("\nHa habido un empate.");
+            pregunta = "Escribe un número entre 1 y " + MesaBlackjack.MAXIMO_ASIENTOS + ": ";
         }
     }
 
@@ -251,10 +187,9 @@ public class JuegoBlackjack {
      * Imprime el estado actual del juego: cartas y puntajes visibles.
      */
     private void mostrarEstadoActual() {
-        System.out.println("\n--- Estado Actual ---");
-        System.out.println(participante);
-        System.out.println(repartidor);
-        System.out.println("Cartas restantes en el mazo: " + mazo.totalCartas());
+        if (receptor.activo()) {
+            mostrar("\n--- Estado Actual ---\n" + mesa);
+        }
     }
 
     /**
@@ -262,33 +197,89 @@ public class JuegoBlackjack {
      * control.
      */
     private void solicitarNuevaMano() {
-        System.out.print("\n¿Quieres jugar otra mano? (s/n): ");
-        String respuesta = entradaUsuario.nextLine().trim().toLowerCase();
+        String respuesta = entradaUsuario.leerLinea("\n¿Quieren jugar otra mano? (s/n): ");
 
-        while (!respuesta.equals("s") && !respuesta.equals("n")) {
-            System.out.print("Por favor, escribe 's' para sí o 'n' para no: ");
-            respuesta = entradaUsuario.nextLine().trim().toLowerCase();
+        while (respuesta != null && !respuesta.trim().equalsIgnoreCase("s")
+                && !respuesta.trim().equalsIgnoreCase("n")) {
+            respuesta = entradaUsuario.leerLinea("Por favor, escribe 's' para sí o 'n' para no: ");
         }
 
-        partidaActiva = respuesta.equals("s");
+        // Si el canal se cerró, la partida termina
+        partidaActiva = respuesta != null && respuesta.trim().equalsIgnoreCase("s");
     }
 
     /**
      * Presenta el resumen final con las partidas ganadas de cada participante.
      */
     private void mostrarResumenFinal() {
-        System.out.println("\n====================================");
-        System.out.println("        ESTADÍSTICAS FINALES       ");
-        System.out.println("====================================");
-        System.out.println(participante.getNombre() + ": " + participante.getVictorias() + " victorias");
-        System.out.println("Dealer: " + repartidor.getVictorias() + " victorias");
+        if (!receptor.activo()) {
+            return;
+        }
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n====================================\n");
+        sb.append("        ESTADÍSTICAS FINALES       \n");
+        sb.append("====================================\n");
+
+        Jugador mejor = null;
+        boolean empateEntreJugadores = false;
+        for (int i = 0; i < mesa.getCantidadAsientos(); i++) {
+            Jugador jugador = mesa.getAsiento(i).getJugador();
+            sb.append(jugador.getNombre()).append(": ").append(jugador.getVictorias()).append(" victorias\n");
+            if (mejor == null || jugador.getVictorias() > mejor.getVictorias()) {
+                mejor = jugador;
+                empateEntreJugadores = false;
+            } else if (jugador.getVictorias() == mejor.getVictorias()) {
+                empateEntreJugadores = true;
+            }
+        }
+        sb.append("Dealer: ").append(repartidor.getVictorias()).append(" victorias\n");
 
-        if (participante.getVictorias() > repartidor.getVictorias()) {
-            System.out.println("\n¡" + participante.getNombre() + " es el campeón universal!");
-        } else if (repartidor.getVictorias() > participante.getVictorias()) {
-            System.out.println("\nEl Dealer es el campeón!");
+        if (mejor.getVictorias() > repartidor.getVictorias() && !empateEntreJugadores) {
+            sb.append("\n¡").append(mejor.getNombre()).append(" es el campeón universal!");
+        } else if (repartidor.getVictorias() > mejor.getVictorias()) {
+            sb.append("\nEl Dealer es el campeón!");
         } else {
-            System.out.println("\nEmpate general. Todos son ganadores!");
+            sb.append("\nEmpate general. Todos son ganadores!");
+        }
+        mostrar(sb.toString());
+    }
+
+    /**
+     * Lee una respuesta del canal de entrada.
+     *
+     * @param pregunta Texto que se le muestra al jugador.
+     * @return Respuesta sin espacios al inicio y al final, o una cadena vacía
+     *         si el canal se cerró.
+     */
+    private String leer(String pregunta) {
+        String respuesta = entradaUsuario.leerLinea(pregunta);
+        return (respuesta != null) ? respuesta.trim() : "";
+    }
+
+    /**
+     * Publica un mensaje de texto en el receptor de eventos, si está activo.
+     * Quien arma el texto concatenando debe consultar antes
+     * {@code receptor.activo()}.
+     *
+     * @param texto Texto a mostrar.
+     */
+    private void mostrar(String texto) {
+        if (receptor.activo()) {
+            receptor.publicar(EventoJuego.mensaje(texto));
+        }
+    }
+
+    /**
+     * Arma el listado de cartas de una mano, una por línea.
+     *
+     * @param jugador Jugador cuyas cartas se listan.
+     * @return Texto con una línea por carta.
+     */
+    private static String listarCartas(Jugador jugador) {
+        StringBuilder sb = new StringBuilder();
+        for (Carta carta : jugador.getCartas()) {
+            sb.append("- ").append(carta).append('\n');
         }
+        return sb.toString();
     }
 }
@@ -0,0 +1,528 @@
+package juego;
+
+import componentes.TablaHash;
+import eventos.EventoJuego;
+import eventos.ReceptorEventos;
+import eventos.ReceptorNulo;
+import logica.Carta;
+import logica.Dealer;
+import logica.EstrategiaJugador;
+import logica.Jugador;
+import logica.MazoCartas;
+import logica.ReglasBlackjack;
+import logica.ResultadoMano;
+import persistencia.DiarioJugadas;
+import persistencia.EscritorArchivo;
+import persistencia.ManoArchivada;
+
+/**
+ * Mesa de Blackjack con varios asientos frente a un único Dealer.
+ * Las cartas se reparten en rondas de un solo mazo o zapato, una por asiento
+ * y luego una al Dealer. Los turnos siguen el orden FIFO del
+ * {@link AdministradorTurnos}. El Dealer juega una sola vez por ronda y todos
+ * los asientos se resuelven contra esa misma mano.
+ *
+ * La ronda se puede jugar paso a paso ({@link #iniciarRonda()},
+ * {@link #asientoEnTurno()}, {@link #aplicarDecision(boolean)}) cuando las
+ * decisiones vienen de afuera, o completa con {@link #jugarRonda()} cuando
+ * cada asiento tiene una {@link EstrategiaJugador}.
+ *
+ * Opcionalmente, cada mano terminada se agrega a un {@link DiarioJugadas} o
+ * a un archivo de sesiones comprimido ({@link EscritorArchivo}).
+ *
+ * Una mesa no es segura para uso concurrente.
+ */
+public class MesaBlackjack {
+
+    /** Cantidad máxima de asientos por mesa. */
+    public static final int MAXIMO_ASIENTOS = 7;
+
+    /**
+     * Asiento de la mesa: un jugador y, opcionalmente, la estrategia que
+     * decide por él.
+     */
+    public static class Asiento {
+        private final int numero;
+        private final Jugador jugador;
+        private final EstrategiaJugador estrategia;
+        private ResultadoMano resultado;
+
+        private Asiento(int numero, Jugador jugador, EstrategiaJugador estrategia) {
+            this.numero = numero;
+            this.jugador = jugador;
+            this.estrategia = estrategia;
+        }
+
+        public int getNumero() {
+            return numero;
+        }
+
+        public Jugador getJugador() {
+            return jugador;
+        }
+
+        public EstrategiaJugador getEstrategia() {
+            return estrategia;
+        }
+
+        /**
+         * Resultado de la última ronda, o null si aún no se resolvió.
+         */
+        public ResultadoMano getResultado() {
+            return resultado;
+        }
+    }
+
+    private final MazoCartas mazo;
+    private final Dealer dealer;
+    private final Asiento[] asientos;
+    private int cantidadAsientos;
+    private final TablaHash<String, Asiento> asientosPorNombre;
+    private final AdministradorTurnos turnos;
+    private ReceptorEventos receptor;
+    private boolean rondaEnCurso;
+    // Diario donde se guardan las manos terminadas, o null
+    private DiarioJugadas diario;
+    private long sesionDiario;
+    // Archivo comprimido de manos terminadas, o null
+    private EscritorArchivo archivo;
+    private long sesionArchivo;
+    private ManoArchivada manoArchivada;
+    // Cantidad de rondas repartidas; numera las manos en el diario
+    private int numeroMano;
+
+    /**
+     * Crea una mesa que reparte del mazo indicado con un Dealer que se planta
+     * con 17.
+     *
+     * @param mazo Mazo o zapato del que se reparte; pasa a ser propiedad de la
+     *             mesa.
+     */
+    public MesaBlackjack(MazoCartas mazo) {
+        this(mazo, new Dealer());
+    }
+
+    /**
+     * Crea una mesa con el mazo y el Dealer indicados.
+     *
+     * @param mazo   Mazo o zapato del que se reparte.
+     * @param dealer Dealer de la mesa, con sus reglas.
+     */
+    public MesaBlackjack(MazoCartas mazo, Dealer dealer) {
+        this.mazo = mazo;
+        this.dealer = dealer;
+        this.asientos = new Asiento[MAXIMO_ASIENTOS];
+        this.cantidadAsientos = 0;
+        this.asientosPorNombre = new TablaHash<>();
+        this.turnos = new AdministradorTurnos();
+        this.receptor = ReceptorNulo.INSTANCIA;
+        this.rondaEnCurso = false;
+    }
+
+    /**
+     * Sienta a un jugador en el siguiente asiento libre.
+     *
+     * @param jugador    Jugador que ocupa el asiento.
+     * @param estrategia Estrategia que decide por el jugador, o null si las
+     *                   decisiones se entregan con {@link #aplicarDecision(boolean)}.
+     * @return Número de asiento asignado, desde 0.
+     * @throws IllegalArgumentException si la mesa está llena o el nombre ya
+     *                                  está sentado.
+     * @throws IllegalStateException    si hay una ronda en curso.
+     */
+    public int sentarJugador(Jugador jugador, EstrategiaJugador estrategia) {
+        if (rondaEnCurso) {
+            throw new IllegalStateException("No se puede sentar a un jugador durante una ronda");
+        }
+        if (cantidadAsientos == MAXIMO_ASIENTOS) {
+            throw new IllegalArgumentException("La mesa ya tiene " + MAXIMO_ASIENTOS + " jugadores");
+        }
+        if (asientosPorNombre.contieneClave(jugador.getNombre())) {
+            throw new IllegalArgumentException("Ya hay un jugador llamado " + jugador.getNombre());
+        }
+
+        Asiento asiento = new Asiento(cantidadAsientos, jugador, estrategia);
+        asientos[cantidadAsientos++] = asiento;
+        asientosPorNombre.insertar(jugador.getNombre(), asiento);
+        return asiento.numero;
+    }
+
+    /**
+     * Define el receptor de los eventos de la mesa y de su Dealer.
+     *
+     * @param receptor Receptor de eventos; null para no publicar nada.
+     */
+    public void setReceptorEventos(ReceptorEventos receptor) {
+        this.receptor = (receptor != null) ? receptor : ReceptorNulo.INSTANCIA;
+        dealer.setReceptorEventos(this.receptor);
+    }
+
+    /**
+     * Define el diario donde se guarda cada mano al terminar: las cartas de
+     * cada asiento y del Dealer, y el resultado de cada asiento. Los asientos
+     * se guardan desde 1; el Dealer es {@link DiarioJugadas#ASIENTO_DEALER}.
+     *
+     * @param diario Diario de jugadas; null para no guardar nada.
+     * @param sesion Identificador de sesión con el que se guardan las manos.
+     */
+    public void setDiario(DiarioJugadas diario, long sesion) {
+        this.diario = diario;
+        this.sesionDiario = sesion;
+    }
+
+    /**
+     * Define el archivo de sesiones donde se agrega cada mano al terminar,
+     * con el nombre del jugador de cada asiento. Los asientos se numeran
+     * igual que en el diario.
+     *
+     * @param archivo Archivo de sesiones; null para no archivar nada.
+     * @param sesion  Identificador de sesión con el que se archivan las manos.
+     */
+    public void setArchivo(EscritorArchivo archivo, long sesion) {
+        this.archivo = archivo;
+        this.sesionArchivo = sesion;
+        if (archivo != null && manoArchivada == null) {
+            manoArchivada = new ManoArchivada();
+        }
+    }
+
+    /**
+     * Reparte una nueva ronda: dos cartas por asiento y dos al Dealer, en
+     * rondas alternadas. Los asientos con Blackjack inicial, o todos si el
+     * Dealer tiene Blackjack, quedan resueltos sin turno.
+     *
+     * @return true si hay asientos esperando decisión, false si la ronda ya
+     *         quedó resuelta.
+     * @throws IllegalStateException si no hay jugadores o la ronda anterior no
+     *                               terminó.
+     */
+    public boolean iniciarRonda() {
+        if (cantidadAsientos == 0) {
+            throw new IllegalStateException("No hay jugadores sentados en la mesa");
+        }
+        if (rondaEnCurso) {
+            throw new IllegalStateException("La ronda anterior aún no terminó");
+        }
+
+        mazo.prepararRonda();
+        // El reparto inicial necesita dos cartas por asiento más las del Dealer
+        if (mazo.totalCartas() < 2 * (cantidadAsientos + 1)) {
+            mazo.reiniciar();
+        }
+
+        numeroMano++;
+        dealer.reiniciarMano();
+        for (int i = 0; i < cantidadAsientos; i++) {
+            asientos[i].jugador.reiniciarMano();
+            asientos[i].resultado = null;
+        }
+
+        for (int ronda = 0; ronda < 2; ronda++) {
+            for (int i = 0; i < cantidadAsientos; i++) {
+                asientos[i].jugador.añadirCarta(mazo.extraerCarta());
+            }
+            dealer.añadirCarta(mazo.extraerCarta());
+        }
+
+        rondaEnCurso = true;
+        turnos.reiniciarFilaJugadores();
+        for (int i = 0; i < cantidadAsientos; i++) {
+            Asiento asiento = asientos[i];
+            asiento.resultado = ReglasBlackjack.evaluarBlackjackInicial(asiento.jugador, dealer);
+            if (asiento.resultado == null) {
+                turnos.encolarJugador(asiento.jugador);
+            } else {
+                anunciarResultado(asiento);
+            }
+        }
+
+        if (turnos.sinTurnosPendientes()) {
+            finalizarRonda();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Devuelve el asiento que debe decidir ahora.
+     *
+     * @return Asiento en turno, o null si no hay ronda en curso.
+     */
+    public Asiento asientoEnTurno() {
+        Jugador actual = turnos.obtenerJugadorActual();
+        if (actual == null) {
+            return null;
+        }
+        for (int i = 0; i < cantidadAsientos; i++) {
+            if (asientos[i].jugador == actual) {
+                return asientos[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Aplica la decisión del asiento en turno. El turno pasa al siguiente
+     * asiento cuando el jugador se planta, se pasa de 21, llega a 21 o se
+     * acaban las cartas. Tras el último asiento juega el Dealer y se resuelve
+     * la ronda.
+     *
+     * @param pedir true para pedir carta, false para plantarse.
+     * @throws IllegalStateException si no hay ningún asiento en turno.
+     */
+    public void aplicarDecision(boolean pedir) {
+        Jugador jugador = turnos.obtenerJugadorActual();
+        if (jugador == null) {
+            throw new IllegalStateException("No hay ningún jugador en turno");
+        }
+
+        if (pedir && !mazo.sinCartas()) {
+            Carta carta = mazo.extraerCarta();
+            jugador.añadirCarta(carta);
+            if (receptor.activo()) {
+                receptor.publicar(EventoJuego.cartaRepartida(jugador.getNombre(), carta, jugador.puntajeTotal()));
+            }
+            if (jugador.seExcedio()) {
+                if (receptor.activo()) {
+                    receptor.publicar(EventoJuego.exceso(jugador.getNombre(), jugador.puntajeTotal()));
+                }
+                avanzarTurno();
+            } else if (jugador.puntajeTotal() == 21) {
+                plantar(jugador);
+            }
+        } else {
+            plantar(jugador);
+        }
+    }
+
+    /**
+     * Juega los turnos pendientes consultando la estrategia de cada asiento.
+     *
+     * @throws IllegalStateException si un asiento en turno no tiene estrategia.
+     */
+    public void jugarTurnos() {
+        Carta cartaVisible = getCartaVisibleDealer();
+        Asiento asiento;
+        while ((asiento = asientoEnTurno()) != null) {
+            if (asiento.estrategia == null) {
+                throw new IllegalStateException("El asiento de " + asiento.jugador.getNombre()
+                        + " no tiene estrategia");
+            }
+            aplicarDecision(asiento.estrategia.pedirCarta(asiento.jugador, cartaVisible));
+        }
+    }
+
+    /**
+     * Juega una ronda completa: reparto, turnos de cada asiento, turno del
+     * Dealer y resolución. Los resultados quedan en cada asiento.
+     *
+     * @return Cantidad de asientos resueltos en la ronda.
+     */
+    public int jugarRonda() {
+        if (iniciarRonda()) {
+            jugarTurnos();
+        }
+        return cantidadAsientos;
+    }
+
+    private void plantar(Jugador jugador) {
+        jugador.plantado();
+        if (receptor.activo()) {
+            receptor.publicar(EventoJuego.plantado(jugador.getNombre(), jugador.puntajeTotal()));
+        }
+        avanzarTurno();
+    }
+
+    private void avanzarTurno() {
+        turnos.avanzarTurno();
+        if (turnos.sinTurnosPendientes()) {
+            finalizarRonda();
+        }
+    }
+
+    /**
+     * Turno del Dealer, solo si queda algún asiento sin resolver que no se haya
+     * pasado, y resolución de todos los asientos contra su mano.
+     */
+    private void finalizarRonda() {
+        boolean dealerDebeJugar = false;
+        for (int i = 0; i < cantidadAsientos; i++) {
+            if (asientos[i].resultado == null && !asientos[i].jugador.seExcedio()) {
+                dealerDebeJugar = true;
+                break;
+            }
+        }
+        if (dealerDebeJugar) {
+            dealer.ejecutarTurno(mazo);
+        }
+
+        if (receptor.activo()) {
+            receptor.publicar(EventoJuego.mensaje(resumenPuntajes()));
+        }
+        for (int i = 0; i < cantidadAsientos; i++) {
+            Asiento asiento = asientos[i];
+            if (asiento.resultado == null) {
+                asiento.resultado = ReglasBlackjack.resolverMano(asiento.jugador, dealer);
+                anunciarResultado(asiento);
+            }
+        }
+        if (diario != null) {
+            guardarMano();
+        }
+        if (archivo != null) {
+            archivarMano();
+        }
+        rondaEnCurso = false;
+    }
+
+    // Agrega al diario las cartas de cada participante y los resultados
+    private void guardarMano() {
+        for (int i = 0; i < cantidadAsientos; i++) {
+            Asiento asiento = asientos[i];
+            guardarCartas(asiento.numero + 1, asiento.jugador);
+            diario.registrarResultado(sesionDiario, numeroMano, asiento.numero + 1, asiento.resultado,
+                    asiento.jugador.puntajeTotal());
+        }
+        guardarCartas(DiarioJugadas.ASIENTO_DEALER, dealer);
+    }
+
+    // Copia la mano terminada a la instancia reutilizable y la archiva
+    private void archivarMano() {
+        manoArchivada.reiniciar(sesionArchivo, numeroMano);
+        for (int i = 0; i < cantidadAsientos; i++) {
+            Asiento asiento = asientos[i];
+            manoArchivada.definirNombre(asiento.numero + 1, asiento.jugador.getNombre());
+            for (Carta carta : asiento.jugador.getCartas()) {
+                manoArchivada.agregarCarta(asiento.numero + 1, carta);
+            }
+            manoArchivada.definirResultado(asiento.numero + 1, asiento.resultado);
+        }
+        for (Carta carta : dealer.getCartas()) {
+            manoArchivada.agregarCarta(DiarioJugadas.ASIENTO_DEALER, carta);
+        }
+        archivo.agregarMano(manoArchivada);
+    }
+
+    // Guarda las cartas de una mano con el puntaje acumulado tras cada una
+    private void guardarCartas(int numeroAsiento, Jugador jugador) {
+        int totalDuro = 0;
+        boolean tieneAs = false;
+        for (Carta carta : jugador.getCartas()) {
+            totalDuro += carta.obtenerValorJuego();
+            tieneAs |= carta.esAs();
+            int puntaje = (tieneAs && totalDuro + 10 <= 21) ? totalDuro + 10 : totalDuro;
+            diario.registrarCarta(sesionDiario, numeroMano, numeroAsiento, carta, puntaje);
+        }
+    }
+
+    private String resumenPuntajes() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("\n====================================\n");
+        sb.append("         RESULTADO DE LA MANO        \n");
+        sb.append("====================================");
+        for (int i = 0; i < cantidadAsientos; i++) {
+            Jugador jugador = asientos[i].jugador;
+            sb.append('\n').append(jugador.getNombre()).append(": ").append(jugador.puntajeTotal()).append(" puntos");
+        }
+        sb.append('\n').append(dealer.getNombre()).append(": ").append(dealer.puntajeTotal()).append(" puntos");
+        return sb.toString();
+    }
+
+    // Suma la victoria al ganador y publica el resultado del asiento
+    private void anunciarResultado(Asiento asiento) {
+        ResultadoMano resultado = asiento.resultado;
+        if (resultado == ResultadoMano.VICTORIA || resultado == ResultadoMano.BLACKJACK) {
+            asiento.jugador.sumarVictoria();
+        } else if (resultado == ResultadoMano.DERROTA) {
+            dealer.sumarVictoria();
+        }
+
+        if (receptor.activo()) {
+            receptor.publicar(EventoJuego.resultado(asiento.jugador.getNombre(), resultado,
+                    describirResultado(asiento.jugador, resultado)));
+        }
+    }
+
+    private String describirResultado(Jugador jugador, ResultadoMano resultado) {
+        String nombre = jugador.getNombre();
+        switch (resultado) {
+            case BLACKJACK:
+                return "¡" + nombre + " gana con un estupendo Blackjack!";
+            case VICTORIA:
+                return dealer.seExcedio()
+                        ? "¡" + nombre + " ha ganado! El Dealer excedió 21 puntos."
+                        : "¡" + nombre + " gana por un puntaje mayor!";
+            case DERROTA:
+                if (jugador.seExcedio()) {
+                    return "El Dealer ha ganado, " + nombre + " excedió los 21 puntos.";
+                }
+                return dealer.tieneBlackjack()
+                        ? "El Dealer gana con un maravilloso Blackjack contra " + nombre + "!"
+                        : "El Dealer gana por un puntaje mayor contra " + nombre + "!";
+            default:
+                return jugador.tieneBlackjack()
+                        ? "Empate, " + nombre + " y el Dealer tienen Blackjack."
+                        : "Empate entre " + nombre + " y el Dealer.";
+        }
+    }
+
+    /**
+     * Devuelve la carta descubierta del Dealer en la ronda actual.
+     *
+     * @return Primera carta del Dealer, o null si aún no se repartió.
+     */
+    public Carta getCartaVisibleDealer() {
+        return dealer.getCartas().obtenerTamaño() > 0 ? dealer.getCartas().obtenerElemento(0) : null;
+    }
+
+    /**
+     * Busca el asiento de un jugador por su nombre.
+     *
+     * @param nombre Nombre del jugador.
+     * @return Asiento del jugador, o null si no está sentado.
+     */
+    public Asiento obtenerAsiento(String nombre) {
+        return asientosPorNombre.obtener(nombre);
+    }
+
+    /**
+     * Devuelve el asiento con el número indicado.
+     *
+     * @param numero Número de asiento, desde 0.
+     * @return Asiento correspondiente.
+     * @throws IndexOutOfBoundsException si el número no corresponde a un asiento ocupado.
+     */
+    public Asiento getAsiento(int numero) {
+        if (numero < 0 || numero >= cantidadAsientos) {
+            throw new IndexOutOfBoundsException("Asiento inválido: " + numero);
+        }
+        return asientos[numero];
+    }
+
+    public int getCantidadAsientos() {
+        return cantidadAsientos;
+    }
+
+    public Dealer getDealer() {
+        return dealer;
+    }
+
+    public MazoCartas getMazo() {
+        return mazo;
+    }
+
+    public boolean isRondaEnCurso() {
+        return rondaEnCurso;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < cantidadAsientos; i++) {
+            sb.append(asientos[i].jugador).append('\n');
+        }
+        sb.append(dealer.descripcion(!rondaEnCurso)).append('\n');
+        sb.append("Cartas restantes en el mazo: ").append(mazo.totalCartas());
+        return sb.toString();
+    }
+}
@@ -0,0 +1,144 @@
+package juego;
+
+import componentes.TablaHashConcurrente;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registro concurrente de las sesiones de juego activas de un servidor.
+ *
+ * Las sesiones se guardan en una {@link TablaHashConcurrente} por su
+ * identificador: buscar una sesión no toma ningún bloqueo, y registrar o
+ * finalizar solo bloquea el segmento de la clave, así que hilos que atienden
+ * mesas distintas casi nunca compiten. Los identificadores nuevos salen del
+ * contador atómico de {@link SesionJuego}, también sin bloqueos.
+ *
+ * Finalizar una sesión la quita de la tabla, así que la memoria del registro
+ * depende de cuántas sesiones llegaron a estar activas a la vez y no de
+ * cuántas se crearon.
+ */
+public class RegistroSesiones {
+
+    private final TablaHashConcurrente<Long, SesionJuego> sesiones;
+    private final int particiones;
+    private final LongAdder registradas;
+    private final LongAdder finalizadas;
+
+    /**
+     * Crea un registro con cuatro particiones por núcleo disponible.
+     */
+    public RegistroSesiones() {
+        this(4 * Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Crea un registro con al menos la cantidad de particiones indicada; se
+     * redondea a la siguiente potencia de dos. Cada partición es un segmento
+     * de la tabla con su propio bloqueo de escritura.
+     *
+     * @param particiones Cantidad mínima de particiones.
+     * @throws IllegalArgumentException si la cantidad no es positiva.
+     */
+    public RegistroSesiones(int particiones) {
+        if (particiones < 1) {
+            throw new IllegalArgumentException("Se necesita al menos una partición");
+        }
+        int cantidad = Integer.highestOneBit(particiones);
+        if (cantidad < particiones) {
+            cantidad <<= 1;
+        }
+        this.sesiones = new TablaHashConcurrente<>(cantidad);
+        this.particiones = cantidad;
+        this.registradas = new LongAdder();
+        this.finalizadas = new LongAdder();
+    }
+
+    /**
+     * Crea una sesión nueva con un identificador único y la registra como
+     * activa.
+     *
+     * @return La sesión creada.
+     */
+    public SesionJuego crearSesion() {
+        SesionJuego sesion = new SesionJuego();
+        registrar(sesion);
+        return sesion;
+    }
+
+    /**
+     * Registra como activa una sesión ya creada.
+     *
+     * @param sesion Sesión a registrar.
+     * @throws IllegalArgumentException si ya hay una sesión activa con el
+     *                                  mismo identificador.
+     */
+    public void registrar(SesionJuego sesion) {
+        long identificador = sesion.getIdentificador();
+        if (sesiones.insertarSiAusente(identificador, sesion) != null) {
+            throw new IllegalArgumentException("Ya hay una sesión activa con el identificador " + identificador);
+        }
+        registradas.increment();
+    }
+
+    /**
+     * Busca una sesión activa por su identificador, sin bloquear.
+     *
+     * @param identificador Identificador de la sesión.
+     * @return La sesión, o null si no está activa.
+     */
+    public SesionJuego obtener(long identificador) {
+        return sesiones.obtener(identificador);
+    }
+
+    /**
+     * Quita una sesión terminada del registro.
+     *
+     * @param identificador Identificador de la sesión.
+     * @return La sesión quitada, o null si no estaba activa.
+     */
+    public SesionJuego finalizar(long identificador) {
+        SesionJuego sesion = sesiones.eliminar(identificador);
+        if (sesion != null) {
+            finalizadas.increment();
+        }
+        return sesion;
+    }
+
+    /**
+     * Cantidad de sesiones activas. Con otros hilos registrando o finalizando
+     * sesiones, el total es aproximado.
+     *
+     * @return Sesiones registradas y aún no finalizadas.
+     */
+    public int getCantidadActivas() {
+        return sesiones.tamaño();
+    }
+
+    /**
+     * Cantidad de sesiones registradas desde que se creó el registro.
+     *
+     * @return Total de sesiones registradas.
+     */
+    public long getCantidadRegistradas() {
+        return registradas.sum();
+    }
+
+    /**
+     * Cantidad de sesiones finalizadas desde que se creó el registro.
+     *
+     * @return Total de sesiones finalizadas.
+     */
+    public long getCantidadFinalizadas() {
+        return finalizadas.sum();
+    }
+
+    public int getCantidadParticiones() {
+        return particiones;
+    }
+
+    @Override
+    public String toString() {
+        return "RegistroSesiones[particiones=" + particiones + ", activas=" + getCantidadActivas()
+                + ", registradas=" + getCantidadRegistradas() + ", finalizadas=" + getCantidadFinalizadas() + "]";
+    }
+}
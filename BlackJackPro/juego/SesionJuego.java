@@ -1,20 +1,51 @@
 package juego;
 
 import componentes.Pila;
+import eventos.EventoJuego;
+import eventos.ReceptorEventos;
+import eventos.ReceptorNulo;
 import logica.Carta;
+import logica.Dealer;
 import logica.Jugador;
+import logica.ReglasBlackjack;
+import logica.ResultadoMano;
+import persistencia.DiarioJugadas;
+
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Representa una sesión de juego de Blackjack.
  * Gestiona las cartas jugadas, el resultado y el jugador vencedor.
+ *
+ * Las jugadas se guardan en memoria, o, si se define un
+ * {@link DiarioJugadas}, como registros binarios en el diario, sin ocupar
+ * memoria por jugada.
+ *
+ * Los identificadores salen de un contador atómico compartido, así que son
+ * únicos aunque se creen sesiones desde varios hilos. Para seguir las
+ * sesiones activas de un servidor se usa un {@link RegistroSesiones}.
  */
 public class SesionJuego {
 
-    private int identificador;
+    // Último identificador entregado
+    private static final AtomicLong SECUENCIA = new AtomicLong();
+
+    private final long identificador;
     private Jugador jugadorVencedor;
     private Pila<RegistroJugada> registroJugadas;
     private String estadoFinal;
-    private static int totalSesiones = 0;
+    // Destino de los eventos de cada jugada
+    private ReceptorEventos receptor = ReceptorNulo.INSTANCIA;
+    // Diario de las jugadas, o null para guardarlas en memoria
+    private DiarioJugadas diario;
+    // Sesión reservada en el diario, única entre todas sus ejecuciones
+    private long sesionDiario;
+    // Número de la mano en curso; avanza con cada ganador definido
+    private int manoActual = 1;
+    // Participantes y jugadas guardados en el diario, que no quedan en la pila
+    private Jugador jugadorDiario;
+    private Dealer dealerDiario;
+    private int jugadasDiario;
 
     /**
      * Representa una jugada individual con la carta jugada,
@@ -41,7 +72,7 @@ public class SesionJuego {
      * Crea una nueva sesión de juego con un identificador único.
      */
     public SesionJuego() {
-        this.identificador = ++totalSesiones;
+        this.identificador = SECUENCIA.incrementAndGet();
         this.registroJugadas = new Pila<>();
         this.jugadorVencedor = null;
         this.estadoFinal = "En curso";
@@ -50,20 +81,66 @@ public class SesionJuego {
     /**
      * Retorna el identificador único de esta sesión.
      */
-    public int getIdentificador() {
+    public long getIdentificador() {
         return identificador;
     }
 
+    /**
+     * Define el receptor donde se publica cada jugada registrada.
+     *
+     * @param receptor Receptor de eventos; null para no publicar nada.
+     */
+    public void setReceptorEventos(ReceptorEventos receptor) {
+        this.receptor = (receptor != null) ? receptor : ReceptorNulo.INSTANCIA;
+    }
+
+    /**
+     * Define el diario donde se guardan las jugadas en lugar de la memoria.
+     * El Dealer se guarda como {@link DiarioJugadas#ASIENTO_DEALER} y el
+     * jugador como el asiento 1, por lo que con diario la sesión admite un
+     * solo jugador. Cada {@link #definirGanador} guarda además el resultado
+     * de la mano del jugador. La sesión se guarda con un identificador
+     * reservado en el diario, porque el de la sesión vuelve a empezar en cada
+     * ejecución del programa.
+     *
+     * @param diario Diario de jugadas; null para volver a guardarlas en memoria.
+     */
+    public void setDiario(DiarioJugadas diario) {
+        this.diario = diario;
+        if (diario != null) {
+            this.sesionDiario = diario.reservarSesiones(1);
+        }
+    }
+
     /**
      * Registra una nueva jugada realizada por un jugador.
      *
      * @param carta   Carta que se jugó.
      * @param jugador Jugador que realizó la jugada.
+     * @throws IllegalArgumentException si hay diario y la jugada es de un
+     *                                  segundo jugador.
      */
     public void agregarJugada(Carta carta, Jugador jugador) {
-        RegistroJugada jugada = new RegistroJugada(carta, jugador.getNombre(), jugador.puntajeTotal());
-        registroJugadas.push(jugada);
-        System.out.println(jugada.toString());
+        if (diario != null) {
+            int asiento;
+            if (jugador instanceof Dealer) {
+                asiento = DiarioJugadas.ASIENTO_DEALER;
+                dealerDiario = (Dealer) jugador;
+            } else {
+                if (jugadorDiario != null && jugadorDiario != jugador) {
+                    throw new IllegalArgumentException("Con diario la sesión admite un solo jugador");
+                }
+                asiento = 1;
+                jugadorDiario = jugador;
+            }
+            diario.registrarCarta(sesionDiario, manoActual, asiento, carta, jugador.puntajeTotal());
+            jugadasDiario++;
+        } else {
+            registroJugadas.push(new RegistroJugada(carta, jugador.getNombre(), jugador.puntajeTotal()));
+        }
+        if (receptor.activo()) {
+            receptor.publicar(EventoJuego.cartaRepartida(jugador.getNombre(), carta, jugador.puntajeTotal()));
+        }
     }
 
     /**
@@ -81,6 +158,24 @@ public class SesionJuego {
         if (ganador != null) {
             ganador.sumarVictoria();
         }
+        if (diario != null && jugadorDiario != null) {
+            diario.registrarResultado(sesionDiario, manoActual, 1, resultadoDelJugador(ganador),
+                    jugadorDiario.puntajeTotal());
+        }
+        manoActual++;
+    }
+
+    // Resultado del jugador según las reglas, como lo comprueba el verificador
+    // del diario; sin cartas del Dealer solo queda lo que dice el ganador
+    private ResultadoMano resultadoDelJugador(Jugador ganador) {
+        if (dealerDiario != null) {
+            ResultadoMano resultado = ReglasBlackjack.evaluarBlackjackInicial(jugadorDiario, dealerDiario);
+            return (resultado != null) ? resultado : ReglasBlackjack.resolverMano(jugadorDiario, dealerDiario);
+        }
+        if (ganador == null) {
+            return ResultadoMano.EMPATE;
+        }
+        return (ganador == jugadorDiario) ? ResultadoMano.VICTORIA : ResultadoMano.DERROTA;
     }
 
     /**
@@ -110,7 +205,7 @@ public class SesionJuego {
     public String obtenerHistorialJugadas() {
         StringBuilder sb = new StringBuilder();
         sb.append("\n=== Registro de Jugadas ===\n");
-        sb.append(registroJugadas.inverso());
+        registroJugadas.inverso(sb);
         sb.append("\n=== Fin del Registro ===\n");
         return sb.toString();
     }
@@ -125,7 +220,7 @@ public class SesionJuego {
         sb.append("       RESUMEN DE LA SESIÓN #").append(identificador).append("\n");
         sb.append("====================================\n");
         sb.append("Estado: ").append(estadoFinal).append("\n");
-        sb.append("Jugadas realizadas: ").append(registroJugadas.tamaño()).append("\n");
+        sb.append("Jugadas realizadas: ").append(registroJugadas.tamaño() + jugadasDiario).append("\n");
         if (jugadorVencedor != null) {
             sb.append("Ganador: ").append(jugadorVencedor.getNombre())
                     .append(" (").append(jugadorVencedor.getVictorias()).append(" victorias)\n");
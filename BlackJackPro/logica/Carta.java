@@ -3,8 +3,13 @@ package logica;
 /**
  * Representa una carta individual en un juego de cartas como Blackjack.
  * Cada carta tiene un símbolo (valor) y un palo (categoría).
+ *
+ * Las cartas son inmutables y existen 52 instancias canónicas compartidas
+ * (ver {@link #porOrdinal(int)}). El rango, el palo y el valor de juego se
+ * calculan una sola vez, así que puntuar una mano no compara ni convierte
+ * cadenas.
  */
-public class Carta {
+public final class Carta {
 
     // Constantes para los palos
     public static final String CORAZONES = "Corazones";
@@ -18,18 +23,86 @@ public class Carta {
     public static final String REINA = "Q";
     public static final String REY = "K";
 
+    /** Cantidad de cartas distintas de una baraja. */
+    public static final int TOTAL_CARTAS = 52;
+
+    private static final String[] PALOS = { CORAZONES, DIAMANTES, TREBOLES, PICAS };
+    private static final String[] SIMBOLOS = { AS, "2", "3", "4", "5", "6", "7", "8", "9", "10",
+            JOTA, REINA, REY };
+
+    // Instancias compartidas, ordenadas por palo y luego por rango
+    private static final Carta[] CANONICAS = new Carta[TOTAL_CARTAS];
+
+    static {
+        for (int palo = 0; palo < PALOS.length; palo++) {
+            for (int rango = 1; rango <= SIMBOLOS.length; rango++) {
+                Carta carta = new Carta(rango, palo);
+                CANONICAS[carta.ordinal] = carta;
+            }
+        }
+    }
+
     private final String simbolo;
     private final String categoria;
+    // Rango de 1 (As) a 13 (Rey)
+    private final byte rango;
+    // Índice del palo dentro de PALOS
+    private final byte palo;
+    // Valor de juego: As = 1, figuras = 10
+    private final byte valorJuego;
+    // Posición única de la carta entre 0 y 51
+    private final byte ordinal;
 
     /**
      * Crea una carta con un símbolo y un palo.
+     * Es preferible usar {@link #de(String, String)}, que devuelve la instancia
+     * compartida en lugar de crear una nueva.
      *
      * @param simbolo   Valor de la carta (A, 2-10, J, Q, K).
      * @param categoria Palo de la carta (Corazones, Diamantes, Tréboles, Picas).
+     * @throws IllegalArgumentException si el símbolo o el palo no existen.
      */
     public Carta(String simbolo, String categoria) {
-        this.simbolo = simbolo;
-        this.categoria = categoria;
+        this(indiceDe(SIMBOLOS, simbolo) + 1, indiceDe(PALOS, categoria));
+    }
+
+    private Carta(int rango, int palo) {
+        this.simbolo = SIMBOLOS[rango - 1];
+        this.categoria = PALOS[palo];
+        this.rango = (byte) rango;
+        this.palo = (byte) palo;
+        this.valorJuego = (byte) Math.min(rango, 10);
+        this.ordinal = (byte) (palo * SIMBOLOS.length + rango - 1);
+    }
+
+    private static int indiceDe(String[] opciones, String buscado) {
+        for (int i = 0; i < opciones.length; i++) {
+            if (opciones[i].equals(buscado)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Carta desconocida: " + buscado);
+    }
+
+    /**
+     * Devuelve la carta compartida con el ordinal dado.
+     *
+     * @param ordinal Posición de la carta entre 0 y 51.
+     * @return Instancia canónica de la carta.
+     */
+    public static Carta porOrdinal(int ordinal) {
+        return CANONICAS[ordinal];
+    }
+
+    /**
+     * Devuelve la carta compartida con el símbolo y el palo dados.
+     *
+     * @param simbolo   Valor de la carta (A, 2-10, J, Q, K).
+     * @param categoria Palo de la carta.
+     * @return Instancia canónica de la carta.
+     */
+    public static Carta de(String simbolo, String categoria) {
+        return CANONICAS[indiceDe(PALOS, categoria) * SIMBOLOS.length + indiceDe(SIMBOLOS, simbolo)];
     }
 
     /**
@@ -50,6 +123,43 @@ public class Carta {
         return categoria;
     }
 
+    /**
+     * Devuelve el rango de la carta: 1 para el As, 11 a 13 para las figuras.
+     *
+     * @return Rango de la carta.
+     */
+    public int obtenerRango() {
+        return rango;
+    }
+
+    /**
+     * Devuelve la posición del palo (0 Corazones, 1 Diamantes, 2 Tréboles,
+     * 3 Picas).
+     *
+     * @return Índice del palo.
+     */
+    public int obtenerIndicePalo() {
+        return palo;
+    }
+
+    /**
+     * Devuelve el identificador único de la carta entre 0 y 51.
+     *
+     * @return Ordinal de la carta.
+     */
+    public int obtenerOrdinal() {
+        return ordinal;
+    }
+
+    /**
+     * Devuelve la instancia compartida equivalente a esta carta.
+     *
+     * @return Carta canónica con el mismo símbolo y palo.
+     */
+    public Carta canonica() {
+        return CANONICAS[ordinal];
+    }
+
     /**
      * Obtiene el valor numérico de la carta de acuerdo a las reglas del Blackjack.
      * A = 1 (el valor 11 se trata externamente).
@@ -59,13 +169,7 @@ public class Carta {
      * @return Valor numérico de la carta.
      */
     public int obtenerValorJuego() {
-        if (simbolo.equals(AS)) {
-            return 1;
-        } else if (simbolo.equals(JOTA) || simbolo.equals(REINA) || simbolo.equals(REY)) {
-            return 10;
-        } else {
-            return Integer.parseInt(simbolo);
-        }
+        return valorJuego;
     }
 
     /**
@@ -74,7 +178,7 @@ public class Carta {
      * @return true si es As, false en otro caso.
      */
     public boolean esAs() {
-        return simbolo.equals(AS);
+        return rango == 1;
     }
 
     /**
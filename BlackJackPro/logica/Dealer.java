@@ -1,6 +1,9 @@
 package logica;
 
 import componentes.ArbolBinario;
+import eventos.EventoJuego;
+import eventos.ReceptorEventos;
+import eventos.ReceptorNulo;
 
 /**
  * Representa al repartidor (la casa) en el juego de Blackjack.
@@ -10,14 +13,40 @@ import componentes.ArbolBinario;
 public class Dealer extends Jugador {
 
     private static final int LIMITE_PARA_DETENERSE = 17;
-    private ArbolBinario<String> arbolEstrategia;
+    // Texto de la acción que significa tomar otra carta en las reglas
+    private static final String ACCION_PEDIR = "Pedir carta";
+
+    private final ArbolBinario<Boolean> arbolEstrategia;
+    // Destino de los eventos del turno; por defecto no se muestra nada
+    private ReceptorEventos receptor = ReceptorNulo.INSTANCIA;
 
     /**
-     * Crea una instancia del repartidor (Dealer).
+     * Crea una instancia del repartidor (Dealer) que se planta con 17.
      */
     public Dealer() {
+        this(ArbolBinario.REGLAS_PLANTA_17);
+    }
+
+    /**
+     * Crea un Dealer con las reglas de la mesa indicadas, por ejemplo
+     * {@link ArbolBinario#REGLAS_PIDE_SUAVE_17}.
+     *
+     * @param reglas Definición de reglas del árbol de estrategia.
+     */
+    public Dealer(String reglas) {
         super("Dealer");
-        this.arbolEstrategia = new ArbolBinario<>();
+        this.arbolEstrategia = compilarReglas(reglas);
+    }
+
+    /**
+     * Compila una definición de reglas en un árbol cuyas hojas indican si el
+     * Dealer pide carta (true) o se planta (false).
+     *
+     * @param reglas Definición de reglas del árbol de estrategia.
+     * @return Árbol de decisiones compilado.
+     */
+    public static ArbolBinario<Boolean> compilarReglas(String reglas) {
+        return ArbolBinario.desdeReglas(reglas, accion -> accion.equalsIgnoreCase(ACCION_PEDIR));
     }
 
     /**
@@ -27,39 +56,69 @@ public class Dealer extends Jugador {
      * @return true si debe tomar carta, false si debe detenerse.
      */
     public boolean necesitaOtraCarta() {
-        int puntosActuales = puntajeTotal();
-        ArbolBinario.NodoBinario<String> nodoDecision = arbolEstrategia.decidir(puntosActuales);
-        return nodoDecision != null && nodoDecision.getValor().equals("Pedir carta");
+        ArbolBinario.NodoBinario<Boolean> nodoDecision = arbolEstrategia.decidir(puntajeTotal(), esManoSuave());
+        if (nodoDecision != null && receptor.activo()) {
+            receptor.publicar(EventoJuego.decision(getNombre(), puntajeTotal(), nodoDecision.getDescripcion()));
+        }
+        return nodoDecision != null && nodoDecision.getValor();
+    }
+
+    /**
+     * Activa o desactiva que cada decisión del árbol se muestre por consola.
+     * Pensado para depurar reglas; durante el juego las decisiones se publican
+     * como eventos.
+     *
+     * @param traza true para mostrar las decisiones.
+     */
+    public void setTrazaDecisiones(boolean traza) {
+        arbolEstrategia.setTraza(traza);
+    }
+
+    /**
+     * Define el receptor de los eventos del turno del Dealer.
+     *
+     * @param receptor Receptor de eventos; null para no publicar nada.
+     */
+    public void setReceptorEventos(ReceptorEventos receptor) {
+        this.receptor = (receptor != null) ? receptor : ReceptorNulo.INSTANCIA;
     }
 
     /**
      * Ejecuta el turno automático del Dealer.
-     * El Dealer seguirá tomando cartas hasta alcanzar al menos 17 puntos.
+     * El Dealer seguirá tomando cartas hasta que su árbol de estrategia indique
+     * plantarse. Cada carta, decisión y resultado se publica en el receptor de
+     * eventos; con el receptor por defecto no se construye ningún evento.
      *
      * @param baraja Fuente de donde tomar nuevas cartas.
      */
     public void ejecutarTurno(MazoCartas baraja) {
-        System.out.println("\nTurno del Dealer:");
-        System.out.println("Cartas visibles: " + getCartas().obtenerElemento(0) + " y [Carta oculta]");
-
-        System.out.println("Revelando carta oculta: " + getCartas().obtenerElemento(1));
-        System.out.println("Puntaje inicial: " + puntajeTotal());
+        if (receptor.activo()) {
+            receptor.publicar(EventoJuego.mensaje("\nTurno del Dealer:"
+                    + "\nCartas visibles: " + getCartas().obtenerElemento(0) + " y [Carta oculta]"
+                    + "\nRevelando carta oculta: " + getCartas().obtenerElemento(1)
+                    + "\nPuntaje inicial: " + puntajeTotal()));
+        }
 
         while (necesitaOtraCarta() && !baraja.sinCartas()) {
             Carta cartaNueva = baraja.extraerCarta();
             añadirCarta(cartaNueva);
-            System.out.println("El Dealer recibe: " + cartaNueva);
-            System.out.println("Puntaje actual: " + puntajeTotal());
+            if (receptor.activo()) {
+                receptor.publicar(EventoJuego.cartaRepartida(getNombre(), cartaNueva, puntajeTotal()));
+            }
 
             if (seExcedio()) {
-                System.out.println("¡El Dealer se pasó de 21!");
+                if (receptor.activo()) {
+                    receptor.publicar(EventoJuego.exceso(getNombre(), puntajeTotal()));
+                }
                 break;
             }
         }
 
         if (!seExcedio()) {
             plantado();
-            System.out.println("El Dealer se planta con " + puntajeTotal() + " puntos.");
+            if (receptor.activo()) {
+                receptor.publicar(EventoJuego.plantado(getNombre(), puntajeTotal()));
+            }
         }
     }
 
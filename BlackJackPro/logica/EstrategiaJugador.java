@@ -0,0 +1,18 @@
+package logica;
+
+/**
+ * Decide las acciones de un jugador durante su turno sin depender de la
+ * consola. Permite que la partida sea conducida por un programa (simulación,
+ * bots, servidor) en lugar de por un usuario.
+ */
+public interface EstrategiaJugador {
+
+    /**
+     * Indica si el jugador debe pedir otra carta.
+     *
+     * @param jugador     Jugador en turno, con su mano actual.
+     * @param cartaDealer Carta visible del Dealer.
+     * @return true para pedir carta, false para plantarse.
+     */
+    boolean pedirCarta(Jugador jugador, Carta cartaDealer);
+}
@@ -0,0 +1,246 @@
+package logica;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Consumer;
+
+/**
+ * Historial de las últimas cartas recibidas por un jugador, con memoria fija.
+ *
+ * Las cartas se guardan como su ordinal (un byte) en un arreglo circular de
+ * capacidad fija: al llenarse, cada carta nueva pisa a la más vieja. Así el
+ * historial ocupa lo mismo tras diez manos que tras un millón.
+ *
+ * Opcionalmente, las cartas que salen del arreglo se agregan a un archivo de
+ * desborde, un byte por carta y sin borrar nunca, de modo que el historial
+ * completo queda en disco. Las escrituras se juntan en un búfer fijo; hay que
+ * llamar a {@link #cerrar()} para que lleguen las últimas.
+ *
+ * No es seguro para varios hilos, igual que el {@link Jugador} que lo usa.
+ */
+public class HistorialCartas {
+
+    /** Cantidad de cartas que guarda un jugador si no se indica otra. */
+    public static final int CAPACIDAD_POR_DEFECTO = 64;
+
+    private static final int BUFER_DESBORDE = 4096;
+
+    private final byte[] ordinales;
+    // Próxima posición a escribir dentro del arreglo circular
+    private int siguiente;
+    // Cartas registradas desde que se creó, incluidas las que ya salieron
+    private long totalRegistradas;
+
+    private final Path archivoDesborde;
+    private OutputStream salidaDesborde;
+    private byte[] pendientes;
+    private int cantidadPendientes;
+
+    /**
+     * Crea un historial que solo guarda en memoria las últimas cartas.
+     *
+     * @param capacidad Cantidad de cartas que se conservan.
+     */
+    public HistorialCartas(int capacidad) {
+        this(capacidad, null);
+    }
+
+    /**
+     * Crea un historial que además agrega las cartas más viejas a un archivo.
+     * Si el archivo ya existe, se continúa al final.
+     *
+     * @param capacidad       Cantidad de cartas que se conservan en memoria.
+     * @param archivoDesborde Archivo de desborde, o null para no usarlo.
+     */
+    public HistorialCartas(int capacidad, Path archivoDesborde) {
+        if (capacidad < 1) {
+            throw new IllegalArgumentException("La capacidad debe ser positiva: " + capacidad);
+        }
+        this.ordinales = new byte[capacidad];
+        this.siguiente = 0;
+        this.totalRegistradas = 0;
+        this.archivoDesborde = archivoDesborde;
+    }
+
+    /**
+     * Registra una carta. Si el arreglo está lleno, la más vieja sale de la
+     * memoria y, si hay archivo de desborde, se agrega a él.
+     *
+     * @param carta Carta recibida.
+     */
+    public void registrar(Carta carta) {
+        if (totalRegistradas >= ordinales.length && archivoDesborde != null) {
+            desbordar(ordinales[siguiente]);
+        }
+        ordinales[siguiente] = (byte) carta.obtenerOrdinal();
+        siguiente = (siguiente + 1 == ordinales.length) ? 0 : siguiente + 1;
+        totalRegistradas++;
+    }
+
+    /**
+     * Devuelve una de las cartas en memoria contando desde la más reciente.
+     *
+     * @param antiguedad 0 para la última carta, 1 para la anterior, etc.
+     * @return La carta, o null si ya no está en memoria o no existe.
+     */
+    public Carta obtener(int antiguedad) {
+        if (antiguedad < 0 || antiguedad >= tamaño()) {
+            return null;
+        }
+        int indice = siguiente - 1 - antiguedad;
+        if (indice < 0) {
+            indice += ordinales.length;
+        }
+        return Carta.porOrdinal(ordinales[indice]);
+    }
+
+    /**
+     * Devuelve la última carta registrada.
+     *
+     * @return La carta más reciente, o null si no hay ninguna.
+     */
+    public Carta ultima() {
+        return obtener(0);
+    }
+
+    /**
+     * Recorre las cartas en memoria de la más vieja a la más reciente.
+     *
+     * @param accion Acción a aplicar a cada carta.
+     */
+    public void recorrer(Consumer<Carta> accion) {
+        for (int i = tamaño() - 1; i >= 0; i--) {
+            accion.accept(obtener(i));
+        }
+    }
+
+    /**
+     * Cantidad de cartas que se conservan en memoria.
+     *
+     * @return Número de cartas disponibles con {@link #obtener(int)}.
+     */
+    public int tamaño() {
+        return (int) Math.min(totalRegistradas, ordinales.length);
+    }
+
+    /**
+     * Cantidad de cartas registradas desde el inicio, incluidas las que ya
+     * salieron de la memoria.
+     *
+     * @return Total de cartas registradas.
+     */
+    public long getTotalRegistradas() {
+        return totalRegistradas;
+    }
+
+    /**
+     * Devuelve la cantidad máxima de cartas en memoria.
+     *
+     * @return Capacidad del arreglo circular.
+     */
+    public int getCapacidad() {
+        return ordinales.length;
+    }
+
+    /**
+     * Indica si las cartas que salen de la memoria se guardan en un archivo.
+     *
+     * @return true si hay archivo de desborde.
+     */
+    public boolean tieneDesborde() {
+        return archivoDesborde != null;
+    }
+
+    // Agrega un ordinal al búfer del archivo y lo escribe cuando se llena
+    private void desbordar(byte ordinal) {
+        if (pendientes == null) {
+            pendientes = new byte[BUFER_DESBORDE];
+        }
+        pendientes[cantidadPendientes++] = ordinal;
+        if (cantidadPendientes == pendientes.length) {
+            vaciarDesborde();
+        }
+    }
+
+    /**
+     * Escribe en el archivo de desborde las cartas que esperan en el búfer.
+     *
+     * @throws UncheckedIOException si no se pudo escribir el archivo.
+     */
+    public void vaciarDesborde() {
+        if (cantidadPendientes == 0) {
+            return;
+        }
+        try {
+            if (salidaDesborde == null) {
+                salidaDesborde = new FileOutputStream(archivoDesborde.toFile(), true);
+            }
+            salidaDesborde.write(pendientes, 0, cantidadPendientes);
+            cantidadPendientes = 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir el historial en " + archivoDesborde, e);
+        }
+    }
+
+    /**
+     * Escribe lo pendiente y cierra el archivo de desborde. Las cartas que
+     * siguen en memoria no se escriben; el historial puede seguir usándose y
+     * reabre el archivo si vuelve a desbordarse.
+     */
+    public void cerrar() {
+        vaciarDesborde();
+        if (salidaDesborde != null) {
+            try {
+                salidaDesborde.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo cerrar " + archivoDesborde, e);
+            } finally {
+                salidaDesborde = null;
+            }
+        }
+    }
+
+    /**
+     * Lee un archivo de desborde de principio a fin.
+     *
+     * @param archivo Archivo escrito por un historial.
+     * @param accion  Acción a aplicar a cada carta, de la más vieja a la más
+     *                reciente.
+     * @return Cantidad de cartas leídas.
+     * @throws UncheckedIOException si no se pudo leer el archivo.
+     */
+    public static long leerDesborde(Path archivo, Consumer<Carta> accion) {
+        byte[] bufer = new byte[BUFER_DESBORDE];
+        long leidas = 0;
+        try (InputStream entrada = Files.newInputStream(archivo)) {
+            int cantidad;
+            while ((cantidad = entrada.read(bufer)) > 0) {
+                for (int i = 0; i < cantidad; i++) {
+                    accion.accept(Carta.porOrdinal(bufer[i]));
+                }
+                leidas += cantidad;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer " + archivo, e);
+        }
+        return leidas;
+    }
+
+    /**
+     * Representa las cartas en memoria de la más vieja a la más reciente.
+     *
+     * @return Cadena con las cartas y el total registrado.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Historial[").append(tamaño()).append(" de ").append(totalRegistradas).append("]: ");
+        recorrer(carta -> sb.append(carta.representacionCorta()).append(' '));
+        return sb.toString().trim();
+    }
+}
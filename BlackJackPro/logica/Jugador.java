@@ -1,21 +1,26 @@
 package logica;
 
 import componentes.ListaEnlazada;
-import componentes.Pila;
 
 /**
  * Representa un jugador en el juego de Blackjack.
  * Contiene la información de su nombre, cartas actuales, historial de cartas
  * jugadas,
  * estado (si se ha plantado) y cantidad de partidas ganadas.
+ * El historial conserva solo las últimas cartas (ver {@link HistorialCartas}),
+ * así que la memoria del jugador no crece con las manos jugadas.
  */
 public class Jugador {
 
     private String nombre;
     private ListaEnlazada<Carta> cartasEnMano;
-    private Pila<Carta> historial;
+    private HistorialCartas historial;
     private boolean estaPlantado;
     private int victorias;
+    // Suma de la mano contando cada As como 1, actualizada al recibir cartas
+    private int totalDuro;
+    // Cantidad de ases en la mano actual
+    private int ases;
 
     /**
      * Crea un jugador con el nombre dado.
@@ -23,9 +28,23 @@ public class Jugador {
      * @param nombre Nombre del jugador.
      */
     public Jugador(String nombre) {
+        this(nombre, new HistorialCartas(HistorialCartas.CAPACIDAD_POR_DEFECTO));
+    }
+
+    /**
+     * Crea un jugador con el nombre y el historial dados, por ejemplo uno que
+     * guarde en disco las cartas más viejas.
+     * 
+     * @param nombre    Nombre del jugador.
+     * @param historial Historial donde se registran las cartas recibidas.
+     */
+    public Jugador(String nombre, HistorialCartas historial) {
+        if (historial == null) {
+            throw new IllegalArgumentException("El historial no puede ser null");
+        }
         this.nombre = nombre;
         this.cartasEnMano = new ListaEnlazada<>();
-        this.historial = new Pila<>();
+        this.historial = historial;
         this.estaPlantado = false;
         this.victorias = 0;
     }
@@ -46,33 +65,41 @@ public class Jugador {
      */
     public void añadirCarta(Carta carta) {
         cartasEnMano.insertar(carta);
-        historial.push(carta);
+        historial.registrar(carta);
+        totalDuro += carta.obtenerValorJuego();
+        if (carta.esAs()) {
+            ases++;
+        }
     }
 
     /**
      * Calcula el total de puntos en la mano actual del jugador.
      * Los ases pueden contar como 1 u 11, eligiendo el valor más conveniente.
+     * Complejidad: O(1), el total se mantiene al añadir cada carta.
      * 
      * @return Total de puntos.
      */
     public int puntajeTotal() {
-        int puntaje = 0;
-        int ases = 0;
-
-        for (int i = 0; i < cartasEnMano.obtenerTamaño(); i++) {
-            Carta carta = cartasEnMano.obtenerElemento(i);
-            if (carta.esAs()) {
-                ases++;
-            } else {
-                puntaje += carta.obtenerValorJuego();
-            }
-        }
+        // Como mucho un As puede valer 11 sin pasarse de 21
+        return esManoSuave() ? totalDuro + 10 : totalDuro;
+    }
 
-        for (int i = 0; i < ases; i++) {
-            puntaje += (puntaje + 11 <= 21) ? 11 : 1;
-        }
+    /**
+     * Indica si la mano es suave, es decir, si tiene un As contado como 11.
+     * 
+     * @return true si la mano es suave, false si es dura.
+     */
+    public boolean esManoSuave() {
+        return ases > 0 && totalDuro + 10 <= 21;
+    }
 
-        return puntaje;
+    /**
+     * Devuelve el total de la mano contando cada As como 1.
+     * 
+     * @return Total duro de la mano.
+     */
+    public int puntajeDuro() {
+        return totalDuro;
     }
 
     /**
@@ -81,7 +108,7 @@ public class Jugador {
      * @return true si se pasó, false en caso contrario.
      */
     public boolean seExcedio() {
-        return puntajeTotal() > 21;
+        return totalDuro > 21;
     }
 
     /**
@@ -119,11 +146,11 @@ public class Jugador {
     }
 
     /**
-     * Devuelve el historial de cartas que ha recibido el jugador.
+     * Devuelve el historial de las últimas cartas que ha recibido el jugador.
      * 
      * @return Historial de cartas.
      */
-    public Pila<Carta> obtenerHistorial() {
+    public HistorialCartas obtenerHistorial() {
         return historial;
     }
 
@@ -150,6 +177,8 @@ public class Jugador {
         while (!cartasEnMano.estaVacía()) {
             cartasEnMano.removerPrimero();
         }
+        totalDuro = 0;
+        ases = 0;
         estaPlantado = false;
     }
 
@@ -165,12 +194,13 @@ public class Jugador {
         sb.append(nombre).append(" (Puntaje: ").append(puntajeTotal()).append(")\n");
         sb.append("Cartas: ");
 
-        for (int i = 0; i < cartasEnMano.obtenerTamaño(); i++) {
-            Carta carta = cartasEnMano.obtenerElemento(i);
-            sb.append(carta);
-            if (i < cartasEnMano.obtenerTamaño() - 1) {
+        boolean primera = true;
+        for (Carta carta : cartasEnMano) {
+            if (!primera) {
                 sb.append(", ");
             }
+            sb.append(carta);
+            primera = false;
         }
 
         sb.append("\nEstado: ").append(estaPlantado ? "Plantado" : "Jugando");
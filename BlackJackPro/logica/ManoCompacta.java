@@ -0,0 +1,225 @@
+package logica;
+
+import componentes.ListaEnlazada;
+
+/**
+ * Representación primitiva de una mano de Blackjack empaquetada en un long.
+ * Permite tratar una mano como un valor: se copia, se compara con == y sirve
+ * directamente como clave de hash, sin crear objetos.
+ *
+ * Distribución de bits:
+ * - Bits 0 a 49: cantidad de cartas de cada valor de juego (1 a 10), 5 bits
+ * por valor.
+ * - Bits 50 a 55: total duro (ases como 1).
+ * - Bits 56 a 61: cantidad total de cartas.
+ *
+ * Solo se guarda el valor de juego de cada carta, no su palo ni si era una
+ * figura; al convertir de vuelta a cartas se usan representantes de cada valor.
+ */
+public final class ManoCompacta {
+
+    /** Mano sin cartas. */
+    public static final long VACIA = 0L;
+
+    private static final int BITS_POR_VALOR = 5;
+    private static final long MASCARA_VALOR = (1L << BITS_POR_VALOR) - 1;
+    private static final int DESPLAZAMIENTO_TOTAL = 50;
+    private static final int DESPLAZAMIENTO_CARTAS = 56;
+    private static final long MASCARA_6_BITS = 0x3F;
+
+    // Palo usado al convertir una mano compacta de vuelta a cartas
+    private static final String PALO_REPRESENTANTE = Carta.CORAZONES;
+
+    private ManoCompacta() {
+    }
+
+    /**
+     * Devuelve la mano con una carta más del valor indicado.
+     *
+     * @param mano  Mano actual.
+     * @param valor Valor de juego de la carta, de 1 (As) a 10.
+     * @return Nueva mano con la carta añadida.
+     * @throws IllegalStateException si la mano ya se había pasado de 21.
+     */
+    public static long agregar(long mano, int valor) {
+        if (seExcedio(mano)) {
+            throw new IllegalStateException("No se pueden añadir cartas a una mano pasada de 21");
+        }
+        return mano
+                + (1L << ((valor - 1) * BITS_POR_VALOR))
+                + ((long) valor << DESPLAZAMIENTO_TOTAL)
+                + (1L << DESPLAZAMIENTO_CARTAS);
+    }
+
+    /**
+     * Devuelve la mano con la carta indicada añadida.
+     *
+     * @param mano  Mano actual.
+     * @param carta Carta recibida.
+     * @return Nueva mano con la carta añadida.
+     */
+    public static long agregar(long mano, Carta carta) {
+        return agregar(mano, carta.obtenerValorJuego());
+    }
+
+    /**
+     * Cantidad de cartas de un valor de juego en la mano.
+     *
+     * @param mano  Mano compacta.
+     * @param valor Valor de juego, de 1 (As) a 10.
+     * @return Cantidad de cartas de ese valor.
+     */
+    public static int cantidadDeValor(long mano, int valor) {
+        return (int) ((mano >>> ((valor - 1) * BITS_POR_VALOR)) & MASCARA_VALOR);
+    }
+
+    /**
+     * Cantidad total de cartas en la mano.
+     *
+     * @param mano Mano compacta.
+     * @return Número de cartas.
+     */
+    public static int cantidadCartas(long mano) {
+        return (int) ((mano >>> DESPLAZAMIENTO_CARTAS) & MASCARA_6_BITS);
+    }
+
+    /**
+     * Total de la mano contando cada As como 1.
+     *
+     * @param mano Mano compacta.
+     * @return Total duro.
+     */
+    public static int totalDuro(long mano) {
+        return (int) ((mano >>> DESPLAZAMIENTO_TOTAL) & MASCARA_6_BITS);
+    }
+
+    /**
+     * Indica si la mano tiene un As que puede contar como 11 sin pasarse.
+     *
+     * @param mano Mano compacta.
+     * @return true si la mano es suave.
+     */
+    public static boolean esSuave(long mano) {
+        return (mano & MASCARA_VALOR) != 0 && totalDuro(mano) + 10 <= 21;
+    }
+
+    /**
+     * Total de la mano con el mejor valor posible para los ases.
+     *
+     * @param mano Mano compacta.
+     * @return Puntaje de la mano.
+     */
+    public static int total(long mano) {
+        int duro = totalDuro(mano);
+        return esSuave(mano) ? duro + 10 : duro;
+    }
+
+    /**
+     * Indica si la mano se pasó de 21.
+     *
+     * @param mano Mano compacta.
+     * @return true si el total duro supera 21.
+     */
+    public static boolean seExcedio(long mano) {
+        return totalDuro(mano) > 21;
+    }
+
+    /**
+     * Indica si la mano es un Blackjack (21 con dos cartas).
+     *
+     * @param mano Mano compacta.
+     * @return true si es Blackjack.
+     */
+    public static boolean esBlackjack(long mano) {
+        return cantidadCartas(mano) == 2 && total(mano) == 21;
+    }
+
+    /**
+     * Construye la mano compacta a partir de una lista de cartas.
+     *
+     * @param cartas Cartas de la mano.
+     * @return Mano compacta equivalente.
+     */
+    public static long desde(Iterable<Carta> cartas) {
+        long mano = VACIA;
+        for (Carta carta : cartas) {
+            mano = agregar(mano, carta);
+        }
+        return mano;
+    }
+
+    /**
+     * Construye la mano compacta con las cartas actuales de un jugador.
+     *
+     * @param jugador Jugador del que se toma la mano.
+     * @return Mano compacta equivalente.
+     */
+    public static long desde(Jugador jugador) {
+        return desde(jugador.getCartas());
+    }
+
+    /**
+     * Convierte la mano compacta en una lista de cartas. Cada valor se
+     * representa con una carta compartida de Corazones (el 10 para el valor 10).
+     *
+     * @param mano Mano compacta.
+     * @return Lista con una carta por cada carta de la mano.
+     */
+    public static ListaEnlazada<Carta> aCartas(long mano) {
+        ListaEnlazada<Carta> cartas = new ListaEnlazada<>();
+        for (int valor = 1; valor <= 10; valor++) {
+            Carta representante = representante(valor);
+            for (int i = cantidadDeValor(mano, valor); i > 0; i--) {
+                cartas.insertar(representante);
+            }
+        }
+        return cartas;
+    }
+
+    /**
+     * Reemplaza la mano del jugador por las cartas de la mano compacta.
+     *
+     * @param mano    Mano compacta.
+     * @param jugador Jugador cuya mano se reinicia y se carga.
+     */
+    public static void cargarEn(long mano, Jugador jugador) {
+        jugador.reiniciarMano();
+        for (Carta carta : aCartas(mano)) {
+            jugador.añadirCarta(carta);
+        }
+    }
+
+    /**
+     * Devuelve la carta compartida que representa un valor de juego.
+     *
+     * @param valor Valor de juego, de 1 (As) a 10.
+     * @return Carta de Corazones con ese valor.
+     */
+    public static Carta representante(int valor) {
+        return Carta.de(valor == 1 ? Carta.AS : String.valueOf(valor), PALO_REPRESENTANTE);
+    }
+
+    /**
+     * Representa la mano como texto, con la cantidad de cartas de cada valor.
+     *
+     * @param mano Mano compacta.
+     * @return Cadena como "[A x1, 10 x1] total=21 suave".
+     */
+    public static String aTexto(long mano) {
+        StringBuilder sb = new StringBuilder("[");
+        boolean primera = true;
+        for (int valor = 1; valor <= 10; valor++) {
+            int cantidad = cantidadDeValor(mano, valor);
+            if (cantidad > 0) {
+                if (!primera) {
+                    sb.append(", ");
+                }
+                sb.append(valor == 1 ? Carta.AS : String.valueOf(valor)).append(" x").append(cantidad);
+                primera = false;
+            }
+        }
+        sb.append("] total=").append(total(mano));
+        sb.append(esSuave(mano) ? " suave" : " duro");
+        return sb.toString();
+    }
+}
@@ -2,63 +2,106 @@ package logica;
 
 import java.util.Random;
 
-import componentes.ListaEnlazada;
-
 /**
  * Clase que representa un mazo de cartas para juegos de cartas como Blackjack.
- * Utiliza una lista enlazada para almacenar las cartas.
+ * Reparte las cartas compartidas de {@link Carta}; el orden se guarda en un
+ * arreglo de ordinales con un cursor que avanza al repartir, de modo que
+ * extraer una carta es O(1) y el mismo mazo se puede reutilizar entre manos.
+ * También lleva la cuenta de cuántas cartas de cada valor quedan por repartir.
  */
 public class MazoCartas {
 
-    private ListaEnlazada<Carta> pilaCartas;
-    private Random generador;
+    protected static final int CARTAS_POR_MAZO = Carta.TOTAL_CARTAS;
+
+    // Orden actual de las cartas como ordinales de las cartas compartidas
+    private final byte[] orden;
+    // Cartas restantes por valor de juego, indexado de 1 (As) a 10
+    private final int[] restantesPorValor;
+    // Posición de la próxima carta a repartir
+    private int cursor;
+    private final Random generador;
 
     /**
      * Crea un mazo con las 52 cartas estándar.
      */
     public MazoCartas() {
-        this.pilaCartas = new ListaEnlazada<>();
-        this.generador = new Random();
+        this(new Random());
+    }
+
+    /**
+     * Crea un mazo con las 52 cartas estándar que baraja con el generador dado.
+     * Permite que cada hilo de una simulación use su propio generador.
+     *
+     * @param generador Fuente de aleatoriedad para barajar.
+     */
+    public MazoCartas(Random generador) {
+        this(1, generador);
+    }
+
+    /**
+     * Crea un mazo formado por varias barajas de 52 cartas, como el zapato de
+     * un casino.
+     *
+     * @param barajas   Cantidad de barajas que se mezclan.
+     * @param generador Fuente de aleatoriedad para barajar.
+     */
+    protected MazoCartas(int barajas, Random generador) {
+        if (barajas < 1) {
+            throw new IllegalArgumentException("Se necesita al menos una baraja");
+        }
+        this.orden = new byte[CARTAS_POR_MAZO * barajas];
+        this.restantesPorValor = new int[11];
+        this.cursor = 0;
+        this.generador = generador;
         cargarCartasIniciales();
     }
 
     /**
-     * Agrega las 52 cartas tradicionales al mazo.
+     * Agrega las 52 cartas tradicionales al mazo, una vez por cada baraja.
+     * Se usan las instancias compartidas de {@link Carta}, sin crear objetos.
      */
     private void cargarCartasIniciales() {
-        String[] palos = { Carta.CORAZONES, Carta.DIAMANTES, Carta.TREBOLES, Carta.PICAS };
-        String[] valores = { Carta.AS, "2", "3", "4", "5", "6", "7", "8", "9", "10",
-                Carta.JOTA, Carta.REINA, Carta.REY };
-
-        for (String palo : palos) {
-            for (String valor : valores) {
-                pilaCartas.insertar(new Carta(valor, palo));
-            }
+        for (int j = 0; j < orden.length; j++) {
+            orden[j] = (byte) (j % CARTAS_POR_MAZO);
+            restantesPorValor[valorDe(orden[j])]++;
         }
     }
 
+    private static int valorDe(byte ordinal) {
+        return Carta.porOrdinal(ordinal).obtenerValorJuego();
+    }
+
     /**
-     * Reordena aleatoriamente las cartas del mazo usando el algoritmo de
-     * Fisher-Yates.
+     * Reordena aleatoriamente las cartas que quedan en el mazo usando el
+     * algoritmo de Fisher-Yates. Trabaja en el mismo arreglo, sin crear objetos.
      */
     public void barajar() {
-        Carta[] cartasArray = new Carta[pilaCartas.obtenerTamaño()];
-        int i = 0;
-
-        while (!pilaCartas.estaVacía()) {
-            cartasArray[i++] = pilaCartas.removerPrimero();
+        for (int j = orden.length - 1; j > cursor; j--) {
+            int k = cursor + generador.nextInt(j - cursor + 1);
+            byte temp = orden[j];
+            orden[j] = orden[k];
+            orden[k] = temp;
         }
+    }
 
-        for (int j = cartasArray.length - 1; j > 0; j--) {
-            int k = generador.nextInt(j + 1);
-            Carta temp = cartasArray[j];
-            cartasArray[j] = cartasArray[k];
-            cartasArray[k] = temp;
+    /**
+     * Devuelve todas las cartas repartidas al mazo y lo vuelve a barajar.
+     * Reemplaza crear un mazo nuevo en cada mano.
+     */
+    public void reiniciar() {
+        for (int i = 0; i < cursor; i++) {
+            restantesPorValor[valorDe(orden[i])]++;
         }
+        cursor = 0;
+        barajar();
+    }
 
-        for (Carta carta : cartasArray) {
-            pilaCartas.insertar(carta);
-        }
+    /**
+     * Deja el mazo listo para una nueva mano. Un mazo simple se recoge y se
+     * baraja siempre; las subclases pueden seguir repartiendo del mismo orden.
+     */
+    public void prepararRonda() {
+        reiniciar();
     }
 
     /**
@@ -67,7 +110,12 @@ public class MazoCartas {
      * @return La carta superior, o null si el mazo está vacío.
      */
     public Carta extraerCarta() {
-        return pilaCartas.removerPrimero();
+        if (cursor >= orden.length) {
+            return null;
+        }
+        Carta carta = Carta.porOrdinal(orden[cursor++]);
+        restantesPorValor[carta.obtenerValorJuego()]--;
+        return carta;
     }
 
     /**
@@ -76,7 +124,7 @@ public class MazoCartas {
      * @return true si el mazo está vacío, de lo contrario false.
      */
     public boolean sinCartas() {
-        return pilaCartas.estaVacía();
+        return cursor >= orden.length;
     }
 
     /**
@@ -85,7 +133,48 @@ public class MazoCartas {
      * @return Cantidad de cartas restantes.
      */
     public int totalCartas() {
-        return pilaCartas.obtenerTamaño();
+        return orden.length - cursor;
+    }
+
+    /**
+     * Informa cuántas cartas se repartieron desde el último barajado completo.
+     *
+     * @return Cantidad de cartas repartidas.
+     */
+    public int cartasRepartidas() {
+        return cursor;
+    }
+
+    /**
+     * Informa el tamaño completo del mazo, contando las cartas ya repartidas.
+     *
+     * @return Cantidad total de cartas.
+     */
+    public int capacidad() {
+        return orden.length;
+    }
+
+    /**
+     * Informa cuántas cartas de un valor de juego quedan por repartir.
+     * Complejidad: O(1).
+     *
+     * @param valor Valor de juego entre 1 (As) y 10 (10, J, Q, K).
+     * @return Cantidad de cartas restantes con ese valor.
+     */
+    public int restantesDeValor(int valor) {
+        return restantesPorValor[valor];
+    }
+
+    /**
+     * Copia la composición restante del mazo en el arreglo dado.
+     * La posición 0 no se usa; de la 1 a la 10 quedan las cantidades por valor.
+     *
+     * @param destino Arreglo de al menos 11 posiciones.
+     * @return El mismo arreglo recibido.
+     */
+    public int[] composicionRestante(int[] destino) {
+        System.arraycopy(restantesPorValor, 0, destino, 0, restantesPorValor.length);
+        return destino;
     }
 
     /**
@@ -95,6 +184,12 @@ public class MazoCartas {
      */
     @Override
     public String toString() {
-        return "Mazo con " + totalCartas() + " cartas:\n" + pilaCartas.toString();
+        StringBuilder sb = new StringBuilder();
+        sb.append("Mazo con ").append(totalCartas()).append(" cartas:\n");
+        for (int i = cursor; i < orden.length; i++) {
+            sb.append("[").append(Carta.porOrdinal(orden[i])).append("]->");
+        }
+        sb.append("null");
+        return sb.toString();
     }
 }
@@ -0,0 +1,60 @@
+package logica;
+
+/**
+ * Reglas para decidir el resultado de una mano de Blackjack.
+ * No imprime nada: el controlador de consola y el motor de simulación
+ * comparten estas mismas reglas.
+ */
+public final class ReglasBlackjack {
+
+    private ReglasBlackjack() {
+    }
+
+    /**
+     * Evalúa el Blackjack inicial tras el reparto de las dos primeras cartas.
+     *
+     * @param jugador Jugador a evaluar.
+     * @param dealer  Dealer de la mesa.
+     * @return El resultado de la mano si alguno tiene Blackjack, o null si la
+     *         mano debe continuar.
+     */
+    public static ResultadoMano evaluarBlackjackInicial(Jugador jugador, Dealer dealer) {
+        boolean jugadorBlackjack = jugador.tieneBlackjack();
+        boolean dealerBlackjack = dealer.tieneBlackjack();
+
+        if (jugadorBlackjack && dealerBlackjack) {
+            return ResultadoMano.EMPATE;
+        } else if (jugadorBlackjack) {
+            return ResultadoMano.BLACKJACK;
+        } else if (dealerBlackjack) {
+            return ResultadoMano.DERROTA;
+        }
+        return null;
+    }
+
+    /**
+     * Determina el ganador una vez terminados los turnos de ambos.
+     *
+     * @param jugador Jugador a evaluar.
+     * @param dealer  Dealer de la mesa.
+     * @return Resultado de la mano para el jugador.
+     */
+    public static ResultadoMano resolverMano(Jugador jugador, Dealer dealer) {
+        if (jugador.seExcedio()) {
+            return ResultadoMano.DERROTA;
+        }
+        if (dealer.seExcedio()) {
+            return ResultadoMano.VICTORIA;
+        }
+
+        int puntosJugador = jugador.puntajeTotal();
+        int puntosDealer = dealer.puntajeTotal();
+
+        if (puntosJugador > puntosDealer) {
+            return ResultadoMano.VICTORIA;
+        } else if (puntosDealer > puntosJugador) {
+            return ResultadoMano.DERROTA;
+        }
+        return ResultadoMano.EMPATE;
+    }
+}
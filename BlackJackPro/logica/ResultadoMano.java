@@ -0,0 +1,15 @@
+package logica;
+
+/**
+ * Posibles resultados de una mano desde el punto de vista del jugador.
+ */
+public enum ResultadoMano {
+    /** El jugador gana con Blackjack inicial. */
+    BLACKJACK,
+    /** El jugador gana por puntaje o porque el Dealer se pasó. */
+    VICTORIA,
+    /** El Dealer gana la mano. */
+    DERROTA,
+    /** Ambos terminan con el mismo puntaje. */
+    EMPATE
+}
@@ -0,0 +1,79 @@
+package logica;
+
+import java.util.Random;
+
+/**
+ * Zapato de casino con varias barajas mezcladas y una carta de corte.
+ * Reparte del mismo orden mano tras mano y solo vuelve a barajar cuando se
+ * alcanza la carta de corte, como ocurre en una mesa real.
+ */
+public class Zapato extends MazoCartas {
+
+    // Cartas que deben quedar para repartir una ronda completa en una mesa llena
+    private static final int RESERVA_MINIMA = 16;
+
+    private final int posicionCorte;
+
+    /**
+     * Crea un zapato con la cantidad de barajas y la penetración indicadas.
+     *
+     * @param barajas     Cantidad de barajas de 52 cartas (por ejemplo 6 u 8).
+     * @param penetracion Fracción del zapato que se reparte antes del corte,
+     *                    mayor que 0 y como máximo 1.
+     * @param generador   Fuente de aleatoriedad para barajar.
+     */
+    public Zapato(int barajas, double penetracion, Random generador) {
+        super(barajas, generador);
+        if (penetracion <= 0 || penetracion > 1) {
+            throw new IllegalArgumentException("La penetración debe estar en (0, 1]");
+        }
+        this.posicionCorte = (int) (capacidad() * penetracion);
+        barajar();
+    }
+
+    /**
+     * Crea un zapato con un generador propio.
+     *
+     * @param barajas     Cantidad de barajas de 52 cartas.
+     * @param penetracion Fracción del zapato que se reparte antes del corte.
+     */
+    public Zapato(int barajas, double penetracion) {
+        this(barajas, penetracion, new Random());
+    }
+
+    /**
+     * Indica si ya salió la carta de corte.
+     *
+     * @return true si hay que barajar antes de la próxima mano.
+     */
+    public boolean alcanzoCorte() {
+        return cartasRepartidas() >= posicionCorte;
+    }
+
+    /**
+     * Baraja solo si se alcanzó la carta de corte (o si ya no quedan cartas
+     * para una ronda completa); si no, la próxima mano sigue repartiendo del
+     * orden actual.
+     */
+    @Override
+    public void prepararRonda() {
+        if (alcanzoCorte() || totalCartas() < RESERVA_MINIMA) {
+            reiniciar();
+        }
+    }
+
+    /**
+     * Devuelve la posición de la carta de corte dentro del zapato.
+     *
+     * @return Cantidad de cartas que se reparten antes de barajar.
+     */
+    public int getPosicionCorte() {
+        return posicionCorte;
+    }
+
+    @Override
+    public String toString() {
+        return "Zapato de " + (capacidad() / CARTAS_POR_MAZO) + " barajas, corte en "
+                + posicionCorte + ", quedan " + totalCartas() + " cartas";
+    }
+}
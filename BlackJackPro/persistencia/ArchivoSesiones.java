@@ -0,0 +1,292 @@
+package persistencia;
+
+import componentes.TablaHashLong;
+import logica.Carta;
+import logica.ResultadoMano;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Lector de un archivo de sesiones escrito por {@link EscritorArchivo}.
+ *
+ * El archivo se mapea en memoria y el índice del final se carga al abrirlo.
+ * Cada bloque se decodifica por separado en una única {@link ManoArchivada}
+ * reutilizable, así que se puede leer cualquier bloque sin tocar los demás, y
+ * una búsqueda por sesión salta los bloques cuyo rango de sesiones no la
+ * incluye.
+ *
+ * El archivo debe medir menos de 2 GB, que es el límite de un mapeo. Un
+ * lector puede compartirse entre hilos siempre que cada uno use su propia
+ * mano para decodificar.
+ */
+public class ArchivoSesiones {
+
+    private static final int RESULTADOS = ResultadoMano.values().length;
+
+    private final Path archivo;
+    private final ByteBuffer datos;
+    private final String[] nombres;
+    private final int cantidadBloques;
+    private final int posicionIndice;
+    private final long cantidadManos;
+
+    /**
+     * Abre un archivo de sesiones.
+     *
+     * @param archivo Ruta del archivo.
+     * @throws UncheckedIOException  si no se pudo leer el archivo.
+     * @throws IllegalStateException si el archivo no tiene el formato esperado.
+     */
+    public ArchivoSesiones(Path archivo) {
+        this.archivo = archivo;
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamaño = canal.size();
+            if (tamaño > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Archivo demasiado grande para mapear: " + archivo);
+            }
+            MappedByteBuffer mapeo = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamaño);
+            mapeo.order(DiarioJugadas.ORDEN_BYTES);
+            this.datos = mapeo;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo abrir " + archivo, e);
+        }
+
+        int tamaño = datos.limit();
+        if (tamaño < EscritorArchivo.TAMAÑO_ENCABEZADO + EscritorArchivo.TAMAÑO_PIE
+                || datos.getInt(0) != EscritorArchivo.MAGICO
+                || datos.getInt(tamaño - 4) != EscritorArchivo.MAGICO) {
+            throw new IllegalStateException("No es un archivo de sesiones completo: " + archivo);
+        }
+        if (datos.getInt(4) != EscritorArchivo.VERSION) {
+            throw new IllegalStateException("Versión de archivo desconocida: " + datos.getInt(4));
+        }
+
+        int pie = tamaño - EscritorArchivo.TAMAÑO_PIE;
+        int posicionNombres = (int) datos.getLong(pie);
+        this.posicionIndice = (int) datos.getLong(pie + 8);
+        this.cantidadBloques = datos.getInt(pie + 16);
+
+        // El diccionario guarda el nombre de id n en la posición n - 1
+        int cantidadNombres = datos.getInt(posicionNombres);
+        this.nombres = new String[cantidadNombres + 1];
+        int posicion = posicionNombres + 4;
+        for (int i = 1; i <= cantidadNombres; i++) {
+            int largo = datos.getInt(posicion);
+            byte[] bytes = new byte[largo];
+            datos.get(posicion + 4, bytes);
+            nombres[i] = new String(bytes, StandardCharsets.UTF_8);
+            posicion += 4 + largo;
+        }
+
+        long manos = 0;
+        for (int bloque = 0; bloque < cantidadBloques; bloque++) {
+            manos += getManosDelBloque(bloque);
+        }
+        this.cantidadManos = manos;
+    }
+
+    public int getCantidadBloques() {
+        return cantidadBloques;
+    }
+
+    public long getCantidadManos() {
+        return cantidadManos;
+    }
+
+    private int entrada(int bloque) {
+        if (bloque < 0 || bloque >= cantidadBloques) {
+            throw new IllegalArgumentException("Bloque fuera de rango: " + bloque);
+        }
+        return posicionIndice + bloque * EscritorArchivo.TAMAÑO_ENTRADA_INDICE;
+    }
+
+    /**
+     * Cantidad de manos de un bloque, según el índice.
+     *
+     * @param bloque Número de bloque, desde 0.
+     * @return Manos guardadas en el bloque.
+     */
+    public int getManosDelBloque(int bloque) {
+        return datos.getInt(entrada(bloque) + 12);
+    }
+
+    /**
+     * Menor sesión guardada en un bloque, según el índice.
+     *
+     * @param bloque Número de bloque, desde 0.
+     * @return Identificador de sesión.
+     */
+    public long getSesionMinima(int bloque) {
+        return datos.getLong(entrada(bloque) + 16);
+    }
+
+    /**
+     * Mayor sesión guardada en un bloque, según el índice.
+     *
+     * @param bloque Número de bloque, desde 0.
+     * @return Identificador de sesión.
+     */
+    public long getSesionMaxima(int bloque) {
+        return datos.getLong(entrada(bloque) + 24);
+    }
+
+    /**
+     * Decodifica las manos de un bloque en orden.
+     *
+     * @param bloque Número de bloque, desde 0.
+     * @param mano   Mano donde se decodifica cada una; se reutiliza.
+     * @param accion Acción que recibe la mano decodificada; no debe guardarla.
+     * @throws IllegalStateException si el bloque está dañado.
+     */
+    public void leerBloque(int bloque, ManoArchivada mano, Consumer<ManoArchivada> accion) {
+        int posicionEntrada = entrada(bloque);
+        LectorBits bits = new LectorBits();
+        bits.apuntar(datos, (int) datos.getLong(posicionEntrada), datos.getInt(posicionEntrada + 8));
+        int manos = datos.getInt(posicionEntrada + 12);
+
+        long sesion = 0;
+        int numeroMano = 0;
+        int asientos = 0;
+        String[] jugadores = new String[ManoArchivada.MAXIMO_ASIENTOS + 1];
+        for (int i = 0; i < manos; i++) {
+            if (bits.leer(1) == 1) {
+                numeroMano++;
+            } else {
+                sesion += bits.leerEntero();
+                numeroMano += (int) bits.leerEntero() + 1;
+            }
+            mano.reiniciar(sesion, numeroMano);
+
+            if (bits.leer(1) == 0) {
+                asientos = bits.leer(EscritorArchivo.BITS_ASIENTOS);
+                for (int asiento = 1; asiento <= asientos; asiento++) {
+                    long id = bits.leerNatural();
+                    if (id >= nombres.length) {
+                        throw new IllegalStateException("Nombre inexistente en el bloque " + bloque);
+                    }
+                    jugadores[asiento] = nombres[(int) id];
+                }
+            }
+
+            mano.usarAsiento(asientos);
+            for (int asiento = 1; asiento <= asientos; asiento++) {
+                mano.definirNombre(asiento, jugadores[asiento]);
+                leerCartas(bits, mano, asiento, bloque);
+                int resultado = bits.leer(EscritorArchivo.BITS_RESULTADO);
+                if (resultado > RESULTADOS) {
+                    throw new IllegalStateException("Resultado inválido " + resultado + " en el bloque " + bloque);
+                }
+                if (resultado > 0) {
+                    mano.definirResultado(asiento, ManoArchivada.resultadoPorOrdinal(resultado - 1));
+                }
+            }
+            leerCartas(bits, mano, DiarioJugadas.ASIENTO_DEALER, bloque);
+            accion.accept(mano);
+        }
+    }
+
+    private static void leerCartas(LectorBits bits, ManoArchivada mano, int asiento, int bloque) {
+        int cantidad = bits.leer(EscritorArchivo.BITS_CANTIDAD_CARTAS);
+        for (int i = 0; i < cantidad; i++) {
+            int ordinal = bits.leer(EscritorArchivo.BITS_CARTA);
+            if (ordinal >= Carta.TOTAL_CARTAS) {
+                throw new IllegalStateException("Carta inválida " + ordinal + " en el bloque " + bloque);
+            }
+            mano.agregarOrdinal(asiento, ordinal);
+        }
+    }
+
+    /**
+     * Recorre todas las manos del archivo en orden de escritura.
+     *
+     * @param accion Acción que recibe cada mano; no debe guardarla.
+     */
+    public void recorrer(Consumer<ManoArchivada> accion) {
+        ManoArchivada mano = new ManoArchivada();
+        for (int bloque = 0; bloque < cantidadBloques; bloque++) {
+            leerBloque(bloque, mano, accion);
+        }
+    }
+
+    /**
+     * Busca una mano por sesión y número. Solo decodifica los bloques cuyo
+     * rango de sesiones incluye la buscada.
+     *
+     * @param sesion      Identificador de la sesión.
+     * @param numeroMano  Número de mano dentro de la sesión.
+     * @param encontrada  Mano donde se copia la encontrada.
+     * @return true si la mano está en el archivo.
+     */
+    public boolean buscarMano(long sesion, int numeroMano, ManoArchivada encontrada) {
+        ManoArchivada actual = new ManoArchivada();
+        boolean[] hallada = new boolean[1];
+        for (int bloque = 0; bloque < cantidadBloques && !hallada[0]; bloque++) {
+            if (sesion < getSesionMinima(bloque) || sesion > getSesionMaxima(bloque)) {
+                continue;
+            }
+            leerBloque(bloque, actual, mano -> {
+                if (!hallada[0] && mano.getSesion() == sesion && mano.getMano() == numeroMano) {
+                    encontrada.copiarDe(mano);
+                    hallada[0] = true;
+                }
+            });
+        }
+        return hallada[0];
+    }
+
+    /**
+     * Convierte un diario de jugadas en un archivo de sesiones. Las cartas y
+     * resultados de cada mano se juntan por sesión y la mano se archiva
+     * cuando su sesión pasa a la siguiente. El diario no guarda nombres, así
+     * que las manos quedan sin ellos.
+     *
+     * @param diario  Diario a convertir.
+     * @param destino Archivo donde se agregan las manos; no se cierra.
+     * @return Cantidad de manos archivadas.
+     */
+    public static long convertirDiario(LectorDiario diario, EscritorArchivo destino) {
+        TablaHashLong<ManoArchivada> porSesion = new TablaHashLong<>();
+        List<ManoArchivada> pendientes = new ArrayList<>();
+        long[] archivadas = new long[1];
+        diario.recorrer(cursor -> {
+            long sesion = cursor.getSesion();
+            ManoArchivada mano = porSesion.obtener(sesion);
+            if (mano == null) {
+                mano = new ManoArchivada();
+                mano.reiniciar(sesion, cursor.getMano());
+                porSesion.insertar(sesion, mano);
+                pendientes.add(mano);
+            } else if (mano.getMano() != cursor.getMano()) {
+                destino.agregarMano(mano);
+                archivadas[0]++;
+                mano.reiniciar(sesion, cursor.getMano());
+            }
+            if (cursor.esCarta()) {
+                mano.agregarOrdinal(cursor.getAsiento(), cursor.getDato());
+            } else if (cursor.esResultado()) {
+                mano.definirResultado(cursor.getAsiento(), cursor.getResultado());
+            }
+        });
+        for (ManoArchivada mano : pendientes) {
+            destino.agregarMano(mano);
+            archivadas[0]++;
+        }
+        return archivadas[0];
+    }
+
+    @Override
+    public String toString() {
+        return "Archivo " + archivo.getFileName() + ": " + cantidadManos + " manos en " + cantidadBloques
+                + " bloques";
+    }
+}
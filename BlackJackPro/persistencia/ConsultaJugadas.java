@@ -0,0 +1,163 @@
+package persistencia;
+
+import logica.ResultadoMano;
+
+/**
+ * Condiciones de una búsqueda en un {@link IndiceJugadas}. Una condición sin
+ * definir acepta cualquier valor, y una mano cumple la consulta cuando cumple
+ * todas las definidas.
+ *
+ * Las condiciones del Dealer se aplican a su mano. Las de jugador (nombre,
+ * resultado y total) se aplican a un mismo asiento: "Ana perdió con 22" no
+ * encuentra una mano donde Ana ganó y otro asiento perdió con 22.
+ *
+ * Los totales mayores que 21 son todos equivalentes a {@link #PASADO}.
+ */
+public final class ConsultaJugadas {
+
+    /** Total que representa cualquier mano pasada de 21. */
+    public static final int PASADO = 22;
+
+    private int cartaVisibleDealer;
+    private int totalDealer;
+    private String jugador;
+    private ResultadoMano resultado;
+    private int totalJugador;
+
+    /**
+     * Crea una consulta sin condiciones, que acepta todas las manos.
+     */
+    public ConsultaJugadas() {
+        this.totalDealer = -1;
+        this.totalJugador = -1;
+    }
+
+    /**
+     * Exige una carta visible del Dealer por su valor de juego.
+     *
+     * @param valor Valor de 1 (As) a 10 (diez o figura); 0 para cualquiera.
+     */
+    public void setCartaVisibleDealer(int valor) {
+        if (valor < 0 || valor > 10) {
+            throw new IllegalArgumentException("Valor de carta fuera de rango: " + valor);
+        }
+        this.cartaVisibleDealer = valor;
+    }
+
+    /**
+     * Exige un total final del Dealer.
+     *
+     * @param total Total final, {@link #PASADO} si se pasó, o -1 para cualquiera.
+     */
+    public void setTotalDealer(int total) {
+        this.totalDealer = normalizarTotal(total);
+    }
+
+    /**
+     * Exige que un asiento tenga al jugador indicado.
+     *
+     * @param nombre Nombre del jugador, o null para cualquiera.
+     */
+    public void setJugador(String nombre) {
+        this.jugador = nombre;
+    }
+
+    /**
+     * Exige un resultado de un asiento.
+     *
+     * @param resultado Resultado desde el punto de vista del jugador, o null
+     *                  para cualquiera.
+     */
+    public void setResultado(ResultadoMano resultado) {
+        this.resultado = resultado;
+    }
+
+    /**
+     * Exige un total final de un asiento.
+     *
+     * @param total Total final, {@link #PASADO} si se pasó, o -1 para cualquiera.
+     */
+    public void setTotalJugador(int total) {
+        this.totalJugador = normalizarTotal(total);
+    }
+
+    private static int normalizarTotal(int total) {
+        if (total < -1) {
+            throw new IllegalArgumentException("Total fuera de rango: " + total);
+        }
+        return Math.min(total, PASADO);
+    }
+
+    public int getCartaVisibleDealer() {
+        return cartaVisibleDealer;
+    }
+
+    public int getTotalDealer() {
+        return totalDealer;
+    }
+
+    public String getJugador() {
+        return jugador;
+    }
+
+    public ResultadoMano getResultado() {
+        return resultado;
+    }
+
+    public int getTotalJugador() {
+        return totalJugador;
+    }
+
+    // Cantidad de condiciones que se aplican a un asiento
+    int condicionesDeAsiento() {
+        return (jugador != null ? 1 : 0) + (resultado != null ? 1 : 0) + (totalJugador >= 0 ? 1 : 0);
+    }
+
+    /**
+     * Indica si algún asiento de la mano cumple a la vez todas las
+     * condiciones de jugador.
+     *
+     * @param mano Mano a revisar.
+     * @return true si hay un asiento que las cumple, o si no hay condiciones.
+     */
+    boolean cumpleAsiento(ManoArchivada mano) {
+        if (condicionesDeAsiento() == 0) {
+            return true;
+        }
+        for (int asiento = 1; asiento <= mano.getCantidadAsientos(); asiento++) {
+            if ((jugador == null || jugador.equals(mano.getNombre(asiento)))
+                    && (resultado == null || resultado == mano.getResultado(asiento))
+                    && (totalJugador < 0 || totalJugador == Math.min(mano.puntaje(asiento), PASADO))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("Consulta:");
+        if (cartaVisibleDealer > 0) {
+            sb.append(" Dealer muestra ").append(cartaVisibleDealer == 1 ? "As" : cartaVisibleDealer).append(';');
+        }
+        if (totalDealer >= 0) {
+            sb.append(" Dealer ").append(totalDealer == PASADO ? "se pasa" : "termina con " + totalDealer).append(';');
+        }
+        if (jugador != null) {
+            sb.append(" jugador ").append(jugador).append(';');
+        }
+        if (resultado != null) {
+            sb.append(" resultado ").append(resultado).append(';');
+        }
+        if (totalJugador >= 0) {
+            sb.append(" jugador ").append(totalJugador == PASADO ? "se pasa" : "termina con " + totalJugador)
+                    .append(';');
+        }
+        if (sb.charAt(sb.length() - 1) == ';') {
+            sb.setLength(sb.length() - 1);
+        } else {
+            sb.append(" todas las manos");
+        }
+        return sb.toString();
+    }
+}
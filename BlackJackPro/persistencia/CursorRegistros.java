@@ -0,0 +1,171 @@
+package persistencia;
+
+import logica.Carta;
+import logica.ResultadoMano;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Cursor reutilizable sobre los registros de un {@link DiarioJugadas}. No crea
+ * un objeto por registro: cada campo se lee directamente del búfer en la
+ * posición actual, así que los valores solo son válidos hasta el próximo
+ * {@link #avanzar()}. Quien necesite conservar un registro debe copiar sus
+ * campos.
+ *
+ * Un cursor no es seguro para varios hilos; cada recorrido usa el suyo.
+ */
+public final class CursorRegistros {
+
+    private static final ResultadoMano[] RESULTADOS = ResultadoMano.values();
+
+    private ByteBuffer datos;
+    private int posicion;
+    private int limite;
+    private int segmento;
+
+    CursorRegistros() {
+        this.posicion = -DiarioJugadas.TAMAÑO_REGISTRO;
+    }
+
+    /**
+     * Apunta el cursor al inicio de un búfer de registros, antes del primero.
+     *
+     * @param datos    Registros a recorrer, en {@link DiarioJugadas#ORDEN_BYTES}.
+     * @param segmento Número de segmento de donde vienen, o 0 si no aplica.
+     */
+    void apuntar(ByteBuffer datos, int segmento) {
+        this.datos = datos;
+        this.segmento = segmento;
+        // Un registro incompleto al final, por una escritura cortada, se ignora
+        this.limite = datos.limit() - datos.limit() % DiarioJugadas.TAMAÑO_REGISTRO;
+        this.posicion = -DiarioJugadas.TAMAÑO_REGISTRO;
+    }
+
+    /**
+     * Pasa al siguiente registro.
+     *
+     * @return true si hay un registro, false si se terminaron.
+     */
+    public boolean avanzar() {
+        if (posicion + DiarioJugadas.TAMAÑO_REGISTRO >= limite) {
+            posicion = limite;
+            return false;
+        }
+        posicion += DiarioJugadas.TAMAÑO_REGISTRO;
+        return true;
+    }
+
+    /**
+     * Ubica el cursor en el registro que empieza en la posición dada.
+     *
+     * @param posicion Posición en bytes, obtenida con {@link #getPosicion()}.
+     */
+    void irA(int posicion) {
+        this.posicion = posicion;
+    }
+
+    /**
+     * Posición en bytes del registro actual dentro de su búfer.
+     *
+     * @return Posición del registro actual.
+     */
+    public int getPosicion() {
+        return posicion;
+    }
+
+    /**
+     * Número de segmento del registro actual.
+     *
+     * @return Número de segmento.
+     */
+    public int getSegmento() {
+        return segmento;
+    }
+
+    public long getSesion() {
+        return datos.getLong(posicion);
+    }
+
+    public int getMano() {
+        return datos.getInt(posicion + 8);
+    }
+
+    /**
+     * Asiento del registro: 0 para el Dealer, desde 1 para los jugadores.
+     *
+     * @return Número de asiento.
+     */
+    public int getAsiento() {
+        return datos.get(posicion + 12);
+    }
+
+    public byte getTipo() {
+        return datos.get(posicion + 13);
+    }
+
+    public boolean esCarta() {
+        return getTipo() == DiarioJugadas.TIPO_CARTA;
+    }
+
+    public boolean esResultado() {
+        return getTipo() == DiarioJugadas.TIPO_RESULTADO;
+    }
+
+    /**
+     * Dato crudo del registro: ordinal de carta o de resultado, según el tipo.
+     *
+     * @return Valor del byte de dato.
+     */
+    public int getDato() {
+        return datos.get(posicion + 14);
+    }
+
+    /**
+     * Carta de un registro de carta. Devuelve la instancia compartida, así que
+     * no crea objetos.
+     *
+     * @return La carta recibida.
+     */
+    public Carta getCarta() {
+        return Carta.porOrdinal(datos.get(posicion + 14));
+    }
+
+    /**
+     * Resultado de un registro de resultado.
+     *
+     * @return Resultado de la mano del asiento.
+     */
+    public ResultadoMano getResultado() {
+        return RESULTADOS[datos.get(posicion + 14)];
+    }
+
+    /**
+     * Puntaje del asiento tras la carta, o puntaje final en un resultado.
+     *
+     * @return Puntaje guardado.
+     */
+    public int getPuntaje() {
+        return datos.get(posicion + 15);
+    }
+
+    /**
+     * Copia los bytes del registro actual al final de un búfer.
+     *
+     * @param destino Búfer con lugar para un registro.
+     */
+    void copiarA(ByteBuffer destino) {
+        for (int i = 0; i < DiarioJugadas.TAMAÑO_REGISTRO; i++) {
+            destino.put(datos.get(posicion + i));
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (posicion < 0 || posicion >= limite) {
+            return "Cursor fuera de los registros";
+        }
+        return "sesión " + getSesion() + ", mano " + getMano() + ", asiento " + getAsiento() + ": "
+                + (esCarta() ? getCarta() : esResultado() ? getResultado() : "tipo " + getTipo())
+                + " (puntaje " + getPuntaje() + ")";
+    }
+}
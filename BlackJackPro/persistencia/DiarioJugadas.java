@@ -0,0 +1,446 @@
+package persistencia;
+
+import logica.Carta;
+import logica.ResultadoMano;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diario binario de solo agregado con cada jugada de cada mano.
+ *
+ * Cada jugada es un registro de {@value #TAMAÑO_REGISTRO} bytes en orden
+ * little-endian:
+ * <pre>
+ *  0  long  sesión
+ *  8  int   número de mano dentro de la sesión
+ * 12  byte  asiento (0 = Dealer, 1 a 7 = asientos de la mesa)
+ * 13  byte  tipo ({@link #TIPO_CARTA} o {@link #TIPO_RESULTADO})
+ * 14  byte  ordinal de la carta, u ordinal del {@link ResultadoMano}
+ * 15  byte  puntaje después de la carta, o puntaje final de la mano
+ * </pre>
+ *
+ * Los registros se escriben en segmentos {@code diario-NNNNNN.bin} dentro de
+ * un directorio; al llenarse uno se abre el siguiente, y al abrir un diario
+ * existente se continúa en un segmento nuevo, sin tocar los anteriores.
+ *
+ * Cada ejecución que escribe en el diario debe pedir sus identificadores de
+ * sesión con {@link #reservarSesiones(int)}: el diario guarda el próximo
+ * identificador libre en {@value #ARCHIVO_SESIONES}, así que dos ejecuciones
+ * sobre el mismo directorio nunca repiten sesiones.
+ *
+ * Los registros se juntan en un lote en memoria y se escriben de a lotes con
+ * un {@link FileChannel} (confirmación agrupada): varios hilos pueden
+ * registrar a la vez, y las jugadas de todos viajan en la misma escritura y
+ * el mismo fsync, según la {@link PoliticaSincronizacion}. Un lote se escribe
+ * cuando se llena, con {@link #confirmar()} o al cerrar; lo que sigue en el
+ * lote cuando el proceso cae se pierde. Si la caída ocurre a mitad de una
+ * escritura, el segmento puede terminar con un registro incompleto, que los
+ * lectores deben descartar.
+ */
+public class DiarioJugadas {
+
+    /** Tamaño en bytes de cada registro. */
+    public static final int TAMAÑO_REGISTRO = 16;
+    /** Tipo de registro: una carta recibida. */
+    public static final byte TIPO_CARTA = 1;
+    /** Tipo de registro: el resultado de la mano de un asiento. */
+    public static final byte TIPO_RESULTADO = 2;
+    /** Asiento que identifica al Dealer. */
+    public static final int ASIENTO_DEALER = 0;
+    /** Orden de bytes de los registros. */
+    public static final ByteOrder ORDEN_BYTES = ByteOrder.LITTLE_ENDIAN;
+
+    /** Registros por lote si no se indica otra cantidad. */
+    public static final int REGISTROS_POR_LOTE = 4096;
+    /** Registros por segmento si no se indica otra cantidad (64 MB). */
+    public static final long REGISTROS_POR_SEGMENTO = 1L << 22;
+
+    /** Archivo del directorio con el próximo identificador de sesión libre. */
+    public static final String ARCHIVO_SESIONES = "sesiones.bin";
+
+    private static final String PREFIJO_SEGMENTO = "diario-";
+    private static final String EXTENSION_SEGMENTO = ".bin";
+    private static final long INTERVALO_SINCRONIZACION = TimeUnit.SECONDS.toNanos(1);
+
+    private final Path directorio;
+    private final PoliticaSincronizacion politica;
+    private final long registrosPorSegmento;
+
+    // Lote que se está llenando y lote libre para el próximo intercambio;
+    // protegidos por el monitor del diario
+    private ByteBuffer lote;
+    private ByteBuffer loteLibre;
+    private boolean cerrado;
+
+    // Estado del archivo, protegido por bloqueoEscritura
+    private final Object bloqueoEscritura = new Object();
+    private FileChannel canal;
+    private int numeroSegmento;
+    private long registrosEnSegmento;
+    private long ultimaSincronizacion;
+    private long registrosEscritos;
+    // Próximo identificador de sesión libre, protegido por bloqueoEscritura
+    private long siguienteSesion;
+
+    /**
+     * Abre un diario con sincronización periódica y tamaños por defecto.
+     *
+     * @param directorio Directorio de los segmentos; se crea si no existe.
+     */
+    public DiarioJugadas(Path directorio) {
+        this(directorio, PoliticaSincronizacion.PERIODICA);
+    }
+
+    /**
+     * Abre un diario con la política indicada y tamaños por defecto.
+     *
+     * @param directorio Directorio de los segmentos; se crea si no existe.
+     * @param politica   Cuándo forzar las escrituras al disco.
+     */
+    public DiarioJugadas(Path directorio, PoliticaSincronizacion politica) {
+        this(directorio, politica, REGISTROS_POR_LOTE, REGISTROS_POR_SEGMENTO);
+    }
+
+    /**
+     * Abre un diario.
+     *
+     * @param directorio           Directorio de los segmentos; se crea si no
+     *                             existe.
+     * @param politica             Cuándo forzar las escrituras al disco.
+     * @param registrosPorLote     Registros que se juntan antes de escribir.
+     * @param registrosPorSegmento Registros de cada archivo antes de pasar al
+     *                             siguiente.
+     * @throws UncheckedIOException si no se pudo preparar el directorio.
+     */
+    public DiarioJugadas(Path directorio, PoliticaSincronizacion politica, int registrosPorLote,
+            long registrosPorSegmento) {
+        if (politica == null) {
+            throw new IllegalArgumentException("La política no puede ser null");
+        }
+        if (registrosPorLote < 1 || registrosPorSegmento < 1) {
+            throw new IllegalArgumentException("Los tamaños de lote y segmento deben ser positivos");
+        }
+        this.directorio = directorio;
+        this.politica = politica;
+        this.registrosPorSegmento = registrosPorSegmento;
+        this.lote = ByteBuffer.allocateDirect(registrosPorLote * TAMAÑO_REGISTRO).order(ORDEN_BYTES);
+        this.loteLibre = ByteBuffer.allocateDirect(registrosPorLote * TAMAÑO_REGISTRO).order(ORDEN_BYTES);
+        this.ultimaSincronizacion = System.nanoTime();
+
+        try {
+            Files.createDirectories(directorio);
+            this.numeroSegmento = ultimoSegmento(directorio) + 1;
+            this.siguienteSesion = leerSiguienteSesion(directorio);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo preparar el diario en " + directorio, e);
+        }
+    }
+
+    /**
+     * Nombre del archivo de un segmento.
+     *
+     * @param numero Número de segmento.
+     * @return Nombre del archivo, por ejemplo {@code diario-000001.bin}.
+     */
+    public static String nombreSegmento(int numero) {
+        return String.format("%s%06d%s", PREFIJO_SEGMENTO, numero, EXTENSION_SEGMENTO);
+    }
+
+    /**
+     * Número de segmento de un archivo del diario.
+     *
+     * @param archivo Nombre o ruta del archivo.
+     * @return Número de segmento, o -1 si no es un segmento del diario.
+     */
+    public static int numeroDeSegmento(Path archivo) {
+        String nombre = archivo.getFileName().toString();
+        if (!nombre.startsWith(PREFIJO_SEGMENTO) || !nombre.endsWith(EXTENSION_SEGMENTO)) {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(nombre.substring(PREFIJO_SEGMENTO.length(),
+                    nombre.length() - EXTENSION_SEGMENTO.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static int ultimoSegmento(Path directorio) throws IOException {
+        int ultimo = 0;
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio)) {
+            for (Path archivo : archivos) {
+                ultimo = Math.max(ultimo, numeroDeSegmento(archivo));
+            }
+        }
+        return ultimo;
+    }
+
+    // Lee el contador de sesiones; un diario anterior al contador se recorre
+    // una vez para no repetir sus sesiones
+    private static long leerSiguienteSesion(Path directorio) throws IOException {
+        Path archivo = directorio.resolve(ARCHIVO_SESIONES);
+        if (Files.exists(archivo)) {
+            ByteBuffer contador = ByteBuffer.wrap(Files.readAllBytes(archivo)).order(ORDEN_BYTES);
+            if (contador.remaining() != Long.BYTES) {
+                throw new IllegalStateException("Contador de sesiones dañado en " + archivo);
+            }
+            return contador.getLong();
+        }
+        long mayor = 0;
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio)) {
+            for (Path segmento : archivos) {
+                if (numeroDeSegmento(segmento) < 0) {
+                    continue;
+                }
+                try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ)) {
+                    ByteBuffer datos = canal.map(FileChannel.MapMode.READ_ONLY, 0, canal.size()).order(ORDEN_BYTES);
+                    for (int i = 0; i + TAMAÑO_REGISTRO <= datos.limit(); i += TAMAÑO_REGISTRO) {
+                        mayor = Math.max(mayor, datos.getLong(i));
+                    }
+                }
+            }
+        }
+        return mayor + 1;
+    }
+
+    /**
+     * Reserva identificadores de sesión que ninguna otra ejecución sobre este
+     * directorio usó ni usará. El contador se guarda en el disco antes de
+     * devolverlos.
+     *
+     * @param cantidad Cantidad de sesiones consecutivas.
+     * @return Primer identificador reservado; los demás le siguen.
+     * @throws UncheckedIOException si no se pudo guardar el contador.
+     */
+    public long reservarSesiones(int cantidad) {
+        if (cantidad < 1) {
+            throw new IllegalArgumentException("Hay que reservar al menos una sesión");
+        }
+        synchronized (bloqueoEscritura) {
+            long primera = siguienteSesion;
+            ByteBuffer contador = ByteBuffer.allocate(Long.BYTES).order(ORDEN_BYTES);
+            contador.putLong(primera + cantidad).flip();
+            try (FileChannel archivo = FileChannel.open(directorio.resolve(ARCHIVO_SESIONES),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                while (contador.hasRemaining()) {
+                    archivo.write(contador, contador.position());
+                }
+                archivo.force(false);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo guardar el contador de sesiones en " + directorio, e);
+            }
+            siguienteSesion = primera + cantidad;
+            return primera;
+        }
+    }
+
+    /**
+     * Registra una carta recibida.
+     *
+     * @param sesion  Identificador de la sesión.
+     * @param mano    Número de mano dentro de la sesión.
+     * @param asiento Asiento que recibe la carta, o {@link #ASIENTO_DEALER}.
+     * @param carta   Carta recibida.
+     * @param puntaje Puntaje del asiento después de recibirla.
+     */
+    public void registrarCarta(long sesion, int mano, int asiento, Carta carta, int puntaje) {
+        registrar(sesion, mano, asiento, TIPO_CARTA, carta.obtenerOrdinal(), puntaje);
+    }
+
+    /**
+     * Registra el resultado de la mano de un asiento.
+     *
+     * @param sesion    Identificador de la sesión.
+     * @param mano      Número de mano dentro de la sesión.
+     * @param asiento   Asiento del jugador.
+     * @param resultado Resultado desde el punto de vista del jugador.
+     * @param puntaje   Puntaje final del jugador.
+     */
+    public void registrarResultado(long sesion, int mano, int asiento, ResultadoMano resultado, int puntaje) {
+        registrar(sesion, mano, asiento, TIPO_RESULTADO, resultado.ordinal(), puntaje);
+    }
+
+    private void registrar(long sesion, int mano, int asiento, byte tipo, int dato, int puntaje) {
+        if (asiento < 0 || asiento > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("Asiento fuera de rango: " + asiento);
+        }
+        boolean lleno;
+        synchronized (this) {
+            if (cerrado) {
+                throw new IllegalStateException("El diario ya fue cerrado");
+            }
+            // Si el lote está lleno es porque otro hilo lo está por escribir.
+            // Si mientras tanto se cerró el diario, nadie escribiría el lote nuevo
+            while (!lote.hasRemaining()) {
+                esperarLote();
+                if (cerrado) {
+                    throw new IllegalStateException("El diario ya fue cerrado");
+                }
+            }
+            lote.putLong(sesion)
+                    .putInt(mano)
+                    .put((byte) asiento)
+                    .put(tipo)
+                    .put((byte) dato)
+                    .put((byte) Math.min(puntaje, Byte.MAX_VALUE));
+            lleno = !lote.hasRemaining();
+        }
+        if (lleno) {
+            confirmar();
+        }
+    }
+
+    // Espera, dentro del monitor, a que un hilo escritor intercambie el lote
+    private void esperarLote() {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrumpido esperando al diario", e);
+        }
+    }
+
+    /**
+     * Escribe el lote en curso con todo lo registrado hasta ahora, por
+     * cualquier hilo, y lo sincroniza según la política.
+     *
+     * @throws UncheckedIOException si falló la escritura.
+     */
+    public void confirmar() {
+        synchronized (bloqueoEscritura) {
+            ByteBuffer aEscribir;
+            synchronized (this) {
+                if (lote.position() == 0) {
+                    return;
+                }
+                aEscribir = lote;
+                lote = loteLibre;
+                loteLibre = null;
+                notifyAll();
+            }
+
+            aEscribir.flip();
+            try {
+                escribirLote(aEscribir);
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo escribir el diario en " + directorio, e);
+            } finally {
+                aEscribir.clear();
+                synchronized (this) {
+                    loteLibre = aEscribir;
+                }
+            }
+        }
+    }
+
+    // Escribe el lote, repartiéndolo entre segmentos si hace falta
+    private void escribirLote(ByteBuffer datos) throws IOException {
+        while (datos.hasRemaining()) {
+            if (canal == null || registrosEnSegmento == registrosPorSegmento) {
+                abrirSiguienteSegmento();
+            }
+            long registros = Math.min(datos.remaining() / TAMAÑO_REGISTRO,
+                    registrosPorSegmento - registrosEnSegmento);
+            int limite = datos.limit();
+            datos.limit(datos.position() + (int) registros * TAMAÑO_REGISTRO);
+            while (datos.hasRemaining()) {
+                canal.write(datos);
+            }
+            datos.limit(limite);
+            registrosEnSegmento += registros;
+            registrosEscritos += registros;
+        }
+        sincronizarSegunPolitica(false);
+    }
+
+    private void abrirSiguienteSegmento() throws IOException {
+        if (canal != null) {
+            // El segmento que se deja ya no volverá a tocarse
+            sincronizarSegunPolitica(true);
+            canal.close();
+        }
+        canal = FileChannel.open(directorio.resolve(nombreSegmento(numeroSegmento)),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        numeroSegmento++;
+        registrosEnSegmento = 0;
+    }
+
+    private void sincronizarSegunPolitica(boolean finalDeSegmento) throws IOException {
+        if (canal == null || politica == PoliticaSincronizacion.NUNCA) {
+            return;
+        }
+        long ahora = System.nanoTime();
+        if (politica == PoliticaSincronizacion.CADA_LOTE || finalDeSegmento
+                || ahora - ultimaSincronizacion >= INTERVALO_SINCRONIZACION) {
+            canal.force(false);
+            ultimaSincronizacion = ahora;
+        }
+    }
+
+    /**
+     * Cantidad de registros ya entregados al sistema de archivos.
+     *
+     * @return Registros escritos desde que se abrió el diario.
+     */
+    public long getRegistrosEscritos() {
+        synchronized (bloqueoEscritura) {
+            return registrosEscritos;
+        }
+    }
+
+    /**
+     * Devuelve el directorio de los segmentos.
+     *
+     * @return Directorio del diario.
+     */
+    public Path getDirectorio() {
+        return directorio;
+    }
+
+    /**
+     * Devuelve la política de sincronización del diario.
+     *
+     * @return Política elegida al abrirlo.
+     */
+    public PoliticaSincronizacion getPolitica() {
+        return politica;
+    }
+
+    /**
+     * Escribe lo pendiente, lo fuerza al disco salvo con la política
+     * {@link PoliticaSincronizacion#NUNCA} y cierra el segmento actual.
+     *
+     * @throws UncheckedIOException si falló la escritura.
+     */
+    public void cerrar() {
+        synchronized (this) {
+            if (cerrado) {
+                return;
+            }
+            cerrado = true;
+        }
+        confirmar();
+        synchronized (bloqueoEscritura) {
+            if (canal == null) {
+                return;
+            }
+            try {
+                sincronizarSegunPolitica(true);
+                canal.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("No se pudo cerrar el diario en " + directorio, e);
+            } finally {
+                canal = null;
+            }
+        }
+    }
+}
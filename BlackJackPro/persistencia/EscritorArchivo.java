@@ -0,0 +1,276 @@
+package persistencia;
+
+import componentes.TablaHash;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Escribe un archivo de sesiones comprimido que luego lee
+ * {@link ArchivoSesiones}. Las manos se agrupan en bloques de bits:
+ * <ul>
+ * <li>cada carta ocupa 6 bits y cada resultado 3;</li>
+ * <li>la sesión y el número de mano se guardan como diferencia con la mano
+ * anterior del bloque, y una mano que sigue a la anterior de su misma sesión
+ * ocupa un solo bit para ambos;</li>
+ * <li>los nombres de los jugadores van a un diccionario y cada mano guarda
+ * solo un bit si los asientos no cambiaron;</li>
+ * <li>los puntajes no se guardan: salen de las cartas.</li>
+ * </ul>
+ *
+ * Al cerrar se agregan el diccionario, un índice con la posición, la cantidad
+ * de manos y el rango de sesiones de cada bloque, y un pie que apunta al
+ * índice. Cada bloque se decodifica por separado, así que se puede leer
+ * cualquiera sin recorrer los anteriores.
+ *
+ * Varios hilos pueden agregar manos a la vez.
+ */
+public class EscritorArchivo {
+
+    /** Número mágico al inicio y al final del archivo ("BJA1"). */
+    static final int MAGICO = 0x424A4131;
+    static final int VERSION = 1;
+    static final int TAMAÑO_ENCABEZADO = 8;
+    static final int TAMAÑO_ENTRADA_INDICE = 32;
+    static final int TAMAÑO_PIE = 24;
+
+    static final int BITS_ASIENTOS = 3;
+    static final int BITS_CANTIDAD_CARTAS = 5;
+    static final int BITS_CARTA = 6;
+    static final int BITS_RESULTADO = 3;
+
+    /** Manos por bloque si no se indica otra cantidad. */
+    public static final int MANOS_POR_BLOQUE = 4096;
+
+    private final Path archivo;
+    private final FileChannel canal;
+    private final int manosPorBloque;
+    private final EscritorBits bits;
+    private final TablaHash<String, Integer> idsNombres;
+    private final List<String> nombres;
+
+    // Índice de los bloques ya escritos
+    private final List<long[]> indice;
+    private long posicion;
+
+    // Estado del bloque en curso
+    private int manosEnBloque;
+    private long sesionAnterior;
+    private int manoAnterior;
+    private long sesionMinima;
+    private long sesionMaxima;
+    private final int[] idsAnteriores;
+    private int asientosAnteriores;
+    private boolean cerrado;
+
+    /**
+     * Crea el archivo con el tamaño de bloque por defecto.
+     *
+     * @param archivo Ruta del archivo; no debe existir.
+     */
+    public EscritorArchivo(Path archivo) {
+        this(archivo, MANOS_POR_BLOQUE);
+    }
+
+    /**
+     * Crea el archivo.
+     *
+     * @param archivo        Ruta del archivo; no debe existir.
+     * @param manosPorBloque Manos de cada bloque. Bloques más chicos permiten
+     *                       lecturas puntuales más baratas a costa de un
+     *                       índice más grande.
+     * @throws UncheckedIOException si no se pudo crear el archivo.
+     */
+    public EscritorArchivo(Path archivo, int manosPorBloque) {
+        if (manosPorBloque < 1) {
+            throw new IllegalArgumentException("Un bloque necesita al menos una mano");
+        }
+        this.archivo = archivo;
+        this.manosPorBloque = manosPorBloque;
+        this.bits = new EscritorBits(manosPorBloque * 8);
+        this.idsNombres = new TablaHash<>();
+        this.nombres = new ArrayList<>();
+        this.indice = new ArrayList<>();
+        this.idsAnteriores = new int[ManoArchivada.MAXIMO_ASIENTOS + 1];
+        try {
+            this.canal = FileChannel.open(archivo, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+            ByteBuffer encabezado = ByteBuffer.allocate(TAMAÑO_ENCABEZADO).order(DiarioJugadas.ORDEN_BYTES);
+            encabezado.putInt(MAGICO).putInt(VERSION).flip();
+            escribirTodo(encabezado);
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo crear " + archivo, e);
+        }
+        empezarBloque();
+    }
+
+    private void empezarBloque() {
+        bits.reiniciar();
+        manosEnBloque = 0;
+        sesionAnterior = 0;
+        manoAnterior = 0;
+        sesionMinima = Long.MAX_VALUE;
+        sesionMaxima = Long.MIN_VALUE;
+        asientosAnteriores = -1;
+    }
+
+    /**
+     * Agrega una mano terminada al bloque en curso.
+     *
+     * @param mano Mano a guardar; se copia, así que puede reutilizarse.
+     * @throws UncheckedIOException si falló la escritura de un bloque.
+     */
+    public synchronized void agregarMano(ManoArchivada mano) {
+        if (cerrado) {
+            throw new IllegalStateException("El archivo ya fue cerrado");
+        }
+
+        // Sesión y número de mano: un bit si es la siguiente de la misma sesión
+        boolean siguiente = manosEnBloque > 0 && mano.getSesion() == sesionAnterior
+                && mano.getMano() == manoAnterior + 1;
+        bits.escribir(siguiente ? 1 : 0, 1);
+        if (!siguiente) {
+            bits.escribirEntero(mano.getSesion() - sesionAnterior);
+            bits.escribirEntero((long) mano.getMano() - manoAnterior - 1);
+        }
+
+        // Jugadores sentados: un bit si son los mismos de la mano anterior
+        int asientos = mano.getCantidadAsientos();
+        boolean mismosJugadores = asientos == asientosAnteriores;
+        for (int asiento = 1; mismosJugadores && asiento <= asientos; asiento++) {
+            mismosJugadores = idDe(mano.getNombre(asiento)) == idsAnteriores[asiento];
+        }
+        bits.escribir(mismosJugadores ? 1 : 0, 1);
+        if (!mismosJugadores) {
+            bits.escribir(asientos, BITS_ASIENTOS);
+            for (int asiento = 1; asiento <= asientos; asiento++) {
+                idsAnteriores[asiento] = idDe(mano.getNombre(asiento));
+                bits.escribirNatural(idsAnteriores[asiento]);
+            }
+            asientosAnteriores = asientos;
+        }
+
+        for (int asiento = 1; asiento <= asientos; asiento++) {
+            escribirCartas(mano, asiento);
+            bits.escribir(mano.getResultado(asiento) != null ? mano.getResultado(asiento).ordinal() + 1 : 0,
+                    BITS_RESULTADO);
+        }
+        escribirCartas(mano, DiarioJugadas.ASIENTO_DEALER);
+
+        sesionAnterior = mano.getSesion();
+        manoAnterior = mano.getMano();
+        sesionMinima = Math.min(sesionMinima, sesionAnterior);
+        sesionMaxima = Math.max(sesionMaxima, sesionAnterior);
+        if (++manosEnBloque == manosPorBloque) {
+            terminarBloque();
+        }
+    }
+
+    private void escribirCartas(ManoArchivada mano, int asiento) {
+        int cantidad = mano.getCantidadCartas(asiento);
+        bits.escribir(cantidad, BITS_CANTIDAD_CARTAS);
+        for (int i = 0; i < cantidad; i++) {
+            bits.escribir(mano.getOrdinal(asiento, i), BITS_CARTA);
+        }
+    }
+
+    // Identificador del nombre en el diccionario; 0 si no hay nombre
+    private int idDe(String nombre) {
+        if (nombre == null) {
+            return 0;
+        }
+        Integer id = idsNombres.obtener(nombre);
+        if (id == null) {
+            nombres.add(nombre);
+            id = nombres.size();
+            idsNombres.insertar(nombre, id);
+        }
+        return id;
+    }
+
+    // Escribe el bloque en curso y lo agrega al índice
+    private void terminarBloque() {
+        if (manosEnBloque == 0) {
+            return;
+        }
+        bits.completarByte();
+        try {
+            escribirTodo(ByteBuffer.wrap(bits.getBytes(), 0, bits.getCantidadBytes()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo escribir " + archivo, e);
+        }
+        indice.add(new long[] { posicion - bits.getCantidadBytes(), bits.getCantidadBytes(), manosEnBloque,
+                sesionMinima, sesionMaxima });
+        empezarBloque();
+    }
+
+    private void escribirTodo(ByteBuffer datos) throws IOException {
+        while (datos.hasRemaining()) {
+            posicion += canal.write(datos);
+        }
+    }
+
+    /**
+     * Escribe el último bloque, el diccionario de nombres, el índice y el pie,
+     * y cierra el archivo.
+     *
+     * @throws UncheckedIOException si falló la escritura.
+     */
+    public synchronized void cerrar() {
+        if (cerrado) {
+            return;
+        }
+        terminarBloque();
+        cerrado = true;
+        try {
+            long posicionNombres = posicion;
+            int largo = 4;
+            List<byte[]> codificados = new ArrayList<>();
+            for (String nombre : nombres) {
+                byte[] bytes = nombre.getBytes(StandardCharsets.UTF_8);
+                codificados.add(bytes);
+                largo += 4 + bytes.length;
+            }
+            ByteBuffer diccionario = ByteBuffer.allocate(largo).order(DiarioJugadas.ORDEN_BYTES);
+            diccionario.putInt(codificados.size());
+            for (byte[] bytes : codificados) {
+                diccionario.putInt(bytes.length).put(bytes);
+            }
+            diccionario.flip();
+            escribirTodo(diccionario);
+
+            long posicionIndice = posicion;
+            ByteBuffer datosIndice = ByteBuffer.allocate(indice.size() * TAMAÑO_ENTRADA_INDICE + TAMAÑO_PIE)
+                    .order(DiarioJugadas.ORDEN_BYTES);
+            for (long[] entrada : indice) {
+                datosIndice.putLong(entrada[0])
+                        .putInt((int) entrada[1])
+                        .putInt((int) entrada[2])
+                        .putLong(entrada[3])
+                        .putLong(entrada[4]);
+            }
+            datosIndice.putLong(posicionNombres).putLong(posicionIndice).putInt(indice.size()).putInt(MAGICO);
+            datosIndice.flip();
+            escribirTodo(datosIndice);
+            canal.force(false);
+            canal.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo terminar " + archivo, e);
+        }
+    }
+
+    /**
+     * Cantidad de bytes escritos hasta ahora.
+     *
+     * @return Tamaño actual del archivo.
+     */
+    public synchronized long getBytesEscritos() {
+        return posicion;
+    }
+}
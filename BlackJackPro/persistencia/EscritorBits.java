@@ -0,0 +1,100 @@
+package persistencia;
+
+/**
+ * Escribe valores de cualquier cantidad de bits, uno tras otro y empezando por
+ * el bit más significativo, en un arreglo de bytes que crece solo.
+ *
+ * Para los números sin un tope conocido usa el código gamma de Elias: los
+ * valores chicos, que son los comunes, ocupan pocos bits.
+ */
+final class EscritorBits {
+
+    private byte[] bytes;
+    private int cantidadBytes;
+    private long acumulador;
+    private int bitsPendientes;
+
+    EscritorBits(int capacidadInicial) {
+        this.bytes = new byte[Math.max(capacidadInicial, 16)];
+    }
+
+    /**
+     * Escribe los bits más bajos de un valor.
+     *
+     * @param valor Valor a escribir.
+     * @param bits  Cantidad de bits, entre 1 y 32.
+     */
+    void escribir(int valor, int bits) {
+        acumulador = (acumulador << bits) | (valor & ((1L << bits) - 1));
+        bitsPendientes += bits;
+        while (bitsPendientes >= 8) {
+            bitsPendientes -= 8;
+            agregarByte((byte) (acumulador >>> bitsPendientes));
+        }
+    }
+
+    /**
+     * Escribe un número natural (0 incluido) en código gamma.
+     *
+     * @param valor Número mayor o igual a 0 y menor que 2^62.
+     */
+    void escribirNatural(long valor) {
+        long n = valor + 1;
+        int largo = 64 - Long.numberOfLeadingZeros(n);
+        // Largo - 1 ceros y luego el número con su bit más alto en 1
+        for (int ceros = largo - 1; ceros > 0; ceros -= Math.min(ceros, 32)) {
+            escribir(0, Math.min(ceros, 32));
+        }
+        if (largo > 32) {
+            escribir((int) (n >>> 32), largo - 32);
+            escribir((int) n, 32);
+        } else {
+            escribir((int) n, largo);
+        }
+    }
+
+    /**
+     * Escribe un entero con signo, intercalando positivos y negativos para
+     * que los valores cercanos a cero ocupen pocos bits.
+     *
+     * @param valor Entero a escribir.
+     */
+    void escribirEntero(long valor) {
+        escribirNatural((valor << 1) ^ (valor >> 63));
+    }
+
+    /**
+     * Completa el último byte con ceros.
+     */
+    void completarByte() {
+        if (bitsPendientes > 0) {
+            escribir(0, 8 - bitsPendientes);
+        }
+    }
+
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    int getCantidadBytes() {
+        return cantidadBytes;
+    }
+
+    /**
+     * Vacía el escritor para volver a usarlo con su arreglo actual.
+     */
+    void reiniciar() {
+        cantidadBytes = 0;
+        acumulador = 0;
+        bitsPendientes = 0;
+    }
+
+    private void agregarByte(byte valor) {
+        if (cantidadBytes == bytes.length) {
+            byte[] mayor = new byte[bytes.length * 2];
+            System.arraycopy(bytes, 0, mayor, 0, cantidadBytes);
+            bytes = mayor;
+        }
+        bytes[cantidadBytes++] = valor;
+    }
+}
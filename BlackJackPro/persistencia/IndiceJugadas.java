@@ -0,0 +1,289 @@
+package persistencia;
+
+import componentes.TablaHash;
+import componentes.TablaHashLong;
+import logica.ResultadoMano;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Índices secundarios sobre un {@link ArchivoSesiones}: para cada bloque del
+ * archivo guarda un mapa de bits por carta visible del Dealer, total final
+ * del Dealer, resultado, total final de los jugadores y nombre de jugador. El
+ * bit i de un mapa indica si la mano i del bloque tiene ese valor.
+ *
+ * Una consulta intersecta los mapas de sus condiciones bloque por bloque, así
+ * que contar no decodifica ninguna mano y recorrer solo decodifica los
+ * bloques con alguna coincidencia. Los mapas de jugador son por mano, no por
+ * asiento: cuando una consulta combina varias condiciones de jugador se
+ * decodifican los candidatos para comprobar que las cumple un mismo asiento.
+ *
+ * Los nombres se traducen a identificadores con un diccionario en una
+ * {@link TablaHash}. Un mapa que no tendría ningún bit encendido no se crea.
+ *
+ * El índice se arma al crearlo y no cambia después, así que puede consultarse
+ * desde varios hilos.
+ */
+public class IndiceJugadas {
+
+    private static final int RESULTADOS = ResultadoMano.values().length;
+
+    // Mapas de bits de las manos de un bloque; null si ninguna mano tiene el valor
+    private static final class BloqueIndice {
+        final int manos;
+        final long[][] porCartaVisible;
+        final long[][] porTotalDealer;
+        final long[][] porResultado;
+        final long[][] porTotalJugador;
+        final TablaHashLong<long[]> porJugador;
+        // Con un solo asiento por mano, los mapas de jugador son exactos
+        boolean unAsiento;
+
+        BloqueIndice(int manos) {
+            this.manos = manos;
+            this.unAsiento = true;
+            this.porCartaVisible = new long[11][];
+            this.porTotalDealer = new long[ConsultaJugadas.PASADO + 1][];
+            this.porResultado = new long[RESULTADOS][];
+            this.porTotalJugador = new long[ConsultaJugadas.PASADO + 1][];
+            this.porJugador = new TablaHashLong<>();
+        }
+
+        // Enciende el bit de una mano en el mapa de un valor, creándolo si falta
+        void marcar(long[][] mapas, int valor, int posicion) {
+            if (mapas[valor] == null) {
+                mapas[valor] = new long[palabras(manos)];
+            }
+            mapas[valor][posicion >>> 6] |= 1L << posicion;
+        }
+    }
+
+    private final ArchivoSesiones archivo;
+    private final TablaHash<String, Integer> idsNombres;
+    private final BloqueIndice[] bloques;
+    private long bytesMapas;
+
+    /**
+     * Arma los índices recorriendo una vez todo el archivo.
+     *
+     * @param archivo Archivo de sesiones a indexar.
+     */
+    public IndiceJugadas(ArchivoSesiones archivo) {
+        this.archivo = archivo;
+        this.idsNombres = new TablaHash<>();
+        this.bloques = new BloqueIndice[archivo.getCantidadBloques()];
+        ManoArchivada mano = new ManoArchivada();
+        int[] posicion = new int[1];
+        for (int i = 0; i < bloques.length; i++) {
+            BloqueIndice bloque = new BloqueIndice(archivo.getManosDelBloque(i));
+            posicion[0] = 0;
+            archivo.leerBloque(i, mano, m -> indexar(bloque, posicion[0]++, m));
+            bloques[i] = bloque;
+        }
+    }
+
+    private void indexar(BloqueIndice bloque, int posicion, ManoArchivada mano) {
+        if (mano.getCartaVisibleDealer() != null) {
+            bloque.marcar(bloque.porCartaVisible, mano.getCartaVisibleDealer().obtenerValorJuego(), posicion);
+            bloque.marcar(bloque.porTotalDealer, total(mano, DiarioJugadas.ASIENTO_DEALER), posicion);
+        }
+        bloque.unAsiento &= mano.getCantidadAsientos() <= 1;
+        for (int asiento = 1; asiento <= mano.getCantidadAsientos(); asiento++) {
+            if (mano.getCantidadCartas(asiento) > 0) {
+                bloque.marcar(bloque.porTotalJugador, total(mano, asiento), posicion);
+            }
+            if (mano.getResultado(asiento) != null) {
+                bloque.marcar(bloque.porResultado, mano.getResultado(asiento).ordinal(), posicion);
+            }
+            String nombre = mano.getNombre(asiento);
+            if (nombre != null) {
+                int id = idDe(nombre);
+                long[] mapa = bloque.porJugador.obtener(id);
+                if (mapa == null) {
+                    mapa = new long[palabras(bloque.manos)];
+                    bloque.porJugador.insertar(id, mapa);
+                    bytesMapas += mapa.length * 8L;
+                }
+                mapa[posicion >>> 6] |= 1L << posicion;
+            }
+        }
+    }
+
+    private static int total(ManoArchivada mano, int asiento) {
+        return Math.min(mano.puntaje(asiento), ConsultaJugadas.PASADO);
+    }
+
+    private int idDe(String nombre) {
+        Integer id = idsNombres.obtener(nombre);
+        if (id == null) {
+            id = idsNombres.tamaño() + 1;
+            idsNombres.insertar(nombre, id);
+        }
+        return id;
+    }
+
+    private static int palabras(int manos) {
+        return (manos + 63) >>> 6;
+    }
+
+    /**
+     * Calcula las manos de un bloque que cumplen las condiciones de la
+     * consulta según los mapas de bits.
+     *
+     * @return Mapa con las coincidencias, o null si no hay ninguna.
+     */
+    private long[] coincidencias(BloqueIndice bloque, ConsultaJugadas consulta) {
+        long[] resultado = new long[palabras(bloque.manos)];
+        Arrays.fill(resultado, -1L);
+        if (bloque.manos % 64 != 0) {
+            resultado[resultado.length - 1] = (1L << bloque.manos) - 1;
+        }
+        if (consulta.getCartaVisibleDealer() > 0
+                && !intersectar(resultado, bloque.porCartaVisible[consulta.getCartaVisibleDealer()])) {
+            return null;
+        }
+        if (consulta.getTotalDealer() >= 0
+                && !intersectar(resultado, bloque.porTotalDealer[consulta.getTotalDealer()])) {
+            return null;
+        }
+        if (consulta.getResultado() != null
+                && !intersectar(resultado, bloque.porResultado[consulta.getResultado().ordinal()])) {
+            return null;
+        }
+        if (consulta.getTotalJugador() >= 0
+                && !intersectar(resultado, bloque.porTotalJugador[consulta.getTotalJugador()])) {
+            return null;
+        }
+        if (consulta.getJugador() != null) {
+            Integer id = idsNombres.obtener(consulta.getJugador());
+            if (id == null || !intersectar(resultado, bloque.porJugador.obtener(id))) {
+                return null;
+            }
+        }
+        return resultado;
+    }
+
+    // Deja en el resultado solo los bits también encendidos en el mapa
+    private static boolean intersectar(long[] resultado, long[] mapa) {
+        if (mapa == null) {
+            return false;
+        }
+        long restantes = 0;
+        for (int i = 0; i < resultado.length; i++) {
+            resultado[i] &= mapa[i];
+            restantes |= resultado[i];
+        }
+        return restantes != 0;
+    }
+
+    /**
+     * Cuenta las manos que cumplen la consulta. Alcanzan los mapas de bits
+     * si la consulta tiene a lo sumo una condición de jugador o si el bloque
+     * solo tiene manos de un asiento; si no, se decodifican los candidatos.
+     *
+     * @param consulta Condiciones de la búsqueda.
+     * @return Cantidad de manos que la cumplen.
+     */
+    public long contar(ConsultaJugadas consulta) {
+        boolean mapasExactos = consulta.condicionesDeAsiento() <= 1;
+        ManoArchivada mano = new ManoArchivada();
+        long total = 0;
+        for (int i = 0; i < bloques.length; i++) {
+            long[] mapa = coincidencias(bloques[i], consulta);
+            if (mapa == null) {
+                continue;
+            }
+            if (mapasExactos || bloques[i].unAsiento) {
+                for (long palabra : mapa) {
+                    total += Long.bitCount(palabra);
+                }
+            } else {
+                total += recorrerBloque(i, mapa, consulta, mano, m -> { });
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Recorre en orden las manos que cumplen la consulta, decodificando solo
+     * los bloques con alguna coincidencia.
+     *
+     * @param consulta Condiciones de la búsqueda.
+     * @param accion   Acción que recibe cada mano; no debe guardarla.
+     * @return Cantidad de manos recorridas.
+     */
+    public long recorrer(ConsultaJugadas consulta, Consumer<ManoArchivada> accion) {
+        ManoArchivada mano = new ManoArchivada();
+        long encontradas = 0;
+        for (int i = 0; i < bloques.length; i++) {
+            long[] mapa = coincidencias(bloques[i], consulta);
+            if (mapa != null) {
+                encontradas += recorrerBloque(i, mapa, consulta, mano, accion);
+            }
+        }
+        return encontradas;
+    }
+
+    // Decodifica un bloque y entrega las manos marcadas que cumplen la consulta
+    private long recorrerBloque(int bloque, long[] mapa, ConsultaJugadas consulta, ManoArchivada mano,
+            Consumer<ManoArchivada> accion) {
+        int[] posicion = new int[1];
+        long[] encontradas = new long[1];
+        archivo.leerBloque(bloque, mano, m -> {
+            int actual = posicion[0]++;
+            if ((mapa[actual >>> 6] & (1L << actual)) != 0 && consulta.cumpleAsiento(m)) {
+                encontradas[0]++;
+                accion.accept(m);
+            }
+        });
+        return encontradas[0];
+    }
+
+    /**
+     * Cantidad de bloques que decodificaría {@link #recorrer} para la
+     * consulta.
+     *
+     * @param consulta Condiciones de la búsqueda.
+     * @return Bloques con alguna coincidencia según los mapas.
+     */
+    public int contarBloquesCandidatos(ConsultaJugadas consulta) {
+        int candidatos = 0;
+        for (BloqueIndice bloque : bloques) {
+            if (coincidencias(bloque, consulta) != null) {
+                candidatos++;
+            }
+        }
+        return candidatos;
+    }
+
+    /**
+     * Memoria aproximada que ocupan los mapas de bits.
+     *
+     * @return Bytes de los mapas creados.
+     */
+    public long getBytesMapas() {
+        long total = bytesMapas;
+        for (BloqueIndice bloque : bloques) {
+            total += bytesDe(bloque.porCartaVisible) + bytesDe(bloque.porTotalDealer)
+                    + bytesDe(bloque.porResultado) + bytesDe(bloque.porTotalJugador);
+        }
+        return total;
+    }
+
+    private static long bytesDe(long[][] mapas) {
+        long total = 0;
+        for (long[] mapa : mapas) {
+            if (mapa != null) {
+                total += mapa.length * 8L;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public String toString() {
+        return "Índice de " + bloques.length + " bloques y " + idsNombres.tamaño() + " jugadores ("
+                + getBytesMapas() + " bytes en mapas de bits)";
+    }
+}
@@ -0,0 +1,98 @@
+package persistencia;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Resultado de verificar un diario contra las reglas: cuántas manos y
+ * registros se revisaron y qué discrepancias aparecieron. Solo se guarda el
+ * texto de las primeras discrepancias; las demás solo se cuentan.
+ */
+public class InformeVerificacion {
+
+    private static final int EJEMPLOS_MAXIMOS = 10;
+
+    private long registros;
+    private long manos;
+    private long discrepancias;
+    private final List<String> ejemplos;
+
+    public InformeVerificacion() {
+        this.ejemplos = new ArrayList<>();
+    }
+
+    void contarRegistros(long cantidad) {
+        registros += cantidad;
+    }
+
+    void contarMano() {
+        manos++;
+    }
+
+    void agregarDiscrepancia(long sesion, int mano, String descripcion) {
+        discrepancias++;
+        if (ejemplos.size() < EJEMPLOS_MAXIMOS) {
+            ejemplos.add("Sesión " + sesion + ", mano " + mano + ": " + descripcion);
+        }
+    }
+
+    /**
+     * Suma al informe los contadores y ejemplos de otro.
+     *
+     * @param otro Informe de otra parte del diario.
+     */
+    public void combinar(InformeVerificacion otro) {
+        registros += otro.registros;
+        manos += otro.manos;
+        discrepancias += otro.discrepancias;
+        for (String ejemplo : otro.ejemplos) {
+            if (ejemplos.size() == EJEMPLOS_MAXIMOS) {
+                break;
+            }
+            ejemplos.add(ejemplo);
+        }
+    }
+
+    public long getRegistros() {
+        return registros;
+    }
+
+    public long getManos() {
+        return manos;
+    }
+
+    public long getDiscrepancias() {
+        return discrepancias;
+    }
+
+    /**
+     * Devuelve las primeras discrepancias encontradas.
+     *
+     * @return Lista de solo lectura con hasta diez descripciones.
+     */
+    public List<String> getEjemplos() {
+        return Collections.unmodifiableList(ejemplos);
+    }
+
+    /**
+     * Indica si todas las manos coinciden con las reglas.
+     *
+     * @return true si no hubo discrepancias.
+     */
+    public boolean esCorrecto() {
+        return discrepancias == 0;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Registros: ").append(registros)
+                .append(", manos: ").append(manos)
+                .append(", discrepancias: ").append(discrepancias);
+        for (String ejemplo : ejemplos) {
+            sb.append("\n  ").append(ejemplo);
+        }
+        return sb.toString();
+    }
+}
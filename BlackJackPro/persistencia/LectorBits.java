@@ -0,0 +1,80 @@
+package persistencia;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Lee los valores escritos por un {@link EscritorBits} desde un búfer, sin
+ * copiarlo. Carga los bytes de a uno en un acumulador de 64 bits.
+ */
+final class LectorBits {
+
+    private ByteBuffer datos;
+    private int posicion;
+    private int fin;
+    private long acumulador;
+    private int bitsDisponibles;
+
+    /**
+     * Ubica el lector al inicio de una región del búfer.
+     *
+     * @param datos    Búfer con los bits.
+     * @param inicio   Posición del primer byte.
+     * @param longitud Cantidad de bytes de la región.
+     */
+    void apuntar(ByteBuffer datos, int inicio, int longitud) {
+        this.datos = datos;
+        this.posicion = inicio;
+        this.fin = inicio + longitud;
+        this.acumulador = 0;
+        this.bitsDisponibles = 0;
+    }
+
+    /**
+     * Lee un valor sin signo.
+     *
+     * @param bits Cantidad de bits, entre 1 y 32.
+     * @return Valor leído.
+     * @throws IllegalStateException si la región se terminó.
+     */
+    int leer(int bits) {
+        while (bitsDisponibles < bits) {
+            if (posicion == fin) {
+                throw new IllegalStateException("Bloque del archivo incompleto");
+            }
+            acumulador = (acumulador << 8) | (datos.get(posicion++) & 0xFF);
+            bitsDisponibles += 8;
+        }
+        bitsDisponibles -= bits;
+        return (int) ((acumulador >>> bitsDisponibles) & ((1L << bits) - 1));
+    }
+
+    /**
+     * Lee un número natural escrito en código gamma.
+     *
+     * @return Número leído.
+     */
+    long leerNatural() {
+        int ceros = 0;
+        while (leer(1) == 0) {
+            ceros++;
+        }
+        // El 1 ya leído es el bit más alto del número
+        long n = 1;
+        while (ceros > 0) {
+            int bits = Math.min(ceros, 32);
+            n = (n << bits) | (leer(bits) & 0xFFFFFFFFL);
+            ceros -= bits;
+        }
+        return n - 1;
+    }
+
+    /**
+     * Lee un entero con signo escrito con {@link EscritorBits#escribirEntero}.
+     *
+     * @return Entero leído.
+     */
+    long leerEntero() {
+        long natural = leerNatural();
+        return (natural >>> 1) ^ -(natural & 1);
+    }
+}
@@ -0,0 +1,283 @@
+package persistencia;
+
+import logica.Dealer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Lector de los segmentos escritos por un {@link DiarioJugadas}.
+ *
+ * Cada segmento se mapea en memoria y se recorre con un
+ * {@link CursorRegistros}, que lee los campos directamente del mapeo: no se
+ * copian bytes ni se crea un objeto por registro. Los segmentos son
+ * independientes, así que pueden recorrerse en paralelo, uno por tarea.
+ *
+ * La lista de segmentos se toma al crear el lector. Un segmento que el diario
+ * sigue escribiendo se lee hasta donde llegaba al mapearlo. Cada segmento
+ * debe medir menos de 2 GB, que es el límite de un mapeo.
+ */
+public class LectorDiario {
+
+    /**
+     * Registros de una mano partida entre segmentos, juntados en orden.
+     */
+    private static final class ManoPartida {
+        private final long sesion;
+        private final int mano;
+        private final List<byte[]> pedazos = new ArrayList<>();
+        private int largo;
+
+        ManoPartida(long sesion, int mano) {
+            this.sesion = sesion;
+            this.mano = mano;
+        }
+
+        boolean esDe(long sesion, int mano) {
+            return this.sesion == sesion && this.mano == mano;
+        }
+
+        void agregar(byte[] registros) {
+            pedazos.add(registros);
+            largo += registros.length;
+        }
+
+        void verificar(VerificadorManos verificador) {
+            byte[] registros = new byte[largo];
+            int posicion = 0;
+            for (byte[] pedazo : pedazos) {
+                System.arraycopy(pedazo, 0, registros, posicion, pedazo.length);
+                posicion += pedazo.length;
+            }
+            verificador.verificarMano(sesion, mano, registros);
+        }
+    }
+
+    private final Path directorio;
+    private final List<Path> segmentos;
+
+    /**
+     * Prepara la lectura de un diario.
+     *
+     * @param directorio Directorio con los segmentos del diario.
+     * @throws UncheckedIOException si no se pudo listar el directorio.
+     */
+    public LectorDiario(Path directorio) {
+        this.directorio = directorio;
+        this.segmentos = new ArrayList<>();
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio)) {
+            for (Path archivo : archivos) {
+                if (DiarioJugadas.numeroDeSegmento(archivo) >= 0) {
+                    segmentos.add(archivo);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el diario en " + directorio, e);
+        }
+        segmentos.sort((a, b) -> Integer.compare(DiarioJugadas.numeroDeSegmento(a),
+                DiarioJugadas.numeroDeSegmento(b)));
+    }
+
+    /**
+     * Cantidad de segmentos del diario.
+     *
+     * @return Número de archivos de segmento.
+     */
+    public int getCantidadSegmentos() {
+        return segmentos.size();
+    }
+
+    /**
+     * Cantidad de registros completos en todos los segmentos, según el tamaño
+     * de los archivos.
+     *
+     * @return Total de registros.
+     * @throws UncheckedIOException si no se pudo leer algún archivo.
+     */
+    public long contarRegistros() {
+        long total = 0;
+        try {
+            for (Path segmento : segmentos) {
+                total += Files.size(segmento) / DiarioJugadas.TAMAÑO_REGISTRO;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo leer el diario en " + directorio, e);
+        }
+        return total;
+    }
+
+    // Mapea un segmento completo en modo de solo lectura
+    private ByteBuffer mapear(Path segmento) {
+        try (FileChannel canal = FileChannel.open(segmento, StandardOpenOption.READ)) {
+            long tamaño = canal.size();
+            if (tamaño > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Segmento demasiado grande para mapear: " + segmento);
+            }
+            MappedByteBuffer mapeo = canal.map(FileChannel.MapMode.READ_ONLY, 0, tamaño);
+            mapeo.order(DiarioJugadas.ORDEN_BYTES);
+            return mapeo;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo mapear " + segmento, e);
+        }
+    }
+
+    /**
+     * Recorre todos los registros en orden de escritura con un único cursor.
+     *
+     * @param accion Acción que recibe el cursor ubicado en cada registro; no
+     *               debe guardarlo.
+     */
+    public void recorrer(Consumer<CursorRegistros> accion) {
+        CursorRegistros cursor = new CursorRegistros();
+        for (Path segmento : segmentos) {
+            cursor.apuntar(mapear(segmento), DiarioJugadas.numeroDeSegmento(segmento));
+            while (cursor.avanzar()) {
+                accion.accept(cursor);
+            }
+        }
+    }
+
+    /**
+     * Recorre los segmentos en paralelo. Cada segmento se acumula en su propio
+     * resultado parcial, y los parciales se combinan en orden de segmento.
+     *
+     * @param hilos     Cantidad de hilos.
+     * @param crear     Crea un resultado parcial vacío.
+     * @param acumular  Suma al parcial el registro al que apunta el cursor.
+     * @param combinar  Une dos parciales; el primero es el de segmentos
+     *                  anteriores.
+     * @return Resultado de todos los segmentos, o uno vacío si no hay ninguno.
+     */
+    public <R> R recorrerEnParalelo(int hilos, Supplier<R> crear, BiConsumer<R, CursorRegistros> acumular,
+            BinaryOperator<R> combinar) {
+        List<R> parciales = porSegmento(hilos, segmento -> {
+            R parcial = crear.get();
+            CursorRegistros cursor = new CursorRegistros();
+            cursor.apuntar(mapear(segmento), DiarioJugadas.numeroDeSegmento(segmento));
+            while (cursor.avanzar()) {
+                acumular.accept(parcial, cursor);
+            }
+            return parcial;
+        });
+
+        R total = crear.get();
+        for (R parcial : parciales) {
+            total = combinar.apply(total, parcial);
+        }
+        return total;
+    }
+
+    /**
+     * Vuelve a jugar todas las manos con un Dealer que se planta con 17 y
+     * comprueba que los puntajes y resultados guardados respeten las reglas.
+     *
+     * @param hilos Cantidad de hilos.
+     * @return Informe con las manos revisadas y las discrepancias.
+     */
+    public InformeVerificacion verificar(int hilos) {
+        return verificar(hilos, Dealer::new);
+    }
+
+    /**
+     * Vuelve a jugar todas las manos y comprueba que los puntajes, los
+     * resultados y las cartas que pidió el Dealer respeten las reglas.
+     *
+     * Las manos completas de cada segmento se verifican en paralelo. Las que
+     * quedaron partidas entre segmentos se unen y verifican al final: el
+     * pedazo final de una sesión en un segmento solo se une con el pedazo
+     * inicial de esa sesión en el próximo segmento donde aparece.
+     *
+     * @param hilos         Cantidad de hilos.
+     * @param fabricaDealer Crea un Dealer con las reglas de la mesa grabada.
+     * @return Informe con las manos revisadas y las discrepancias.
+     */
+    public InformeVerificacion verificar(int hilos, Supplier<Dealer> fabricaDealer) {
+        List<VerificadorManos> verificadores = porSegmento(hilos, segmento -> {
+            VerificadorManos verificador = new VerificadorManos(fabricaDealer);
+            CursorRegistros cursor = new CursorRegistros();
+            cursor.apuntar(mapear(segmento), DiarioJugadas.numeroDeSegmento(segmento));
+            verificador.procesarSegmento(cursor);
+            return verificador;
+        });
+
+        // Un pedazo del final de un segmento solo se une con el del inicio del
+        // próximo segmento donde vuelve a aparecer su sesión, y si es la misma
+        // mano; si la sesión sigue con otra mano, la anterior ya estaba completa
+        InformeVerificacion informe = new InformeVerificacion();
+        VerificadorManos finales = new VerificadorManos(fabricaDealer);
+        Map<Long, ManoPartida> pendientes = new LinkedHashMap<>();
+        for (VerificadorManos verificador : verificadores) {
+            informe.combinar(verificador.getInforme());
+            for (VerificadorManos.Fragmento fragmento : verificador.getFragmentos()) {
+                ManoPartida partida = pendientes.remove(fragmento.sesion);
+                if (partida != null && !(fragmento.alInicio && partida.esDe(fragmento.sesion, fragmento.mano))) {
+                    partida.verificar(finales);
+                    partida = null;
+                }
+                if (partida == null) {
+                    partida = new ManoPartida(fragmento.sesion, fragmento.mano);
+                }
+                partida.agregar(fragmento.registros);
+                if (fragmento.alFinal) {
+                    pendientes.put(fragmento.sesion, partida);
+                } else {
+                    partida.verificar(finales);
+                }
+            }
+        }
+        for (ManoPartida partida : pendientes.values()) {
+            partida.verificar(finales);
+        }
+        informe.combinar(finales.getInforme());
+        return informe;
+    }
+
+    // Aplica una tarea a cada segmento en un ForkJoinPool y devuelve los
+    // resultados en orden de segmento
+    private <R> List<R> porSegmento(int hilos, Function<Path, R> tarea) {
+        if (hilos < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un hilo");
+        }
+        ForkJoinPool grupo = new ForkJoinPool(hilos);
+        try {
+            List<ForkJoinTask<R>> tareas = new ArrayList<>();
+            for (Path segmento : segmentos) {
+                tareas.add(grupo.submit(() -> tarea.apply(segmento)));
+            }
+            List<R> resultados = new ArrayList<>();
+            for (ForkJoinTask<R> pendiente : tareas) {
+                resultados.add(pendiente.get());
+            }
+            return resultados;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Lectura del diario interrumpida", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Falló la lectura de un segmento", e.getCause());
+        } finally {
+            grupo.shutdown();
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package persistencia;
+
+import logica.Carta;
+import logica.ResultadoMano;
+
+/**
+ * Una mano terminada tal como se guarda en un archivo de sesiones: las cartas
+ * de cada asiento y del Dealer, el resultado y, si se conoce, el nombre del
+ * jugador de cada asiento. Los puntajes no se guardan porque salen de las
+ * cartas.
+ *
+ * Los asientos van de 1 a {@link #MAXIMO_ASIENTOS}; el Dealer es
+ * {@link DiarioJugadas#ASIENTO_DEALER}. Las cartas se guardan como ordinales
+ * en arreglos fijos, así que una misma instancia puede reutilizarse para
+ * escribir o leer millones de manos sin crear objetos.
+ */
+public final class ManoArchivada {
+
+    /** Cantidad máxima de asientos de una mano. */
+    public static final int MAXIMO_ASIENTOS = 7;
+    /** Cantidad máxima de cartas de un participante. */
+    public static final int MAXIMO_CARTAS = 31;
+
+    private static final ResultadoMano[] RESULTADOS = ResultadoMano.values();
+
+    private long sesion;
+    private int mano;
+    private int cantidadAsientos;
+    private final byte[][] cartas;
+    private final int[] cantidadCartas;
+    private final ResultadoMano[] resultados;
+    private final String[] nombres;
+
+    /**
+     * Crea una mano vacía.
+     */
+    public ManoArchivada() {
+        this.cartas = new byte[MAXIMO_ASIENTOS + 1][MAXIMO_CARTAS];
+        this.cantidadCartas = new int[MAXIMO_ASIENTOS + 1];
+        this.resultados = new ResultadoMano[MAXIMO_ASIENTOS + 1];
+        this.nombres = new String[MAXIMO_ASIENTOS + 1];
+    }
+
+    /**
+     * Vacía la mano para empezar a llenarla de nuevo.
+     *
+     * @param sesion Identificador de la sesión.
+     * @param mano   Número de mano dentro de la sesión.
+     */
+    public void reiniciar(long sesion, int mano) {
+        this.sesion = sesion;
+        this.mano = mano;
+        for (int asiento = 0; asiento <= cantidadAsientos; asiento++) {
+            cantidadCartas[asiento] = 0;
+            resultados[asiento] = null;
+            nombres[asiento] = null;
+        }
+        this.cantidadAsientos = 0;
+    }
+
+    /**
+     * Agrega una carta a la mano de un asiento.
+     *
+     * @param asiento Asiento, o {@link DiarioJugadas#ASIENTO_DEALER}.
+     * @param carta   Carta recibida.
+     */
+    public void agregarCarta(int asiento, Carta carta) {
+        agregarOrdinal(asiento, carta.obtenerOrdinal());
+    }
+
+    void agregarOrdinal(int asiento, int ordinal) {
+        usarAsiento(asiento);
+        if (cantidadCartas[asiento] == MAXIMO_CARTAS) {
+            throw new IllegalArgumentException("Demasiadas cartas en el asiento " + asiento);
+        }
+        cartas[asiento][cantidadCartas[asiento]++] = (byte) ordinal;
+    }
+
+    /**
+     * Define el resultado de un asiento.
+     *
+     * @param asiento   Asiento del jugador.
+     * @param resultado Resultado desde el punto de vista del jugador.
+     */
+    public void definirResultado(int asiento, ResultadoMano resultado) {
+        if (asiento == DiarioJugadas.ASIENTO_DEALER) {
+            throw new IllegalArgumentException("El Dealer no tiene resultado propio");
+        }
+        usarAsiento(asiento);
+        resultados[asiento] = resultado;
+    }
+
+    /**
+     * Define el nombre del jugador de un asiento.
+     *
+     * @param asiento Asiento del jugador.
+     * @param nombre  Nombre, o null si no se conoce.
+     */
+    public void definirNombre(int asiento, String nombre) {
+        if (asiento == DiarioJugadas.ASIENTO_DEALER) {
+            throw new IllegalArgumentException("El nombre del Dealer no se guarda");
+        }
+        usarAsiento(asiento);
+        nombres[asiento] = nombre;
+    }
+
+    void usarAsiento(int asiento) {
+        if (asiento < 0 || asiento > MAXIMO_ASIENTOS) {
+            throw new IllegalArgumentException("Asiento fuera de rango: " + asiento);
+        }
+        // Los asientos intermedios quedan vacíos hasta que se usen
+        while (cantidadAsientos < asiento) {
+            cantidadAsientos++;
+            cantidadCartas[cantidadAsientos] = 0;
+            resultados[cantidadAsientos] = null;
+            nombres[cantidadAsientos] = null;
+        }
+    }
+
+    public long getSesion() {
+        return sesion;
+    }
+
+    public int getMano() {
+        return mano;
+    }
+
+    /**
+     * Cantidad de asientos de la mano, sin contar al Dealer.
+     *
+     * @return Número del último asiento usado.
+     */
+    public int getCantidadAsientos() {
+        return cantidadAsientos;
+    }
+
+    public int getCantidadCartas(int asiento) {
+        return cantidadCartas[asiento];
+    }
+
+    public Carta getCarta(int asiento, int indice) {
+        return Carta.porOrdinal(cartas[asiento][indice]);
+    }
+
+    int getOrdinal(int asiento, int indice) {
+        return cartas[asiento][indice];
+    }
+
+    /**
+     * Resultado de un asiento.
+     *
+     * @param asiento Asiento del jugador.
+     * @return Resultado, o null si no se guardó.
+     */
+    public ResultadoMano getResultado(int asiento) {
+        return resultados[asiento];
+    }
+
+    /**
+     * Nombre del jugador de un asiento.
+     *
+     * @param asiento Asiento del jugador.
+     * @return Nombre, o null si no se conoce.
+     */
+    public String getNombre(int asiento) {
+        return nombres[asiento];
+    }
+
+    /**
+     * Carta visible del Dealer: la primera que recibió.
+     *
+     * @return La carta, o null si el Dealer no tiene cartas.
+     */
+    public Carta getCartaVisibleDealer() {
+        return cantidadCartas[DiarioJugadas.ASIENTO_DEALER] > 0 ? getCarta(DiarioJugadas.ASIENTO_DEALER, 0) : null;
+    }
+
+    /**
+     * Puntaje final de un participante, calculado de sus cartas con la misma
+     * regla de los ases que {@link logica.Jugador}.
+     *
+     * @param asiento Asiento, o {@link DiarioJugadas#ASIENTO_DEALER}.
+     * @return Puntaje de la mano.
+     */
+    public int puntaje(int asiento) {
+        int totalDuro = 0;
+        boolean tieneAs = false;
+        for (int i = 0; i < cantidadCartas[asiento]; i++) {
+            Carta carta = Carta.porOrdinal(cartas[asiento][i]);
+            totalDuro += carta.obtenerValorJuego();
+            tieneAs |= carta.esAs();
+        }
+        return (tieneAs && totalDuro + 10 <= 21) ? totalDuro + 10 : totalDuro;
+    }
+
+    static ResultadoMano resultadoPorOrdinal(int ordinal) {
+        return RESULTADOS[ordinal];
+    }
+
+    /**
+     * Copia en esta mano todo el contenido de otra.
+     *
+     * @param otra Mano a copiar.
+     */
+    public void copiarDe(ManoArchivada otra) {
+        reiniciar(otra.sesion, otra.mano);
+        usarAsiento(otra.cantidadAsientos);
+        for (int asiento = 0; asiento <= otra.cantidadAsientos; asiento++) {
+            System.arraycopy(otra.cartas[asiento], 0, cartas[asiento], 0, otra.cantidadCartas[asiento]);
+            cantidadCartas[asiento] = otra.cantidadCartas[asiento];
+            resultados[asiento] = otra.resultados[asiento];
+            nombres[asiento] = otra.nombres[asiento];
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Sesión ").append(sesion).append(", mano ").append(mano).append(":");
+        for (int asiento = 1; asiento <= cantidadAsientos; asiento++) {
+            sb.append("\n  ").append(nombres[asiento] != null ? nombres[asiento] : "Asiento " + asiento)
+                    .append(": ");
+            agregarCartas(sb, asiento);
+            sb.append("= ").append(puntaje(asiento));
+            if (resultados[asiento] != null) {
+                sb.append(", ").append(resultados[asiento]);
+            }
+        }
+        sb.append("\n  Dealer: ");
+        agregarCartas(sb, DiarioJugadas.ASIENTO_DEALER);
+        sb.append("= ").append(puntaje(DiarioJugadas.ASIENTO_DEALER));
+        return sb.toString();
+    }
+
+    private void agregarCartas(StringBuilder sb, int asiento) {
+        for (int i = 0; i < cantidadCartas[asiento]; i++) {
+            sb.append(getCarta(asiento, i).representacionCorta()).append(' ');
+        }
+    }
+}
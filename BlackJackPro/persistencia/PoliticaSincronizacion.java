@@ -0,0 +1,15 @@
+package persistencia;
+
+/**
+ * Cuándo fuerza un {@link DiarioJugadas} sus escrituras al disco con fsync.
+ * Sin forzar, los datos escritos sobreviven a una caída del proceso pero no a
+ * una del sistema operativo o de la máquina.
+ */
+public enum PoliticaSincronizacion {
+    /** Nunca fuerza; el sistema operativo decide cuándo escribir. Lo más rápido. */
+    NUNCA,
+    /** Fuerza como mucho una vez por intervalo, al escribir un lote o al cerrar. */
+    PERIODICA,
+    /** Fuerza después de escribir cada lote: cada confirmación queda en disco. */
+    CADA_LOTE
+}
@@ -0,0 +1,258 @@
+package persistencia;
+
+import componentes.TablaHashLong;
+import logica.Carta;
+import logica.Dealer;
+import logica.Jugador;
+import logica.ReglasBlackjack;
+import logica.ResultadoMano;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Vuelve a jugar las manos de un segmento del diario con un {@link Jugador}
+ * por asiento y un {@link Dealer}, y compara puntajes y resultados con los
+ * guardados.
+ *
+ * Los registros de varias sesiones llegan intercalados, así que cada sesión
+ * junta las posiciones de su mano en curso y la verifica cuando empieza la
+ * siguiente. La primera y la última mano de cada sesión pueden estar
+ * partidas entre segmentos: se copian como fragmentos para unirlas después.
+ */
+final class VerificadorManos {
+
+    /**
+     * Registros de una mano que quedó en el borde de un segmento.
+     */
+    static final class Fragmento {
+        final long sesion;
+        final int mano;
+        // La mano pudo empezar en el segmento anterior
+        final boolean alInicio;
+        // La mano pudo seguir en el segmento siguiente
+        final boolean alFinal;
+        final byte[] registros;
+
+        Fragmento(long sesion, int mano, boolean alInicio, boolean alFinal, byte[] registros) {
+            this.sesion = sesion;
+            this.mano = mano;
+            this.alInicio = alInicio;
+            this.alFinal = alFinal;
+            this.registros = registros;
+        }
+    }
+
+    // Mano en curso de una sesión dentro del segmento
+    private static final class ManoEnCurso {
+        final long sesion;
+        int mano;
+        boolean primera;
+        int[] posiciones;
+        int cantidad;
+
+        ManoEnCurso(long sesion, int mano) {
+            this.sesion = sesion;
+            this.mano = mano;
+            this.primera = true;
+            this.posiciones = new int[32];
+        }
+
+        void agregar(int posicion) {
+            if (cantidad == posiciones.length) {
+                int[] mayor = new int[cantidad * 2];
+                System.arraycopy(posiciones, 0, mayor, 0, cantidad);
+                posiciones = mayor;
+            }
+            posiciones[cantidad++] = posicion;
+        }
+    }
+
+    private static final int ASIENTOS = Byte.MAX_VALUE + 1;
+    private static final int RESULTADOS = ResultadoMano.values().length;
+
+    private final InformeVerificacion informe;
+    private final List<Fragmento> fragmentos;
+    private final Jugador[] jugadores;
+    private final ResultadoMano[] resultados;
+    private final int[] puntajesFinales;
+    private final Dealer dealer;
+    private final CursorRegistros cursorFragmentos;
+
+    VerificadorManos(Supplier<Dealer> fabricaDealer) {
+        this.informe = new InformeVerificacion();
+        this.fragmentos = new ArrayList<>();
+        this.jugadores = new Jugador[ASIENTOS];
+        this.resultados = new ResultadoMano[ASIENTOS];
+        this.puntajesFinales = new int[ASIENTOS];
+        this.dealer = fabricaDealer.get();
+        this.cursorFragmentos = new CursorRegistros();
+    }
+
+    InformeVerificacion getInforme() {
+        return informe;
+    }
+
+    List<Fragmento> getFragmentos() {
+        return fragmentos;
+    }
+
+    /**
+     * Verifica las manos completas del segmento al que apunta el cursor y
+     * guarda como fragmentos las de los bordes.
+     */
+    void procesarSegmento(CursorRegistros cursor) {
+        TablaHashLong<ManoEnCurso> porSesion = new TablaHashLong<>();
+        List<ManoEnCurso> sesiones = new ArrayList<>();
+        long registros = 0;
+
+        while (cursor.avanzar()) {
+            registros++;
+            long sesion = cursor.getSesion();
+            int mano = cursor.getMano();
+            ManoEnCurso enCurso = porSesion.obtener(sesion);
+            if (enCurso == null) {
+                enCurso = new ManoEnCurso(sesion, mano);
+                porSesion.insertar(sesion, enCurso);
+                sesiones.add(enCurso);
+            } else if (enCurso.mano != mano) {
+                // Verificar mueve el cursor, así que se vuelve al registro actual
+                int actual = cursor.getPosicion();
+                cerrarMano(cursor, enCurso);
+                cursor.irA(actual);
+                enCurso.mano = mano;
+                enCurso.primera = false;
+                enCurso.cantidad = 0;
+            }
+            enCurso.agregar(cursor.getPosicion());
+        }
+
+        // La última mano de cada sesión puede seguir en el próximo segmento
+        for (ManoEnCurso enCurso : sesiones) {
+            guardarFragmento(cursor, enCurso, enCurso.primera, true);
+        }
+        informe.contarRegistros(registros);
+    }
+
+    private void cerrarMano(CursorRegistros cursor, ManoEnCurso enCurso) {
+        if (enCurso.primera) {
+            // Pudo haber empezado en el segmento anterior
+            guardarFragmento(cursor, enCurso, true, false);
+        } else {
+            verificarMano(cursor, enCurso.sesion, enCurso.mano, enCurso.posiciones, enCurso.cantidad);
+        }
+    }
+
+    private void guardarFragmento(CursorRegistros cursor, ManoEnCurso enCurso, boolean alInicio, boolean alFinal) {
+        ByteBuffer copia = ByteBuffer.allocate(enCurso.cantidad * DiarioJugadas.TAMAÑO_REGISTRO);
+        for (int i = 0; i < enCurso.cantidad; i++) {
+            cursor.irA(enCurso.posiciones[i]);
+            cursor.copiarA(copia);
+        }
+        fragmentos.add(new Fragmento(enCurso.sesion, enCurso.mano, alInicio, alFinal, copia.array()));
+    }
+
+    /**
+     * Verifica una mano ya unida a partir de sus fragmentos.
+     */
+    void verificarMano(long sesion, int mano, byte[] registros) {
+        cursorFragmentos.apuntar(ByteBuffer.wrap(registros).order(DiarioJugadas.ORDEN_BYTES), 0);
+        int cantidad = registros.length / DiarioJugadas.TAMAÑO_REGISTRO;
+        int[] posiciones = new int[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            posiciones[i] = i * DiarioJugadas.TAMAÑO_REGISTRO;
+        }
+        verificarMano(cursorFragmentos, sesion, mano, posiciones, cantidad);
+    }
+
+    // Reparte de nuevo las cartas guardadas y compara puntajes y resultados
+    private void verificarMano(CursorRegistros cursor, long sesion, int mano, int[] posiciones, int cantidad) {
+        informe.contarMano();
+        dealer.reiniciarMano();
+        int asientoMayor = 0;
+        for (int i = 0; i < cantidad; i++) {
+            cursor.irA(posiciones[i]);
+            int asiento = cursor.getAsiento();
+            if (asiento < 0) {
+                informe.agregarDiscrepancia(sesion, mano, "asiento inválido " + asiento);
+                return;
+            }
+            while (asientoMayor < asiento) {
+                asientoMayor++;
+                prepararAsiento(asientoMayor);
+            }
+
+            if (cursor.esCarta()) {
+                if (cursor.getDato() < 0 || cursor.getDato() >= Carta.TOTAL_CARTAS) {
+                    informe.agregarDiscrepancia(sesion, mano, "carta inválida " + cursor.getDato());
+                    return;
+                }
+                Jugador participante = (asiento == DiarioJugadas.ASIENTO_DEALER) ? dealer : jugadores[asiento];
+                if (participante == dealer && dealer.getCartas().obtenerTamaño() >= 2
+                        && !dealer.necesitaOtraCarta()) {
+                    informe.agregarDiscrepancia(sesion, mano,
+                            "el Dealer pidió carta con " + dealer.puntajeTotal());
+                }
+                participante.añadirCarta(cursor.getCarta());
+                if (participante.puntajeTotal() != cursor.getPuntaje()) {
+                    informe.agregarDiscrepancia(sesion, mano, "asiento " + asiento + " tiene "
+                            + participante.puntajeTotal() + " y se guardó " + cursor.getPuntaje());
+                }
+            } else if (cursor.esResultado() && asiento != DiarioJugadas.ASIENTO_DEALER
+                    && cursor.getDato() >= 0 && cursor.getDato() < RESULTADOS) {
+                resultados[asiento] = cursor.getResultado();
+                puntajesFinales[asiento] = cursor.getPuntaje();
+            } else {
+                informe.agregarDiscrepancia(sesion, mano, "registro inesperado: " + cursor);
+            }
+        }
+
+        // El Dealer juega si algún asiento sigue sin resolver tras el reparto
+        boolean dealerDebeJugar = false;
+        for (int asiento = 1; asiento <= asientoMayor; asiento++) {
+            Jugador jugador = jugadores[asiento];
+            if (!jugador.getCartas().estaVacía() && !jugador.seExcedio()
+                    && ReglasBlackjack.evaluarBlackjackInicial(jugador, dealer) == null) {
+                dealerDebeJugar = true;
+            }
+        }
+        if (dealerDebeJugar && dealer.getCartas().obtenerTamaño() >= 2 && dealer.necesitaOtraCarta()) {
+            informe.agregarDiscrepancia(sesion, mano, "el Dealer se plantó con " + dealer.puntajeTotal());
+        } else if (!dealerDebeJugar && dealer.getCartas().obtenerTamaño() > 2) {
+            informe.agregarDiscrepancia(sesion, mano, "el Dealer pidió carta sin asientos pendientes");
+        }
+
+        for (int asiento = 1; asiento <= asientoMayor; asiento++) {
+            Jugador jugador = jugadores[asiento];
+            if (jugador.getCartas().estaVacía()) {
+                continue;
+            }
+            if (resultados[asiento] == null) {
+                informe.agregarDiscrepancia(sesion, mano, "asiento " + asiento + " sin resultado");
+                continue;
+            }
+            ResultadoMano esperado = ReglasBlackjack.evaluarBlackjackInicial(jugador, dealer);
+            if (esperado == null) {
+                esperado = ReglasBlackjack.resolverMano(jugador, dealer);
+            }
+            if (esperado != resultados[asiento]) {
+                informe.agregarDiscrepancia(sesion, mano, "asiento " + asiento + " guardó "
+                        + resultados[asiento] + " y según las reglas es " + esperado);
+            } else if (puntajesFinales[asiento] != jugador.puntajeTotal()) {
+                informe.agregarDiscrepancia(sesion, mano, "asiento " + asiento + " guardó puntaje final "
+                        + puntajesFinales[asiento] + " y tiene " + jugador.puntajeTotal());
+            }
+        }
+    }
+
+    // Deja listo el jugador de un asiento para una mano nueva
+    private void prepararAsiento(int asiento) {
+        if (jugadores[asiento] == null) {
+            jugadores[asiento] = new Jugador("Asiento " + asiento);
+        }
+        jugadores[asiento].reiniciarMano();
+        resultados[asiento] = null;
+    }
+}
@@ -0,0 +1,99 @@
+package rendimiento;
+
+import persistencia.ArchivoSesiones;
+import persistencia.DiarioJugadas;
+import persistencia.EscritorArchivo;
+import persistencia.LectorDiario;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Convierte un diario de jugadas en un archivo de sesiones comprimido y
+ * compara el tamaño y el tiempo de lectura de ambos formatos. La lectura del
+ * diario recorre sus registros de 16 bytes; la del archivo decodifica cada
+ * mano completa, con cartas y resultados.
+ *
+ * Para medir la lectura en frío hay que vaciar la caché de páginas del
+ * sistema entre la conversión y una segunda ejecución con el archivo ya
+ * existente.
+ *
+ * Uso: java rendimiento.ComparativaArchivo directorioDiario archivo
+ */
+public class ComparativaArchivo {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("Uso: java rendimiento.ComparativaArchivo directorioDiario archivo");
+            return;
+        }
+        Path directorio = Paths.get(args[0]);
+        Path archivo = Paths.get(args[1]);
+        LectorDiario diario = new LectorDiario(directorio);
+
+        if (!Files.exists(archivo)) {
+            long inicio = System.nanoTime();
+            EscritorArchivo escritor = new EscritorArchivo(archivo);
+            long manos = ArchivoSesiones.convertirDiario(diario, escritor);
+            escritor.cerrar();
+            System.out.printf("Conversión: %d manos en %.2f s%n", manos, (System.nanoTime() - inicio) / 1e9);
+        }
+
+        long bytesDiario = tamañoDiario(directorio);
+        long bytesArchivo = tamaño(archivo);
+        System.out.printf("Diario: %d bytes, archivo: %d bytes (%.1f veces menos)%n", bytesDiario, bytesArchivo,
+                (double) bytesDiario / bytesArchivo);
+
+        long inicio = System.nanoTime();
+        long[] cartasDiario = new long[1];
+        diario.recorrer(cursor -> {
+            if (cursor.esCarta()) {
+                cartasDiario[0]++;
+            }
+        });
+        long nanosDiario = System.nanoTime() - inicio;
+
+        inicio = System.nanoTime();
+        ArchivoSesiones sesiones = new ArchivoSesiones(archivo);
+        long[] cartasArchivo = new long[1];
+        sesiones.recorrer(mano -> {
+            for (int asiento = 0; asiento <= mano.getCantidadAsientos(); asiento++) {
+                cartasArchivo[0] += mano.getCantidadCartas(asiento);
+            }
+        });
+        long nanosArchivo = System.nanoTime() - inicio;
+
+        System.out.printf("Lectura del diario: %d cartas en %.2f s%n", cartasDiario[0], nanosDiario / 1e9);
+        System.out.printf("Lectura del archivo: %d cartas de %d manos en %.2f s%n", cartasArchivo[0],
+                sesiones.getCantidadManos(), nanosArchivo / 1e9);
+        if (cartasDiario[0] != cartasArchivo[0]) {
+            System.out.println("ERROR: el archivo no tiene las mismas cartas que el diario");
+        }
+    }
+
+    private static long tamañoDiario(Path directorio) {
+        long total = 0;
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio)) {
+            for (Path archivo : archivos) {
+                if (DiarioJugadas.numeroDeSegmento(archivo) >= 0) {
+                    total += tamaño(archivo);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return total;
+    }
+
+    private static long tamaño(Path archivo) {
+        try {
+            return Files.size(archivo);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
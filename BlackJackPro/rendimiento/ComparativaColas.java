@@ -0,0 +1,151 @@
+package rendimiento;
+
+import componentes.Cola;
+import componentes.ColaConcurrente;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compara la {@link ColaConcurrente} con la {@link Cola} original protegida por
+ * un único bloqueo, en el caso del servidor: muchos productores que depositan
+ * acciones y un solo consumidor que las retira por lotes, como el bucle de una
+ * mesa. Las dos colas se limitan a la misma capacidad; si está llena, el
+ * productor cede el procesador y vuelve a intentar.
+ *
+ * Uso: java rendimiento.ComparativaColas [msPorMedicion] [capacidad]
+ */
+public class ComparativaColas {
+
+    private static final int LOTE = 256;
+    private static final Integer ACCION = 1;
+
+    // Operaciones comunes a las colas comparadas
+    private interface Buzon {
+        boolean agregar(Integer valor);
+
+        int drenarA(List<Integer> destino, int maximo);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long milis = args.length > 0 ? Long.parseLong(args[0]) : 500;
+        int capacidad = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 14;
+
+        // Calentamiento para que el JIT compile ambas colas antes de medir
+        medir(crearSincronizada(capacidad), 2, milis);
+        medir(crearConcurrente(capacidad), 2, milis);
+
+        System.out.println("Núcleos: " + Runtime.getRuntime().availableProcessors()
+                + ", capacidad: " + capacidad + ", un consumidor");
+        System.out.printf("%11s %22s %22s%n", "productores", "Cola sincronizada", "ColaConcurrente");
+        for (int productores = 1; productores <= 64; productores *= 2) {
+            double sincronizada = medir(crearSincronizada(capacidad), productores, milis);
+            double concurrente = medir(crearConcurrente(capacidad), productores, milis);
+            System.out.printf("%11d %17.2f Mop/s %17.2f Mop/s%n", productores, sincronizada, concurrente);
+        }
+    }
+
+    private static Buzon crearSincronizada(int capacidad) {
+        Cola<Integer> cola = new Cola<>();
+        return new Buzon() {
+            @Override
+            public synchronized boolean agregar(Integer valor) {
+                if (cola.obtenerCantidad() >= capacidad) {
+                    return false;
+                }
+                cola.agregar(valor);
+                return true;
+            }
+
+            @Override
+            public synchronized int drenarA(List<Integer> destino, int maximo) {
+                int cantidad = 0;
+                while (cantidad < maximo && !cola.estaVacía()) {
+                    destino.add(cola.eliminar());
+                    cantidad++;
+                }
+                return cantidad;
+            }
+        };
+    }
+
+    private static Buzon crearConcurrente(int capacidad) {
+        ColaConcurrente<Integer> cola = new ColaConcurrente<>(capacidad);
+        return new Buzon() {
+            @Override
+            public boolean agregar(Integer valor) {
+                return cola.agregar(valor);
+            }
+
+            @Override
+            public int drenarA(List<Integer> destino, int maximo) {
+                return cola.drenarA(destino, maximo);
+            }
+        };
+    }
+
+    /**
+     * Ejecuta productores y consumidor durante el tiempo indicado.
+     *
+     * @return Millones de elementos retirados por segundo.
+     */
+    private static double medir(Buzon buzon, int productores, long milis) throws InterruptedException {
+        LongAdder retirados = new LongAdder();
+        CountDownLatch largada = new CountDownLatch(1);
+        AtomicBoolean detener = new AtomicBoolean();
+        Thread[] hilos = new Thread[productores + 1];
+
+        for (int p = 0; p < productores; p++) {
+            hilos[p] = new Thread(() -> {
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (!detener.get()) {
+                    for (int i = 0; i < LOTE; i++) {
+                        while (!buzon.agregar(ACCION)) {
+                            if (detener.get()) {
+                                return;
+                            }
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+        }
+        hilos[productores] = new Thread(() -> {
+            List<Integer> lote = new ArrayList<>(LOTE);
+            long cantidad = 0;
+            try {
+                largada.await();
+            } catch (InterruptedException e) {
+                return;
+            }
+            while (!detener.get()) {
+                if (buzon.drenarA(lote, LOTE) == 0) {
+                    Thread.yield();
+                }
+                cantidad += lote.size();
+                lote.clear();
+            }
+            retirados.add(cantidad);
+        });
+
+        for (Thread hilo : hilos) {
+            hilo.start();
+        }
+        long inicio = System.nanoTime();
+        largada.countDown();
+        Thread.sleep(milis);
+        detener.set(true);
+        for (Thread hilo : hilos) {
+            hilo.join();
+        }
+        long nanos = System.nanoTime() - inicio;
+        return retirados.sum() / (nanos / 1e9) / 1e6;
+    }
+}
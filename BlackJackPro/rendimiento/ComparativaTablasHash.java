@@ -0,0 +1,145 @@
+package rendimiento;
+
+import componentes.TablaHash;
+import componentes.TablaHashConcurrente;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compara la {@link TablaHashConcurrente} con la {@link TablaHash} original
+ * protegida por un único bloqueo (sin él se corrompe con varios hilos), con
+ * 1 a 64 hilos y una mezcla de lecturas y escrituras al estilo de un registro
+ * de jugadores.
+ *
+ * Uso: java rendimiento.ComparativaTablasHash [msPorMedicion] [claves] [porcentajeEscrituras]
+ */
+public class ComparativaTablasHash {
+
+    // Operaciones comunes a las tablas comparadas
+    private interface Tabla {
+        Object obtener(String clave);
+
+        void insertar(String clave, Integer valor);
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long milis = args.length > 0 ? Long.parseLong(args[0]) : 500;
+        int cantidadClaves = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        int porcentajeEscrituras = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        String[] claves = new String[cantidadClaves];
+        for (int i = 0; i < cantidadClaves; i++) {
+            claves[i] = "Jugador" + i;
+        }
+
+        // Calentamiento para que el JIT compile ambas tablas antes de medir
+        medir(crearSincronizada(claves), claves, 2, milis, porcentajeEscrituras);
+        medir(crearConcurrente(claves), claves, 2, milis, porcentajeEscrituras);
+
+        System.out.println("Núcleos: " + Runtime.getRuntime().availableProcessors()
+                + ", claves: " + cantidadClaves + ", escrituras: " + porcentajeEscrituras + "%");
+        System.out.printf("%6s %22s %22s%n", "hilos", "TablaHash sincronizada", "TablaHashConcurrente");
+        for (int hilos = 1; hilos <= 64; hilos *= 2) {
+            double sincronizada = medir(crearSincronizada(claves), claves, hilos, milis, porcentajeEscrituras);
+            double concurrente = medir(crearConcurrente(claves), claves, hilos, milis, porcentajeEscrituras);
+            System.out.printf("%6d %17.2f Mop/s %17.2f Mop/s%n", hilos, sincronizada, concurrente);
+        }
+    }
+
+    private static Tabla crearSincronizada(String[] claves) {
+        TablaHash<String, Integer> tabla = new TablaHash<>();
+        Tabla envoltura = new Tabla() {
+            @Override
+            public synchronized Object obtener(String clave) {
+                return tabla.obtener(clave);
+            }
+
+            @Override
+            public synchronized void insertar(String clave, Integer valor) {
+                tabla.insertar(clave, valor);
+            }
+        };
+        precargar(envoltura, claves);
+        return envoltura;
+    }
+
+    private static Tabla crearConcurrente(String[] claves) {
+        TablaHashConcurrente<String, Integer> tabla = new TablaHashConcurrente<>(64);
+        Tabla envoltura = new Tabla() {
+            @Override
+            public Object obtener(String clave) {
+                return tabla.obtener(clave);
+            }
+
+            @Override
+            public void insertar(String clave, Integer valor) {
+                tabla.insertar(clave, valor);
+            }
+        };
+        precargar(envoltura, claves);
+        return envoltura;
+    }
+
+    // La mitad de las claves ya existe, de modo que hay aciertos y fallos
+    private static void precargar(Tabla tabla, String[] claves) {
+        for (int i = 0; i < claves.length; i += 2) {
+            tabla.insertar(claves[i], i);
+        }
+    }
+
+    /**
+     * Ejecuta la mezcla de operaciones durante el tiempo indicado.
+     *
+     * @return Millones de operaciones por segundo entre todos los hilos.
+     */
+    private static double medir(Tabla tabla, String[] claves, int hilos, long milis, int porcentajeEscrituras)
+            throws InterruptedException {
+        LongAdder operaciones = new LongAdder();
+        CountDownLatch largada = new CountDownLatch(1);
+        Thread[] trabajadores = new Thread[hilos];
+        long[] sumidero = new long[hilos];
+        AtomicBoolean detener = new AtomicBoolean();
+
+        for (int h = 0; h < hilos; h++) {
+            int numero = h;
+            trabajadores[h] = new Thread(() -> {
+                SplittableRandom azar = new SplittableRandom(numero * 31L + 7);
+                long hechas = 0;
+                long encontrados = 0;
+                try {
+                    largada.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                while (!detener.get()) {
+                    // Lotes de operaciones entre cada consulta del indicador
+                    for (int i = 0; i < 256; i++) {
+                        String clave = claves[azar.nextInt(claves.length)];
+                        if (azar.nextInt(100) < porcentajeEscrituras) {
+                            tabla.insertar(clave, i);
+                        } else if (tabla.obtener(clave) != null) {
+                            encontrados++;
+                        }
+                    }
+                    hechas += 256;
+                }
+                operaciones.add(hechas);
+                sumidero[numero] = encontrados;
+            });
+            trabajadores[h].start();
+        }
+
+        long inicio = System.nanoTime();
+        largada.countDown();
+        Thread.sleep(milis);
+        detener.set(true);
+        for (Thread trabajador : trabajadores) {
+            trabajador.join();
+        }
+        long nanos = System.nanoTime() - inicio;
+        return operaciones.sum() / (nanos / 1e9) / 1e6;
+    }
+}
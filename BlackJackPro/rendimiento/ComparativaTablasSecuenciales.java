@@ -0,0 +1,114 @@
+package rendimiento;
+
+import componentes.TablaHash;
+import componentes.TablaHashAbierta;
+import componentes.TablaHashLong;
+
+/**
+ * Compara memoria y tiempo de las tablas de un solo hilo con un registro de
+ * millones de jugadores identificados por un long: la {@link TablaHash}
+ * encadenada, la {@link TablaHashAbierta} con claves Long y la
+ * {@link TablaHashLong} sin boxing.
+ *
+ * Uso: java rendimiento.ComparativaTablasSecuenciales [jugadores] [repeticiones]
+ */
+public class ComparativaTablasSecuenciales {
+
+    public static void main(String[] args) {
+        int jugadores = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        // Identificadores dispersos, como los que genera un registro por
+        // fragmentos, y un mismo objeto valor para medir solo la tabla
+        long[] ids = new long[jugadores];
+        for (int i = 0; i < jugadores; i++) {
+            ids[i] = ((long) i << 8) | (i % 7);
+        }
+        String valor = "jugador";
+
+        System.out.printf("%-18s %12s %12s %12s%n", "tabla", "insertar ms", "buscar ms", "MB");
+        for (int r = 0; r < repeticiones; r++) {
+            medirEncadenada(ids, valor);
+            medirAbierta(ids, valor);
+            medirLong(ids, valor);
+            System.out.println();
+        }
+    }
+
+    private static void medirEncadenada(long[] ids, String valor) {
+        long memoria = memoriaUsada();
+        long inicio = System.nanoTime();
+        TablaHash<Long, String> tabla = new TablaHash<>();
+        for (long id : ids) {
+            tabla.insertar(id, valor);
+        }
+        long insertar = System.nanoTime() - inicio;
+        inicio = System.nanoTime();
+        int encontrados = 0;
+        for (long id : ids) {
+            if (tabla.obtener(id) != null) {
+                encontrados++;
+            }
+        }
+        long buscar = System.nanoTime() - inicio;
+        // La tabla sigue en uso después de medir, así que no se libera antes
+        long bytes = memoriaUsada() - memoria;
+        reportar("TablaHash", insertar, buscar, bytes, encontrados, tabla.tamaño());
+    }
+
+    private static void medirAbierta(long[] ids, String valor) {
+        long memoria = memoriaUsada();
+        long inicio = System.nanoTime();
+        TablaHashAbierta<Long, String> tabla = new TablaHashAbierta<>();
+        for (long id : ids) {
+            tabla.insertar(id, valor);
+        }
+        long insertar = System.nanoTime() - inicio;
+        inicio = System.nanoTime();
+        int encontrados = 0;
+        for (long id : ids) {
+            if (tabla.obtener(id) != null) {
+                encontrados++;
+            }
+        }
+        long buscar = System.nanoTime() - inicio;
+        // La tabla sigue en uso después de medir, así que no se libera antes
+        long bytes = memoriaUsada() - memoria;
+        reportar("TablaHashAbierta", insertar, buscar, bytes, encontrados, tabla.tamaño());
+    }
+
+    private static void medirLong(long[] ids, String valor) {
+        long memoria = memoriaUsada();
+        long inicio = System.nanoTime();
+        TablaHashLong<String> tabla = new TablaHashLong<>();
+        for (long id : ids) {
+            tabla.insertar(id, valor);
+        }
+        long insertar = System.nanoTime() - inicio;
+        inicio = System.nanoTime();
+        int encontrados = 0;
+        for (long id : ids) {
+            if (tabla.obtener(id) != null) {
+                encontrados++;
+            }
+        }
+        long buscar = System.nanoTime() - inicio;
+        // La tabla sigue en uso después de medir, así que no se libera antes
+        long bytes = memoriaUsada() - memoria;
+        reportar("TablaHashLong", insertar, buscar, bytes, encontrados, tabla.tamaño());
+    }
+
+    private static void reportar(String nombre, long insertar, long buscar, long bytes, int encontrados,
+            int tamaño) {
+        System.out.printf("%-18s %12.1f %12.1f %12.1f%s%n", nombre, insertar / 1e6, buscar / 1e6,
+                bytes / (1024.0 * 1024.0), encontrados == tamaño ? "" : " (faltan claves)");
+    }
+
+    private static long memoriaUsada() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
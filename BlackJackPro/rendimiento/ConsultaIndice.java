@@ -0,0 +1,106 @@
+package rendimiento;
+
+import logica.ResultadoMano;
+import persistencia.ArchivoSesiones;
+import persistencia.ConsultaJugadas;
+import persistencia.IndiceJugadas;
+import persistencia.ManoArchivada;
+
+import java.nio.file.Paths;
+
+/**
+ * Compara consultas sobre un archivo de sesiones hechas con
+ * {@link IndiceJugadas} contra un recorrido completo del archivo. El archivo
+ * puede crearse con "java rendimiento.ComparativaArchivo diario archivo".
+ *
+ * Uso: java rendimiento.ConsultaIndice archivo
+ */
+public class ConsultaIndice {
+
+    private static final int REPETICIONES = 5;
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Uso: java rendimiento.ConsultaIndice archivo");
+            return;
+        }
+        ArchivoSesiones archivo = new ArchivoSesiones(Paths.get(args[0]));
+        System.out.println(archivo);
+
+        long inicio = System.nanoTime();
+        IndiceJugadas indice = new IndiceJugadas(archivo);
+        System.out.printf("%s armado en %.2f s%n", indice, (System.nanoTime() - inicio) / 1e9);
+
+        ConsultaJugadas seisPasado = new ConsultaJugadas();
+        seisPasado.setCartaVisibleDealer(6);
+        seisPasado.setTotalDealer(ConsultaJugadas.PASADO);
+
+        ConsultaJugadas blackjackContraAs = new ConsultaJugadas();
+        blackjackContraAs.setCartaVisibleDealer(1);
+        blackjackContraAs.setResultado(ResultadoMano.BLACKJACK);
+
+        ConsultaJugadas derrotaCon20 = new ConsultaJugadas();
+        derrotaCon20.setResultado(ResultadoMano.DERROTA);
+        derrotaCon20.setTotalJugador(20);
+
+        // Una vuelta sin medir para que el decodificador ya esté compilado
+        comparar(archivo, indice, derrotaCon20, false);
+        for (ConsultaJugadas consulta : new ConsultaJugadas[] { seisPasado, blackjackContraAs, derrotaCon20 }) {
+            comparar(archivo, indice, consulta, true);
+        }
+    }
+
+    private static void comparar(ArchivoSesiones archivo, IndiceJugadas indice, ConsultaJugadas consulta,
+            boolean mostrar) {
+        long encontradas = 0;
+        long inicio = System.nanoTime();
+        for (int i = 0; i < REPETICIONES; i++) {
+            encontradas = indice.contar(consulta);
+        }
+        long nanosIndice = (System.nanoTime() - inicio) / REPETICIONES;
+
+        long[] recorridas = new long[1];
+        inicio = System.nanoTime();
+        for (int i = 0; i < REPETICIONES; i++) {
+            recorridas[0] = 0;
+            archivo.recorrer(mano -> {
+                if (cumple(mano, consulta)) {
+                    recorridas[0]++;
+                }
+            });
+        }
+        long nanosRecorrido = (System.nanoTime() - inicio) / REPETICIONES;
+
+        if (!mostrar) {
+            return;
+        }
+        System.out.println(consulta);
+        System.out.printf("  índice: %d manos en %.3f ms (%d bloques candidatos)%n", encontradas, nanosIndice / 1e6,
+                indice.contarBloquesCandidatos(consulta));
+        System.out.printf("  recorrido completo: %d manos en %.3f ms%n", recorridas[0], nanosRecorrido / 1e6);
+    }
+
+    // La misma consulta evaluada mano por mano, sin índice
+    private static boolean cumple(ManoArchivada mano, ConsultaJugadas consulta) {
+        if (mano.getCartaVisibleDealer() == null) {
+            return false;
+        }
+        if (consulta.getCartaVisibleDealer() > 0
+                && mano.getCartaVisibleDealer().obtenerValorJuego() != consulta.getCartaVisibleDealer()) {
+            return false;
+        }
+        if (consulta.getTotalDealer() >= 0 && Math.min(mano.puntaje(0), ConsultaJugadas.PASADO)
+                != consulta.getTotalDealer()) {
+            return false;
+        }
+        for (int asiento = 1; asiento <= mano.getCantidadAsientos(); asiento++) {
+            if ((consulta.getJugador() == null || consulta.getJugador().equals(mano.getNombre(asiento)))
+                    && (consulta.getResultado() == null || consulta.getResultado() == mano.getResultado(asiento))
+                    && (consulta.getTotalJugador() < 0 || consulta.getTotalJugador()
+                            == Math.min(mano.puntaje(asiento), ConsultaJugadas.PASADO))) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,43 @@
+package rendimiento;
+
+import componentes.TablaHash;
+import servidor.RegistroLatencias;
+
+/**
+ * Mide la latencia de cada inserción en una {@link TablaHash} que crece de
+ * vacía a millones de jugadores, con el rehash de una vez y con el rehash
+ * incremental. El total es parecido; lo que cambia es la cola: con el rehash
+ * de una vez, la inserción que cruza el umbral paga mover toda la tabla.
+ *
+ * Conviene fijar el heap (por ejemplo -Xms3g -Xmx3g) para que las pausas del
+ * recolector no tapen la del rehash en el máximo.
+ *
+ * Uso: java rendimiento.LatenciaRehash [jugadores] [repeticiones]
+ */
+public class LatenciaRehash {
+
+    public static void main(String[] args) {
+        int jugadores = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        for (int r = 0; r < repeticiones; r++) {
+            medir("de una vez", new TablaHash<>(false), jugadores);
+            medir("incremental", new TablaHash<>(true), jugadores);
+            System.out.println();
+        }
+    }
+
+    private static void medir(String nombre, TablaHash<Long, String> tabla, int jugadores) {
+        RegistroLatencias latencias = new RegistroLatencias();
+        String valor = "jugador";
+        long inicio = System.nanoTime();
+        for (int i = 0; i < jugadores; i++) {
+            long antes = System.nanoTime();
+            tabla.insertar((long) i << 8, valor);
+            latencias.registrar(System.nanoTime() - antes);
+        }
+        long total = System.nanoTime() - inicio;
+        System.out.printf("%-12s total=%.1f ms %s%s%n", nombre, total / 1e6, latencias,
+                tabla.tamaño() == jugadores ? "" : " (faltan claves)");
+    }
+}
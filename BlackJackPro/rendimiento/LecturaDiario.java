@@ -0,0 +1,48 @@
+package rendimiento;
+
+import persistencia.InformeVerificacion;
+import persistencia.LectorDiario;
+
+/**
+ * Mide la lectura de un diario de jugadas grabado, por ejemplo con
+ * "java Main simular 10000000 basica 4 6 3 /tmp/diario": primero un recorrido
+ * paralelo que cuenta los registros de cada tipo y después la verificación
+ * completa de las manos contra las reglas.
+ *
+ * Uso: java rendimiento.LecturaDiario directorio [hilos]
+ */
+public class LecturaDiario {
+
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.out.println("Uso: java rendimiento.LecturaDiario directorio [hilos]");
+            return;
+        }
+        int hilos = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        LectorDiario lector = new LectorDiario(java.nio.file.Paths.get(args[0]));
+        System.out.println("Segmentos: " + lector.getCantidadSegmentos() + ", registros: "
+                + lector.contarRegistros() + ", hilos: " + hilos);
+
+        long inicio = System.nanoTime();
+        long[] porTipo = lector.recorrerEnParalelo(hilos, () -> new long[3],
+                (cuentas, cursor) -> cuentas[cursor.esCarta() ? 0 : cursor.esResultado() ? 1 : 2]++,
+                (a, b) -> {
+                    for (int i = 0; i < a.length; i++) {
+                        a[i] += b[i];
+                    }
+                    return a;
+                });
+        reportar("Recorrido", porTipo[0] + porTipo[1] + porTipo[2], System.nanoTime() - inicio);
+        System.out.println("  cartas: " + porTipo[0] + ", resultados: " + porTipo[1] + ", otros: " + porTipo[2]);
+
+        inicio = System.nanoTime();
+        InformeVerificacion informe = lector.verificar(hilos);
+        reportar("Verificación", informe.getRegistros(), System.nanoTime() - inicio);
+        System.out.println("  " + informe);
+    }
+
+    private static void reportar(String nombre, long registros, long nanos) {
+        System.out.printf("%s: %d registros en %.2f s (%.1f M registros/s)%n", nombre, registros, nanos / 1e9,
+                registros / (nanos / 1e9) / 1e6);
+    }
+}
@@ -0,0 +1,65 @@
+package rendimiento;
+
+import juego.RegistroSesiones;
+import juego.SesionJuego;
+
+/**
+ * Mide el {@link RegistroSesiones} con varios hilos que crean, buscan y
+ * finalizan sesiones a la vez, como un servidor con muchas mesas. Cada hilo
+ * mantiene una ventana de sesiones activas: crea una, busca una de las
+ * recientes y finaliza la más vieja. Compara una sola partición, que
+ * equivale a un registro con un único bloqueo de escritura, contra el
+ * registro particionado; las búsquedas no bloquean en ningún caso.
+ *
+ * Uso: java rendimiento.RegistroConcurrente [hilos] [operaciones por hilo]
+ */
+public class RegistroConcurrente {
+
+    private static final int VENTANA = 1024;
+
+    public static void main(String[] args) throws InterruptedException {
+        int hilos = args.length > 0 ? Integer.parseInt(args[0]) : Runtime.getRuntime().availableProcessors();
+        int operaciones = args.length > 1 ? Integer.parseInt(args[1]) : 2_000_000;
+
+        for (int ronda = 0; ronda < 2; ronda++) {
+            medir(new RegistroSesiones(1), hilos, operaciones, ronda == 1);
+            medir(new RegistroSesiones(), hilos, operaciones, ronda == 1);
+        }
+    }
+
+    private static void medir(RegistroSesiones registro, int hilos, int operaciones, boolean mostrar)
+            throws InterruptedException {
+        Thread[] trabajadores = new Thread[hilos];
+        long inicio = System.nanoTime();
+        for (int h = 0; h < hilos; h++) {
+            trabajadores[h] = new Thread(() -> {
+                long[] ventana = new long[VENTANA];
+                for (int i = 0; i < operaciones; i++) {
+                    int lugar = i % VENTANA;
+                    if (i >= VENTANA) {
+                        registro.finalizar(ventana[lugar]);
+                    }
+                    ventana[lugar] = registro.crearSesion().getIdentificador();
+                    SesionJuego reciente = registro.obtener(ventana[(lugar + VENTANA / 2) % VENTANA]);
+                    if (i >= VENTANA && reciente == null) {
+                        throw new IllegalStateException("Se perdió una sesión activa");
+                    }
+                }
+                for (long identificador : ventana) {
+                    registro.finalizar(identificador);
+                }
+            });
+            trabajadores[h].start();
+        }
+        for (Thread trabajador : trabajadores) {
+            trabajador.join();
+        }
+        long nanos = System.nanoTime() - inicio;
+
+        if (mostrar) {
+            long total = (long) hilos * operaciones;
+            System.out.printf("%d particiones, %d hilos: %.1f M sesiones/s (%s)%n",
+                    registro.getCantidadParticiones(), hilos, total / (nanos / 1e9) / 1e6, registro);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package servidor;
+
+import componentes.ColaConcurrente;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Bucle de eventos de un solo hilo que atiende a un grupo de mesas. Los demás
+ * hilos solo depositan mensajes en su buzón; las mesas, sus mazos, jugadores
+ * y turnos los toca únicamente el hilo del bucle.
+ *
+ * Como todos los plazos duran lo mismo, vencen en el mismo orden en que se
+ * programan y alcanza con una cola FIFO para llevarlos.
+ *
+ * El buzón es una {@link ColaConcurrente}, así que depositar un mensaje no
+ * toma ningún bloqueo. Cuando no hay nada que hacer el hilo del bucle se
+ * duerme con {@link LockSupport#park}, y quien deposita lo despierta solo si
+ * está dormido. Si el buzón se llena, el productor cede el procesador hasta
+ * que el bucle lo vacíe.
+ *
+ * Si procesar un mensaje lanza una excepción, solo falla la mesa a la que
+ * iba dirigido; el bucle sigue atendiendo a las demás.
+ */
+class BucleEventos implements Runnable {
+
+    private static final int LOTE_MAXIMO = 256;
+    private static final int CAPACIDAD_BUZON = 1 << 14;
+
+    // Plazo pendiente de una pregunta
+    private static final class Plazo {
+        final MesaReactiva mesa;
+        final long secuencia;
+        final long vence;
+
+        Plazo(MesaReactiva mesa, long secuencia, long vence) {
+            this.mesa = mesa;
+            this.secuencia = secuencia;
+            this.vence = vence;
+        }
+    }
+
+    private final ColaConcurrente<Mensaje> buzon;
+    private final ArrayDeque<Plazo> plazos;
+    private final long plazoNanos;
+    private final Thread hilo;
+    // Indica que el hilo del bucle está por dormirse o dormido
+    private volatile boolean dormido;
+
+    BucleEventos(int numero, long plazoNanos) {
+        this.buzon = new ColaConcurrente<>(CAPACIDAD_BUZON);
+        this.plazos = new ArrayDeque<>();
+        this.plazoNanos = plazoNanos;
+        this.hilo = new Thread(this, "bucle-mesas-" + numero);
+        this.hilo.setDaemon(true);
+    }
+
+    void iniciar() {
+        hilo.start();
+    }
+
+    /**
+     * Deposita un mensaje; puede llamarse desde cualquier hilo.
+     */
+    void publicar(Mensaje mensaje) {
+        while (!buzon.agregar(mensaje)) {
+            Thread.yield();
+        }
+        // El bucle marca que se duerme antes de revisar el buzón por última
+        // vez, así que alguno de los dos ve al otro
+        if (dormido) {
+            LockSupport.unpark(hilo);
+        }
+    }
+
+    /**
+     * Programa el plazo de una pregunta; solo desde el hilo del bucle.
+     */
+    void programarPlazo(MesaReactiva mesa, long secuencia, long enviadoEn) {
+        if (plazoNanos > 0) {
+            plazos.addLast(new Plazo(mesa, secuencia, enviadoEn + plazoNanos));
+        }
+    }
+
+    @Override
+    public void run() {
+        List<Mensaje> lote = new ArrayList<>(LOTE_MAXIMO);
+        while (!Thread.currentThread().isInterrupted()) {
+            if (buzon.drenarA(lote, LOTE_MAXIMO) == 0) {
+                esperarMensajes();
+            }
+            for (Mensaje mensaje : lote) {
+                if (mensaje.tipo == Mensaje.Tipo.DETENER) {
+                    return;
+                }
+                procesarAislado(mensaje);
+            }
+            lote.clear();
+            vencerPlazos();
+        }
+    }
+
+    // Duerme hasta que llegue un mensaje o venza el próximo plazo
+    private void esperarMensajes() {
+        dormido = true;
+        if (buzon.estaVacía()) {
+            if (plazos.isEmpty()) {
+                LockSupport.park(this);
+            } else {
+                long espera = plazos.peekFirst().vence - System.nanoTime();
+                if (espera > 0) {
+                    LockSupport.parkNanos(this, espera);
+                }
+            }
+        }
+        dormido = false;
+    }
+
+    // Convierte los plazos vencidos en mensajes y los procesa en orden
+    private void vencerPlazos() {
+        long ahora = System.nanoTime();
+        while (!plazos.isEmpty() && plazos.peekFirst().vence <= ahora) {
+            Plazo plazo = plazos.pollFirst();
+            procesarAislado(Mensaje.plazo(plazo.mesa, plazo.secuencia));
+        }
+    }
+
+    // Un error en una mesa la termina a ella sola, sin matar el hilo del bucle
+    private void procesarAislado(Mensaje mensaje) {
+        try {
+            procesar(mensaje);
+        } catch (RuntimeException e) {
+            mensaje.mesa.fallar(e);
+        }
+    }
+
+    private void procesar(Mensaje mensaje) {
+        switch (mensaje.tipo) {
+            case ABRIR:
+                mensaje.mesa.comenzar();
+                break;
+            case RESPUESTA:
+                mensaje.mesa.recibirRespuesta(mensaje.asiento, mensaje.linea);
+                break;
+            case PLAZO:
+                mensaje.mesa.vencioPlazo(mensaje.secuencia);
+                break;
+            default:
+                break;
+        }
+    }
+
+    void detener() throws InterruptedException {
+        publicar(Mensaje.DETENER);
+        hilo.join();
+    }
+}
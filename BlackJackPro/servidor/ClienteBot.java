@@ -0,0 +1,94 @@
+package servidor;
+
+import simulacion.TablaEstrategiaBasica;
+
+/**
+ * Cliente automático que responde las preguntas de una
+ * {@link EstrategiaCanal} usando la tabla de estrategia básica. Sirve para
+ * generar carga sobre el servidor sin intervención humana.
+ *
+ * Las líneas que no respetan el protocolo se ignoran y se cuentan; la
+ * pregunta queda sin respuesta y el servidor la resuelve al vencer su plazo.
+ */
+public class ClienteBot implements Runnable {
+
+    private final ConexionJugador conexion;
+    private final TablaEstrategiaBasica tabla;
+    private long respuestas;
+    private long lineasIgnoradas;
+
+    /**
+     * Crea un cliente para la conexión indicada.
+     *
+     * @param conexion Conexión con el asiento del jugador.
+     * @param tabla    Tabla de estrategia, inmutable y compartida entre clientes.
+     */
+    public ClienteBot(ConexionJugador conexion, TablaEstrategiaBasica tabla) {
+        this.conexion = conexion;
+        this.tabla = tabla;
+    }
+
+    /**
+     * Atiende preguntas hasta recibir "FIN" o hasta que se cierre la conexión.
+     */
+    @Override
+    public void run() {
+        while (true) {
+            String linea = conexion.getHaciaCliente().leerLinea(null);
+            if (linea == null || linea.equals(EstrategiaCanal.FIN)) {
+                return;
+            }
+
+            if (!responder(linea)) {
+                lineasIgnoradas++;
+            }
+        }
+    }
+
+    /**
+     * Responde una pregunta "DECIDIR total S|D visible secuencia".
+     *
+     * @param linea Línea recibida del servidor.
+     * @return true si la línea era una pregunta válida y se respondió.
+     */
+    private boolean responder(String linea) {
+        String[] partes = linea.split(" ");
+        if (partes.length != 5 || !partes[0].equals(EstrategiaCanal.DECIDIR)
+                || !(partes[2].equals("S") || partes[2].equals("D"))) {
+            return false;
+        }
+        int total;
+        int visible;
+        long secuencia;
+        try {
+            total = Integer.parseInt(partes[1]);
+            visible = Integer.parseInt(partes[3]);
+            secuencia = Long.parseLong(partes[4]);
+        } catch (NumberFormatException e) {
+            return false;
+        }
+        if (total < 0 || visible < 1 || visible > 10) {
+            return false;
+        }
+
+        boolean pedir = tabla.accion(total, partes[2].equals("S"), visible) == TablaEstrategiaBasica.PEDIR;
+        conexion.responder(EstrategiaCanal.respuesta(pedir, secuencia));
+        respuestas++;
+        return true;
+    }
+
+    /**
+     * Cantidad de preguntas respondidas; válido cuando el cliente terminó.
+     */
+    public long getRespuestas() {
+        return respuestas;
+    }
+
+    /**
+     * Cantidad de líneas descartadas por no respetar el protocolo; válido
+     * cuando el cliente terminó.
+     */
+    public long getLineasIgnoradas() {
+        return lineasIgnoradas;
+    }
+}
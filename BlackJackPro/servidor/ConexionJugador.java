@@ -0,0 +1,95 @@
+package servidor;
+
+import juego.CanalCola;
+
+import java.util.function.Consumer;
+
+/**
+ * Une a un jugador remoto con su asiento. Las preguntas del servidor viajan
+ * por un canal en memoria que el cliente lee; las respuestas del cliente se
+ * entregan a un destino que depende del planificador: por defecto otro canal
+ * que lee el hilo de la mesa, o el buzón de un bucle de eventos. Solo se
+ * comparten cadenas inmutables entre los hilos.
+ */
+public class ConexionJugador {
+
+    private final String nombre;
+    private final CanalCola haciaCliente;
+    private final CanalCola haciaServidor;
+    private volatile Consumer<String> destinoRespuestas;
+
+    /**
+     * Crea una conexión nueva para el jugador indicado.
+     *
+     * @param nombre Nombre del jugador conectado.
+     */
+    public ConexionJugador(String nombre) {
+        this.nombre = nombre;
+        this.haciaCliente = new CanalCola();
+        this.haciaServidor = new CanalCola();
+        this.destinoRespuestas = this::entregarAlServidor;
+    }
+
+    // Una respuesta que llega después de cerrada la conexión se descarta
+    private void entregarAlServidor(String linea) {
+        try {
+            haciaServidor.enviar(linea);
+        } catch (IllegalStateException e) {
+            // La mesa ya terminó
+        }
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    /**
+     * Envía una línea al cliente.
+     *
+     * @param linea Mensaje del protocolo.
+     */
+    public void preguntar(String linea) {
+        haciaCliente.enviar(linea);
+    }
+
+    /**
+     * Entrega la respuesta del cliente al servidor.
+     *
+     * @param linea Respuesta del protocolo.
+     */
+    public void responder(String linea) {
+        destinoRespuestas.accept(linea);
+    }
+
+    /**
+     * Redirige las respuestas del cliente. Debe llamarse antes de que el
+     * cliente empiece a responder.
+     *
+     * @param destino Función que recibe cada respuesta.
+     */
+    public void setDestinoRespuestas(Consumer<String> destino) {
+        this.destinoRespuestas = destino;
+    }
+
+    /**
+     * Canal por el que el servidor envía preguntas y el cliente las lee.
+     */
+    public CanalCola getHaciaCliente() {
+        return haciaCliente;
+    }
+
+    /**
+     * Canal por el que llegan las respuestas cuando no se redirigieron.
+     */
+    public CanalCola getHaciaServidor() {
+        return haciaServidor;
+    }
+
+    /**
+     * Cierra ambos sentidos de la conexión.
+     */
+    public void cerrar() {
+        haciaCliente.cerrar();
+        haciaServidor.cerrar();
+    }
+}
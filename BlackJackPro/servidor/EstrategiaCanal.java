@@ -0,0 +1,152 @@
+package servidor;
+
+import logica.Carta;
+import logica.EstrategiaJugador;
+import logica.Jugador;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estrategia que no decide por sí misma: envía el estado de la mano al
+ * cliente y espera su respuesta. El hilo de la mesa queda bloqueado hasta que
+ * llega la respuesta o vence el plazo, por lo que conviene que cada mesa
+ * corra en su propio hilo virtual.
+ *
+ * Protocolo de texto, una línea por mensaje:
+ * servidor a cliente "DECIDIR total S|D valorVisible secuencia" o "FIN";
+ * cliente a servidor "PEDIR secuencia" o "PLANTARSE secuencia". La secuencia
+ * permite descartar respuestas que llegan después de vencido su plazo.
+ */
+public class EstrategiaCanal implements EstrategiaJugador {
+
+    public static final String DECIDIR = "DECIDIR";
+    public static final String FIN = "FIN";
+    public static final String PEDIR = "PEDIR";
+    public static final String PLANTARSE = "PLANTARSE";
+
+    private final ConexionJugador conexion;
+    private final long plazoNanos;
+    private final RegistroLatencias latencias;
+    private long secuencia;
+    private long plazosVencidos;
+
+    /**
+     * Crea una estrategia sin plazo que no mide latencias.
+     *
+     * @param conexion Conexión con el jugador remoto.
+     */
+    public EstrategiaCanal(ConexionJugador conexion) {
+        this(conexion, 0, null);
+    }
+
+    /**
+     * Crea una estrategia con plazo de respuesta.
+     *
+     * @param conexion   Conexión con el jugador remoto.
+     * @param plazoNanos Tiempo máximo de espera por respuesta; 0 para esperar
+     *                   sin límite. Al vencer, el jugador se planta.
+     * @param latencias  Registro donde anotar el tiempo de cada respuesta, o null.
+     */
+    public EstrategiaCanal(ConexionJugador conexion, long plazoNanos, RegistroLatencias latencias) {
+        this.conexion = conexion;
+        this.plazoNanos = plazoNanos;
+        this.latencias = latencias;
+    }
+
+    /**
+     * Pregunta al cliente si pide carta. Si el canal se cerró o venció el
+     * plazo, el jugador se planta.
+     */
+    @Override
+    public boolean pedirCarta(Jugador jugador, Carta cartaDealer) {
+        long id = ++secuencia;
+        long envio = System.nanoTime();
+        conexion.preguntar(pregunta(jugador.puntajeTotal(), jugador.esManoSuave(),
+                cartaDealer.obtenerValorJuego(), id));
+
+        while (true) {
+            String respuesta;
+            if (plazoNanos > 0) {
+                long restante = envio + plazoNanos - System.nanoTime();
+                respuesta = restante > 0
+                        ? conexion.getHaciaServidor().leerLinea(restante, TimeUnit.NANOSECONDS)
+                        : null;
+                if (respuesta == null && !conexion.getHaciaServidor().estaCerrado()) {
+                    plazosVencidos++;
+                }
+            } else {
+                respuesta = conexion.getHaciaServidor().leerLinea(null);
+            }
+
+            if (respuesta == null) {
+                return false;
+            }
+            if (secuenciaDe(respuesta) != id) {
+                continue; // Respuesta atrasada de una pregunta anterior
+            }
+            if (latencias != null) {
+                latencias.registrar(System.nanoTime() - envio);
+            }
+            return esPedir(respuesta);
+        }
+    }
+
+    /**
+     * Cantidad de preguntas que quedaron sin respuesta a tiempo.
+     */
+    public long getPlazosVencidos() {
+        return plazosVencidos;
+    }
+
+    /**
+     * Arma el mensaje que pide una decisión al cliente.
+     *
+     * @param total     Puntaje del jugador.
+     * @param suave     true si la mano es suave.
+     * @param visible   Valor de la carta visible del Dealer (1 para el As).
+     * @param secuencia Número de la pregunta.
+     * @return Línea del protocolo.
+     */
+    public static String pregunta(int total, boolean suave, int visible, long secuencia) {
+        return DECIDIR + " " + total + " " + (suave ? "S" : "D") + " " + visible + " " + secuencia;
+    }
+
+    /**
+     * Arma la respuesta del cliente a una pregunta.
+     *
+     * @param pedir     true para pedir carta.
+     * @param secuencia Número de la pregunta que se responde.
+     * @return Línea del protocolo.
+     */
+    public static String respuesta(boolean pedir, long secuencia) {
+        return (pedir ? PEDIR : PLANTARSE) + " " + secuencia;
+    }
+
+    /**
+     * Indica si una respuesta pide carta.
+     *
+     * @param respuesta Línea recibida del cliente.
+     * @return true si pide carta.
+     */
+    public static boolean esPedir(String respuesta) {
+        return respuesta.startsWith(PEDIR);
+    }
+
+    /**
+     * Extrae el número de secuencia del final de una línea del protocolo.
+     *
+     * @param linea Línea del protocolo.
+     * @return Secuencia, o -1 si la línea no la trae.
+     */
+    public static long secuenciaDe(String linea) {
+        int espacio = linea.lastIndexOf(' ');
+        if (espacio < 0) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(linea.substring(espacio + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package servidor;
+
+/**
+ * Mensaje del buzón de un {@link BucleEventos}. Es inmutable, así que puede
+ * crearse en cualquier hilo y procesarse en el del bucle.
+ */
+final class Mensaje {
+
+    enum Tipo {
+        ABRIR,
+        RESPUESTA,
+        PLAZO,
+        DETENER
+    }
+
+    static final Mensaje DETENER = new Mensaje(Tipo.DETENER, null, -1, null, -1);
+
+    final Tipo tipo;
+    final MesaReactiva mesa;
+    final int asiento;
+    final String linea;
+    final long secuencia;
+
+    private Mensaje(Tipo tipo, MesaReactiva mesa, int asiento, String linea, long secuencia) {
+        this.tipo = tipo;
+        this.mesa = mesa;
+        this.asiento = asiento;
+        this.linea = linea;
+        this.secuencia = secuencia;
+    }
+
+    static Mensaje abrir(MesaReactiva mesa) {
+        return new Mensaje(Tipo.ABRIR, mesa, -1, null, -1);
+    }
+
+    static Mensaje respuesta(MesaReactiva mesa, int asiento, String linea) {
+        return new Mensaje(Tipo.RESPUESTA, mesa, asiento, linea, -1);
+    }
+
+    static Mensaje plazo(MesaReactiva mesa, long secuencia) {
+        return new Mensaje(Tipo.PLAZO, mesa, -1, null, secuencia);
+    }
+}
@@ -0,0 +1,160 @@
+package servidor;
+
+import juego.MesaBlackjack;
+import logica.Jugador;
+import logica.MazoCartas;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Mesa que avanza por mensajes en lugar de bloquearse: pregunta al jugador en
+ * turno y vuelve al bucle; cuando llega la respuesta o vence el plazo aplica
+ * la decisión y sigue. Todo su estado (mazo, Dealer, jugadores y turnos) lo
+ * toca solamente el hilo de su {@link BucleEventos}, por lo que no necesita
+ * ningún bloqueo.
+ */
+class MesaReactiva {
+
+    private final int identificador;
+    private final MesaBlackjack mesa;
+    private final ConexionJugador[] conexiones;
+    private final BucleEventos bucle;
+    private final RegistroLatencias latencias;
+    private final CompletableFuture<Void> fin;
+    private long rondasRestantes;
+    private long manosJugadas;
+    private long plazosVencidos;
+    // Pregunta pendiente: asiento, número y momento de envío
+    private int asientoPreguntado;
+    private long secuencia;
+    private long enviadoEn;
+    private boolean terminada;
+
+    MesaReactiva(int identificador, MazoCartas mazo, long rondas, BucleEventos bucle, String... jugadores) {
+        this.identificador = identificador;
+        this.mesa = new MesaBlackjack(mazo);
+        this.conexiones = new ConexionJugador[jugadores.length];
+        this.bucle = bucle;
+        this.latencias = new RegistroLatencias();
+        this.fin = new CompletableFuture<>();
+        this.rondasRestantes = rondas;
+        this.asientoPreguntado = -1;
+
+        for (int i = 0; i < jugadores.length; i++) {
+            int asiento = mesa.sentarJugador(new Jugador(jugadores[i]), null);
+            ConexionJugador conexion = new ConexionJugador(jugadores[i]);
+            conexion.setDestinoRespuestas(linea -> bucle.publicar(Mensaje.respuesta(this, asiento, linea)));
+            conexiones[asiento] = conexion;
+        }
+    }
+
+    /**
+     * Primera ronda; se llama desde el hilo del bucle.
+     */
+    void comenzar() {
+        siguienteRonda();
+    }
+
+    /**
+     * Aplica la respuesta de un jugador si corresponde a la pregunta pendiente.
+     */
+    void recibirRespuesta(int asiento, String linea) {
+        if (terminada || asiento != asientoPreguntado || EstrategiaCanal.secuenciaDe(linea) != secuencia) {
+            return; // Respuesta atrasada o duplicada
+        }
+        latencias.registrar(System.nanoTime() - enviadoEn);
+        decidir(EstrategiaCanal.esPedir(linea));
+    }
+
+    /**
+     * Si la pregunta indicada sigue pendiente, el jugador se planta.
+     */
+    void vencioPlazo(long secuenciaVencida) {
+        if (!terminada && secuenciaVencida == secuencia && asientoPreguntado >= 0) {
+            plazosVencidos++;
+            decidir(false);
+        }
+    }
+
+    private void decidir(boolean pedir) {
+        asientoPreguntado = -1;
+        mesa.aplicarDecision(pedir);
+        if (mesa.isRondaEnCurso()) {
+            preguntar();
+        } else {
+            manosJugadas += mesa.getCantidadAsientos();
+            siguienteRonda();
+        }
+    }
+
+    // Reparte rondas hasta que una necesite decisiones o se acaben
+    private void siguienteRonda() {
+        while (rondasRestantes > 0) {
+            rondasRestantes--;
+            if (mesa.iniciarRonda()) {
+                preguntar();
+                return;
+            }
+            manosJugadas += mesa.getCantidadAsientos();
+        }
+        terminar();
+    }
+
+    private void preguntar() {
+        MesaBlackjack.Asiento asiento = mesa.asientoEnTurno();
+        Jugador jugador = asiento.getJugador();
+        asientoPreguntado = asiento.getNumero();
+        secuencia++;
+        enviadoEn = System.nanoTime();
+        conexiones[asientoPreguntado].preguntar(EstrategiaCanal.pregunta(jugador.puntajeTotal(),
+                jugador.esManoSuave(), mesa.getCartaVisibleDealer().obtenerValorJuego(), secuencia));
+        bucle.programarPlazo(this, secuencia, enviadoEn);
+    }
+
+    private void terminar() {
+        terminada = true;
+        for (ConexionJugador conexion : conexiones) {
+            conexion.preguntar(EstrategiaCanal.FIN);
+            conexion.cerrar();
+        }
+        fin.complete(null);
+    }
+
+    /**
+     * Da por terminada la mesa porque uno de sus mensajes falló: completa el
+     * fin con el error y cierra las conexiones. Los mensajes que lleguen
+     * después se descartan.
+     */
+    void fallar(RuntimeException error) {
+        terminada = true;
+        asientoPreguntado = -1;
+        fin.completeExceptionally(error);
+        for (ConexionJugador conexion : conexiones) {
+            conexion.cerrar();
+        }
+    }
+
+    int getIdentificador() {
+        return identificador;
+    }
+
+    ConexionJugador[] getConexiones() {
+        return conexiones;
+    }
+
+    CompletableFuture<Void> getFin() {
+        return fin;
+    }
+
+    long getManosJugadas() {
+        return manosJugadas;
+    }
+
+    long getPlazosVencidos() {
+        return plazosVencidos;
+    }
+
+    RegistroLatencias getLatencias() {
+        return latencias;
+    }
+}
@@ -0,0 +1,62 @@
+package servidor;
+
+import logica.MazoCartas;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Modo de ejecución de las mesas del servidor. Cada implementación decide en
+ * qué hilos corren las mesas y cómo les llegan las respuestas de los
+ * jugadores, pero todas exponen las mismas métricas para poder compararlas.
+ */
+public interface Planificador {
+
+    /**
+     * Aloja una mesa nueva y la pone en marcha.
+     *
+     * @param identificador Número de la mesa.
+     * @param mazo          Mazo o zapato propio de la mesa.
+     * @param rondas        Cantidad de rondas a jugar.
+     * @param jugadores     Nombres de los jugadores, uno por asiento.
+     * @return Conexiones de los jugadores en orden de asiento, que deben
+     *         atender los clientes.
+     */
+    ConexionJugador[] abrirMesa(int identificador, MazoCartas mazo, long rondas, String... jugadores);
+
+    /**
+     * Espera a que terminen todas las mesas abiertas.
+     *
+     * @param espera Tiempo máximo de espera.
+     * @param unidad Unidad del tiempo de espera.
+     * @return true si todas terminaron a tiempo.
+     * @throws InterruptedException si se interrumpe la espera.
+     */
+    boolean esperar(long espera, TimeUnit unidad) throws InterruptedException;
+
+    /**
+     * Libera los hilos del planificador.
+     */
+    void cerrar();
+
+    /**
+     * Manos resueltas por todas las mesas; válido después de {@link #esperar}.
+     */
+    long getManosJugadas();
+
+    /**
+     * Latencias de respuesta combinadas de todas las mesas; válido después de
+     * {@link #esperar}.
+     */
+    RegistroLatencias getLatencias();
+
+    /**
+     * Preguntas que quedaron sin respuesta a tiempo; válido después de
+     * {@link #esperar}.
+     */
+    long getPlazosVencidos();
+
+    /**
+     * Nombre del modo, para los reportes.
+     */
+    String getNombre();
+}
@@ -0,0 +1,133 @@
+package servidor;
+
+import logica.MazoCartas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Planificador de bucles de eventos repartidos: N hilos, por defecto uno por
+ * núcleo, cada uno dueño exclusivo de las mesas que le tocan según el hash de
+ * su identificador. Las respuestas de los jugadores y los plazos vencidos
+ * llegan como mensajes al buzón del bucle, así que el camino caliente de la
+ * mesa no usa bloqueos.
+ *
+ * Java no permite fijar un hilo a un núcleo; con un bucle por núcleo el
+ * sistema operativo tiende a mantenerlos repartidos.
+ */
+public class PlanificadorBucles implements Planificador {
+
+    private final BucleEventos[] bucles;
+    private final List<MesaReactiva> mesas;
+
+    /**
+     * Crea un bucle por núcleo disponible.
+     *
+     * @param plazoNanos Tiempo máximo de cada respuesta; 0 para no limitarlo.
+     */
+    public PlanificadorBucles(long plazoNanos) {
+        this(Runtime.getRuntime().availableProcessors(), plazoNanos);
+    }
+
+    /**
+     * Crea la cantidad de bucles indicada.
+     *
+     * @param cantidadBucles Cantidad de hilos de bucle.
+     * @param plazoNanos     Tiempo máximo de cada respuesta; 0 para no limitarlo.
+     */
+    public PlanificadorBucles(int cantidadBucles, long plazoNanos) {
+        if (cantidadBucles < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un bucle");
+        }
+        this.bucles = new BucleEventos[cantidadBucles];
+        for (int i = 0; i < cantidadBucles; i++) {
+            bucles[i] = new BucleEventos(i, plazoNanos);
+            bucles[i].iniciar();
+        }
+        this.mesas = new ArrayList<>();
+    }
+
+    // Dispersa el identificador para que mesas consecutivas no dependan del
+    // módulo simple
+    private BucleEventos bucleDe(int identificador) {
+        int hash = identificador * 0x9E3779B9;
+        return bucles[Math.floorMod(hash ^ (hash >>> 16), bucles.length)];
+    }
+
+    @Override
+    public synchronized ConexionJugador[] abrirMesa(int identificador, MazoCartas mazo, long rondas,
+            String... jugadores) {
+        BucleEventos bucle = bucleDe(identificador);
+        MesaReactiva mesa = new MesaReactiva(identificador, mazo, rondas, bucle, jugadores);
+        mesas.add(mesa);
+        bucle.publicar(Mensaje.abrir(mesa));
+        return mesa.getConexiones();
+    }
+
+    @Override
+    public boolean esperar(long espera, TimeUnit unidad) throws InterruptedException {
+        long limite = System.nanoTime() + unidad.toNanos(espera);
+        List<MesaReactiva> copia;
+        synchronized (this) {
+            copia = new ArrayList<>(mesas);
+        }
+        for (MesaReactiva mesa : copia) {
+            try {
+                mesa.getFin().get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return false;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falló una mesa", e.getCause());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void cerrar() {
+        try {
+            for (BucleEventos bucle : bucles) {
+                bucle.detener();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // Las métricas se leen cuando las mesas terminaron: CompletableFuture
+    // publica lo escrito por el hilo del bucle antes de completar el fin
+    @Override
+    public synchronized long getManosJugadas() {
+        long total = 0;
+        for (MesaReactiva mesa : mesas) {
+            total += mesa.getManosJugadas();
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized RegistroLatencias getLatencias() {
+        RegistroLatencias total = new RegistroLatencias();
+        for (MesaReactiva mesa : mesas) {
+            total.combinar(mesa.getLatencias());
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized long getPlazosVencidos() {
+        long total = 0;
+        for (MesaReactiva mesa : mesas) {
+            total += mesa.getPlazosVencidos();
+        }
+        return total;
+    }
+
+    @Override
+    public String getNombre() {
+        return bucles.length + " bucles de eventos";
+    }
+}
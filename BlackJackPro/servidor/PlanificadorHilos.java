@@ -0,0 +1,104 @@
+package servidor;
+
+import logica.MazoCartas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Planificador de un hilo por mesa: cada {@link SesionMesa} corre en su propio
+ * hilo del {@link ServidorMesas} (virtual si la JVM lo permite) y se bloquea
+ * esperando a cada jugador.
+ */
+public class PlanificadorHilos implements Planificador {
+
+    private final ServidorMesas servidor;
+    private final long plazoNanos;
+    private final List<SesionMesa> sesiones;
+    private final List<Future<?>> pendientes;
+
+    /**
+     * Crea el planificador.
+     *
+     * @param plazoNanos Tiempo máximo de cada respuesta; 0 para no limitarlo.
+     */
+    public PlanificadorHilos(long plazoNanos) {
+        this.servidor = new ServidorMesas();
+        this.plazoNanos = plazoNanos;
+        this.sesiones = new ArrayList<>();
+        this.pendientes = new ArrayList<>();
+    }
+
+    @Override
+    public synchronized ConexionJugador[] abrirMesa(int identificador, MazoCartas mazo, long rondas,
+            String... jugadores) {
+        SesionMesa sesion = new SesionMesa(identificador, mazo, rondas, plazoNanos);
+        ConexionJugador[] conexiones = new ConexionJugador[jugadores.length];
+        for (int i = 0; i < jugadores.length; i++) {
+            conexiones[i] = sesion.conectarJugador(jugadores[i]);
+        }
+        sesiones.add(sesion);
+        pendientes.add(servidor.abrirMesa(sesion));
+        return conexiones;
+    }
+
+    @Override
+    public boolean esperar(long espera, TimeUnit unidad) throws InterruptedException {
+        long limite = System.nanoTime() + unidad.toNanos(espera);
+        List<Future<?>> copia;
+        synchronized (this) {
+            copia = new ArrayList<>(pendientes);
+        }
+        for (Future<?> pendiente : copia) {
+            try {
+                pendiente.get(Math.max(0, limite - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                return false;
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Falló una mesa", e.getCause());
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void cerrar() {
+        servidor.cerrar(1, TimeUnit.MINUTES);
+    }
+
+    @Override
+    public synchronized long getManosJugadas() {
+        long total = 0;
+        for (SesionMesa sesion : sesiones) {
+            total += sesion.getManosJugadas();
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized RegistroLatencias getLatencias() {
+        RegistroLatencias total = new RegistroLatencias();
+        for (SesionMesa sesion : sesiones) {
+            total.combinar(sesion.getLatencias());
+        }
+        return total;
+    }
+
+    @Override
+    public synchronized long getPlazosVencidos() {
+        long total = 0;
+        for (SesionMesa sesion : sesiones) {
+            total += sesion.getPlazosVencidos();
+        }
+        return total;
+    }
+
+    @Override
+    public String getNombre() {
+        return "un hilo " + (servidor.usaHilosVirtuales() ? "virtual" : "de plataforma") + " por mesa";
+    }
+}
@@ -0,0 +1,79 @@
+package servidor;
+
+import logica.Zapato;
+import simulacion.TablaEstrategiaBasica;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prueba de carga local del servidor: abre muchas mesas a la vez, cada una
+ * con varios clientes automáticos conectados por canales en memoria, y mide
+ * cuántas manos por segundo se sostienen por núcleo y la latencia de las
+ * respuestas.
+ *
+ * Uso: java servidor.PruebaCarga [hilos|bucles] [mesas] [asientos] [rondas] [barajas] [plazoMs]
+ */
+public class PruebaCarga {
+
+    public static void main(String[] args) throws InterruptedException {
+        String modo = args.length > 0 ? args[0] : "hilos";
+        int mesas = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+        int asientos = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+        long rondas = args.length > 3 ? Long.parseLong(args[3]) : 200;
+        int barajas = args.length > 4 ? Integer.parseInt(args[4]) : 6;
+        long plazoNanos = TimeUnit.MILLISECONDS.toNanos(args.length > 5 ? Long.parseLong(args[5]) : 5000);
+        int nucleos = Runtime.getRuntime().availableProcessors();
+
+        Planificador planificador = modo.equals("bucles")
+                ? new PlanificadorBucles(plazoNanos)
+                : new PlanificadorHilos(plazoNanos);
+        // Los clientes corren siempre en hilos propios, como conexiones reales
+        ServidorMesas clientes = new ServidorMesas();
+        TablaEstrategiaBasica tabla = TablaEstrategiaBasica.paraBarajas(barajas);
+        Random semillas = new Random(42);
+
+        long inicio = System.nanoTime();
+        List<ClienteBot> bots = new ArrayList<>(mesas * asientos);
+        String[] nombres = new String[asientos];
+        for (int m = 0; m < mesas; m++) {
+            for (int a = 0; a < asientos; a++) {
+                nombres[a] = "Mesa" + m + "-" + a;
+            }
+            ConexionJugador[] conexiones = planificador.abrirMesa(m,
+                    new Zapato(barajas, 0.75, new Random(semillas.nextLong())), rondas, nombres);
+            for (ConexionJugador conexion : conexiones) {
+                ClienteBot bot = new ClienteBot(conexion, tabla);
+                bots.add(bot);
+                clientes.abrir(bot);
+            }
+        }
+
+        if (!planificador.esperar(10, TimeUnit.MINUTES)) {
+            System.out.println("Las mesas no terminaron a tiempo");
+        }
+        long nanos = System.nanoTime() - inicio;
+        clientes.cerrar(1, TimeUnit.MINUTES);
+        planificador.cerrar();
+
+        long manos = planificador.getManosJugadas();
+        double segundos = nanos / 1e9;
+        RegistroLatencias latencias = planificador.getLatencias();
+
+        System.out.println("Modo: " + planificador.getNombre()
+                + " (clientes en hilos " + (clientes.usaHilosVirtuales() ? "virtuales" : "de plataforma")
+                + ", pico de hilos de plataforma: " + ManagementFactory.getThreadMXBean().getPeakThreadCount() + ")");
+        System.out.println("Núcleos: " + nucleos);
+        System.out.println("Mesas simultáneas: " + mesas + " (" + (mesas / (double) nucleos) + " por núcleo)");
+        System.out.println("Sesiones simultáneas: " + (mesas * (asientos + 1))
+                + " (" + (mesas * (asientos + 1) / (double) nucleos) + " por núcleo)");
+        System.out.printf("Manos: %d en %.2f s (%.0f manos/s, %.0f por núcleo)%n",
+                manos, segundos, manos / segundos, manos / segundos / nucleos);
+        System.out.printf("Decisiones remotas: %d (%.0f por segundo), plazos vencidos: %d%n",
+                latencias.getCantidad(), latencias.getCantidad() / segundos, planificador.getPlazosVencidos());
+        System.out.println("Latencia de respuesta: " + latencias);
+    }
+}
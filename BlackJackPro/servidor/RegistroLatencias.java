@@ -0,0 +1,126 @@
+package servidor;
+
+/**
+ * Histograma de latencias en nanosegundos con cubetas logarítmicas: cada
+ * potencia de dos se divide en 16 cubetas, por lo que el error relativo de
+ * un percentil es menor al 7%. Registrar es O(1) y no reserva memoria.
+ *
+ * No es seguro para uso concurrente: cada mesa o hilo lleva el suyo y al
+ * final se combinan con {@link #combinar(RegistroLatencias)}.
+ */
+public class RegistroLatencias {
+
+    private static final int BITS_SUBCUBETA = 4;
+    private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+    private static final int CUBETAS = (64 - BITS_SUBCUBETA) * SUBCUBETAS;
+
+    private final long[] cubetas;
+    private long cantidad;
+    private long suma;
+    private long maximo;
+
+    /**
+     * Crea un histograma vacío.
+     */
+    public RegistroLatencias() {
+        this.cubetas = new long[CUBETAS];
+    }
+
+    /**
+     * Registra una medición.
+     *
+     * @param nanos Latencia en nanosegundos; los valores negativos cuentan como 0.
+     */
+    public void registrar(long nanos) {
+        long valor = Math.max(0, nanos);
+        cubetas[indice(valor)]++;
+        cantidad++;
+        suma += valor;
+        if (valor > maximo) {
+            maximo = valor;
+        }
+    }
+
+    // Los valores menores a 16 tienen cubeta propia; el resto se ubica por su
+    // exponente y sus cuatro bits más significativos después del primero
+    private static int indice(long valor) {
+        if (valor < SUBCUBETAS) {
+            return (int) valor;
+        }
+        int exponente = 63 - Long.numberOfLeadingZeros(valor);
+        int sub = (int) (valor >>> (exponente - BITS_SUBCUBETA)) & (SUBCUBETAS - 1);
+        return (exponente - BITS_SUBCUBETA + 1) * SUBCUBETAS + sub;
+    }
+
+    // Límite superior de los valores que caen en la cubeta
+    private static long limiteSuperior(int indice) {
+        if (indice < SUBCUBETAS) {
+            return indice;
+        }
+        int exponente = indice / SUBCUBETAS + BITS_SUBCUBETA - 1;
+        long sub = indice % SUBCUBETAS;
+        long ancho = 1L << (exponente - BITS_SUBCUBETA);
+        return ((SUBCUBETAS + sub) << (exponente - BITS_SUBCUBETA)) + ancho - 1;
+    }
+
+    /**
+     * Suma a este histograma las mediciones de otro.
+     *
+     * @param otro Histograma a combinar.
+     */
+    public void combinar(RegistroLatencias otro) {
+        for (int i = 0; i < CUBETAS; i++) {
+            cubetas[i] += otro.cubetas[i];
+        }
+        cantidad += otro.cantidad;
+        suma += otro.suma;
+        maximo = Math.max(maximo, otro.maximo);
+    }
+
+    /**
+     * Calcula un percentil aproximado.
+     *
+     * @param percentil Percentil entre 0 y 100, por ejemplo 99.
+     * @return Latencia en nanosegundos, o 0 si no hay mediciones.
+     * @throws IllegalArgumentException si el percentil está fuera de rango.
+     */
+    public long percentil(double percentil) {
+        if (percentil < 0 || percentil > 100) {
+            throw new IllegalArgumentException("Percentil fuera de rango: " + percentil);
+        }
+        if (cantidad == 0) {
+            return 0;
+        }
+        long objetivo = Math.max(1, (long) Math.ceil(cantidad * percentil / 100.0));
+        long acumulado = 0;
+        for (int i = 0; i < CUBETAS; i++) {
+            acumulado += cubetas[i];
+            if (acumulado >= objetivo) {
+                return Math.min(limiteSuperior(i), maximo);
+            }
+        }
+        return maximo;
+    }
+
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    public long getMaximo() {
+        return maximo;
+    }
+
+    /**
+     * Latencia promedio en nanosegundos.
+     */
+    public double promedio() {
+        return cantidad == 0 ? 0 : (double) suma / cantidad;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("n=%d prom=%.1f us p50=%.1f us p99=%.1f us p99.9=%.1f us max=%.1f us",
+                cantidad, promedio() / 1e3, percentil(50) / 1e3, percentil(99) / 1e3,
+                percentil(99.9) / 1e3, maximo / 1e3);
+    }
+}
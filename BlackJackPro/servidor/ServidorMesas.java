@@ -0,0 +1,129 @@
+package servidor;
+
+import juego.RegistroSesiones;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Servidor que aloja muchas mesas y sesiones en una sola JVM. Cada sesión
+ * corre en su propio hilo y puede bloquearse esperando a sus jugadores sin
+ * afectar a las demás.
+ *
+ * Si la JVM ofrece hilos virtuales (Java 21 o posterior) se usa un hilo
+ * virtual por sesión; si no, un grupo de hilos de plataforma que crece según
+ * haga falta.
+ *
+ * Las mesas abiertas con {@link #abrirMesa} quedan en un
+ * {@link RegistroSesiones} mientras se juegan, para buscarlas por el
+ * identificador de su sesión; al terminar se quitan solas.
+ */
+public class ServidorMesas {
+
+    private final ExecutorService ejecutor;
+    private final boolean hilosVirtuales;
+    private final RegistroSesiones registro;
+
+    /**
+     * Crea el servidor con el mejor ejecutor disponible.
+     */
+    public ServidorMesas() {
+        ExecutorService virtual = crearEjecutorVirtual();
+        this.hilosVirtuales = virtual != null;
+        this.ejecutor = hilosVirtuales ? virtual : Executors.newCachedThreadPool();
+        this.registro = new RegistroSesiones();
+    }
+
+    // Executors.newVirtualThreadPerTaskExecutor() por reflexión, para compilar
+    // también con versiones de Java que no lo tienen
+    private static ExecutorService crearEjecutorVirtual() {
+        try {
+            Method fabrica = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) fabrica.invoke(null);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Pone en marcha una sesión (una mesa, un cliente o una partida) en su
+     * propio hilo.
+     *
+     * @param sesion Tarea de la sesión.
+     * @return Futuro que se completa cuando la sesión termina.
+     * @throws IllegalStateException si el servidor ya fue cerrado.
+     */
+    public Future<?> abrir(Runnable sesion) {
+        if (ejecutor.isShutdown()) {
+            throw new IllegalStateException("El servidor ya fue cerrado");
+        }
+        return ejecutor.submit(sesion);
+    }
+
+    /**
+     * Pone en marcha una mesa en su propio hilo y registra su sesión hasta
+     * que termine.
+     *
+     * @param mesa Mesa a jugar.
+     * @return Futuro que se completa cuando la mesa termina.
+     * @throws IllegalStateException    si el servidor ya fue cerrado.
+     * @throws IllegalArgumentException si la mesa ya está abierta.
+     */
+    public Future<?> abrirMesa(SesionMesa mesa) {
+        if (ejecutor.isShutdown()) {
+            throw new IllegalStateException("El servidor ya fue cerrado");
+        }
+        long identificador = mesa.getIdentificador();
+        registro.registrar(mesa.getSesion());
+        try {
+            return ejecutor.submit(() -> {
+                try {
+                    mesa.run();
+                } finally {
+                    registro.finalizar(identificador);
+                }
+            });
+        } catch (RuntimeException e) {
+            registro.finalizar(identificador);
+            throw e;
+        }
+    }
+
+    /**
+     * Registro de las sesiones de las mesas en juego.
+     *
+     * @return Registro del servidor.
+     */
+    public RegistroSesiones getRegistro() {
+        return registro;
+    }
+
+    /**
+     * Deja de aceptar sesiones y espera a que terminen las activas.
+     *
+     * @param espera Tiempo máximo de espera.
+     * @param unidad Unidad del tiempo de espera.
+     * @return true si todas las sesiones terminaron a tiempo.
+     */
+    public boolean cerrar(long espera, TimeUnit unidad) {
+        ejecutor.shutdown();
+        try {
+            return ejecutor.awaitTermination(espera, unidad);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Indica si las sesiones corren en hilos virtuales.
+     *
+     * @return true con hilos virtuales, false con hilos de plataforma.
+     */
+    public boolean usaHilosVirtuales() {
+        return hilosVirtuales;
+    }
+}
@@ -0,0 +1,139 @@
+package servidor;
+
+import juego.MesaBlackjack;
+import juego.SesionJuego;
+import logica.Jugador;
+import logica.MazoCartas;
+
+/**
+ * Mesa alojada en el servidor. Juega una cantidad fija de rondas pidiendo
+ * las decisiones de cada asiento a su jugador remoto. Todo el estado de la
+ * mesa (mazo, Dealer, jugadores, turnos) pertenece a la sesión; con otras
+ * sesiones solo comparte las cartas canónicas, que son inmutables.
+ *
+ * Cada mesa tiene además una {@link SesionJuego} propia, cuyo identificador
+ * es único en todo el proceso; con él la registra el {@link ServidorMesas}
+ * mientras se juega.
+ */
+public class SesionMesa implements Runnable {
+
+    private final int numero;
+    private final SesionJuego sesion;
+    private final MesaBlackjack mesa;
+    private final ConexionJugador[] conexiones;
+    private final long rondas;
+    private final long plazoNanos;
+    private final RegistroLatencias latencias;
+    private final EstrategiaCanal[] estrategias;
+    private volatile long manosJugadas;
+
+    /**
+     * Crea una sesión sobre el mazo indicado.
+     *
+     * @param numero Número de la mesa dentro del servidor.
+     * @param mazo   Mazo o zapato propio de la mesa.
+     * @param rondas Cantidad de rondas a jugar.
+     */
+    public SesionMesa(int numero, MazoCartas mazo, long rondas) {
+        this(numero, mazo, rondas, 0);
+    }
+
+    /**
+     * Crea una sesión con plazo de respuesta para los jugadores.
+     *
+     * @param numero     Número de la mesa dentro del servidor.
+     * @param mazo       Mazo o zapato propio de la mesa.
+     * @param rondas     Cantidad de rondas a jugar.
+     * @param plazoNanos Tiempo máximo de cada respuesta; 0 para no limitarlo.
+     */
+    public SesionMesa(int numero, MazoCartas mazo, long rondas, long plazoNanos) {
+        this.numero = numero;
+        this.sesion = new SesionJuego();
+        this.mesa = new MesaBlackjack(mazo);
+        this.conexiones = new ConexionJugador[MesaBlackjack.MAXIMO_ASIENTOS];
+        this.estrategias = new EstrategiaCanal[MesaBlackjack.MAXIMO_ASIENTOS];
+        this.rondas = rondas;
+        this.plazoNanos = plazoNanos;
+        this.latencias = new RegistroLatencias();
+    }
+
+    /**
+     * Sienta a un jugador remoto y devuelve la conexión por la que se le
+     * preguntarán sus decisiones.
+     *
+     * @param nombre Nombre del jugador.
+     * @return Conexión que debe atender el cliente.
+     */
+    public ConexionJugador conectarJugador(String nombre) {
+        ConexionJugador conexion = new ConexionJugador(nombre);
+        EstrategiaCanal estrategia = new EstrategiaCanal(conexion, plazoNanos, latencias);
+        int asiento = mesa.sentarJugador(new Jugador(nombre), estrategia);
+        conexiones[asiento] = conexion;
+        estrategias[asiento] = estrategia;
+        return conexion;
+    }
+
+    /**
+     * Juega todas las rondas y avisa el fin a los clientes.
+     */
+    @Override
+    public void run() {
+        try {
+            for (long i = 0; i < rondas && !Thread.currentThread().isInterrupted(); i++) {
+                manosJugadas += mesa.jugarRonda();
+            }
+        } finally {
+            for (int i = 0; i < mesa.getCantidadAsientos(); i++) {
+                conexiones[i].preguntar(EstrategiaCanal.FIN);
+                conexiones[i].cerrar();
+            }
+        }
+    }
+
+    /**
+     * Identificador de la sesión de la mesa, único entre todas las sesiones
+     * del proceso.
+     */
+    public long getIdentificador() {
+        return sesion.getIdentificador();
+    }
+
+    public int getNumero() {
+        return numero;
+    }
+
+    public SesionJuego getSesion() {
+        return sesion;
+    }
+
+    /**
+     * Manos resueltas hasta el momento, una por asiento y ronda.
+     */
+    public long getManosJugadas() {
+        return manosJugadas;
+    }
+
+    /**
+     * Latencias de las respuestas de los jugadores; válido cuando la sesión
+     * terminó.
+     */
+    public RegistroLatencias getLatencias() {
+        return latencias;
+    }
+
+    /**
+     * Preguntas que quedaron sin respuesta a tiempo; válido cuando la sesión
+     * terminó.
+     */
+    public long getPlazosVencidos() {
+        long total = 0;
+        for (int i = 0; i < mesa.getCantidadAsientos(); i++) {
+            total += estrategias[i].getPlazosVencidos();
+        }
+        return total;
+    }
+
+    public MesaBlackjack getMesa() {
+        return mesa;
+    }
+}
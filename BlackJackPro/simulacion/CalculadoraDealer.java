@@ -0,0 +1,258 @@
+package simulacion;
+
+import componentes.ArbolBinario;
+import logica.Dealer;
+import logica.ManoCompacta;
+import logica.MazoCartas;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+/**
+ * Calcula la distribución exacta del total final del Dealer (17 a 21 o pasarse)
+ * para una carta visible y una composición de cartas restantes.
+ *
+ * Recorre recursivamente todas las cartas que el Dealer puede robar bajo las
+ * reglas de la mesa (por defecto plantarse con 17, las mismas del
+ * {@link Dealer}) y memoriza cada estado. El estado es la mano del
+ * Dealer como {@link ManoCompacta}: junto con la composición base determina
+ * exactamente qué cartas quedan, así que la clave de memoria es el par
+ * (composición base, mano del Dealer). Tras el primer cálculo, repetir una
+ * consulta es una búsqueda en dos tablas hash.
+ *
+ * Es segura para uso concurrente: varios hilos pueden consultar a la vez.
+ */
+public class CalculadoraDealer {
+
+    /** Posiciones del resultado: totales 17 a 21 ocupan los índices 0 a 4. */
+    public static final int INDICE_17 = 0;
+    /** Índice de la probabilidad de que el Dealer se pase de 21. */
+    public static final int INDICE_EXCESO = 5;
+    /** Índice de la probabilidad de que se agoten las cartas antes de llegar a 17. */
+    public static final int INDICE_SIN_CARTAS = 6;
+    /** Tamaño del arreglo de resultados. */
+    public static final int RESULTADOS = 7;
+
+    private static final int LIMITE_17 = 17;
+
+    // Composiciones empaquetadas: 6 bits por valor del 1 al 9 y 8 bits para el 10
+    private static final int BITS_VALOR = 6;
+    private static final int MAXIMO_VALOR = (1 << BITS_VALOR) - 1;
+    private static final int MAXIMO_DIEZ = 255;
+
+    // Reglas compiladas del Dealer: true si pide carta
+    private final ArbolBinario<Boolean> reglas;
+    // Memoria por composición base: mano del Dealer -> distribución final
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<Long, double[]>> memoria;
+
+    /**
+     * Crea una calculadora para un Dealer que se planta con 17.
+     */
+    public CalculadoraDealer() {
+        this(ArbolBinario.REGLAS_PLANTA_17);
+    }
+
+    /**
+     * Crea una calculadora para un Dealer con las reglas indicadas.
+     *
+     * @param reglasDealer Definición de reglas del árbol de estrategia.
+     * @throws IllegalArgumentException si las reglas plantan al Dealer por
+     *                                  debajo de 17 o le hacen pedir con 21.
+     */
+    public CalculadoraDealer(String reglasDealer) {
+        this.reglas = Dealer.compilarReglas(reglasDealer);
+        this.memoria = new ConcurrentHashMap<>();
+
+        for (int suave = 0; suave <= 1; suave++) {
+            for (int total = 2; total <= 21; total++) {
+                boolean pide = reglas.decidir(total, suave == 1).getValor();
+                if (pide != (total < LIMITE_17) && (total < LIMITE_17 || total == 21)) {
+                    throw new IllegalArgumentException(
+                            "Las reglas deben pedir por debajo de 17 y plantarse con 21");
+                }
+            }
+        }
+    }
+
+    /**
+     * Calcula la distribución del total final del Dealer.
+     *
+     * @param cartaVisible Valor de la carta visible del Dealer (1 = As, 10).
+     * @param composicion  Cartas que quedan sin contar la carta visible,
+     *                     indexadas de 1 a 10 como en
+     *                     {@link MazoCartas#composicionRestante(int[])}.
+     * @return Arreglo de {@link #RESULTADOS} probabilidades.
+     */
+    public double[] distribucion(int cartaVisible, int[] composicion) {
+        int[] base = composicion.clone();
+        base[cartaVisible]++;
+
+        ConcurrentHashMap<Long, double[]> tabla = memoria.computeIfAbsent(
+                empaquetar(base), clave -> new ConcurrentHashMap<>());
+        return calcular(ManoCompacta.agregar(ManoCompacta.VACIA, cartaVisible), base, tabla).clone();
+    }
+
+    /**
+     * Calcula la distribución del total final del Dealer sabiendo que no tiene
+     * Blackjack. Es la que enfrenta un jugador que todavía decide, porque la
+     * mesa resuelve el Blackjack del Dealer antes de los turnos: con un As
+     * visible la carta oculta no puede valer 10, y con un 10 visible no puede
+     * ser un As. Con otras cartas visibles coincide con
+     * {@link #distribucion(int, int[])}.
+     *
+     * @param cartaVisible Valor de la carta visible del Dealer (1 = As, 10).
+     * @param composicion  Cartas que quedan sin contar la carta visible,
+     *                     indexadas de 1 a 10.
+     * @return Arreglo de {@link #RESULTADOS} probabilidades, o todo en cero si
+     *         la composición solo permite un Blackjack.
+     */
+    public double[] distribucionSinBlackjack(int cartaVisible, int[] composicion) {
+        int excluida = cartaVisible == 1 ? 10 : cartaVisible == 10 ? 1 : 0;
+        if (excluida == 0) {
+            return distribucion(cartaVisible, composicion);
+        }
+
+        int[] base = composicion.clone();
+        base[cartaVisible]++;
+        ConcurrentHashMap<Long, double[]> tabla = memoria.computeIfAbsent(
+                empaquetar(base), clave -> new ConcurrentHashMap<>());
+        long mano = ManoCompacta.agregar(ManoCompacta.VACIA, cartaVisible);
+
+        // Se reparte la carta oculta entre las que no forman Blackjack
+        int posibles = 0;
+        for (int valor = 1; valor <= 10; valor++) {
+            if (valor != excluida) {
+                posibles += composicion[valor];
+            }
+        }
+        double[] resultado = new double[RESULTADOS];
+        if (posibles == 0) {
+            return resultado;
+        }
+        for (int valor = 1; valor <= 10; valor++) {
+            if (valor != excluida && composicion[valor] > 0) {
+                double probabilidad = (double) composicion[valor] / posibles;
+                double[] siguiente = calcular(ManoCompacta.agregar(mano, valor), base, tabla);
+                for (int i = 0; i < RESULTADOS; i++) {
+                    resultado[i] += probabilidad * siguiente[i];
+                }
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Calcula la distribución del Dealer usando las cartas que quedan en un mazo.
+     *
+     * @param cartaVisible Valor de la carta visible del Dealer, ya repartida.
+     * @param mazo         Mazo del que el Dealer robará.
+     * @return Arreglo de {@link #RESULTADOS} probabilidades.
+     */
+    public double[] distribucion(int cartaVisible, MazoCartas mazo) {
+        return distribucion(cartaVisible, mazo.composicionRestante(new int[11]));
+    }
+
+    /**
+     * Calcula en paralelo la distribución para cada posible carta visible.
+     * Aquí la composición incluye la carta visible, que se descuenta para cada
+     * caso; las cartas visibles sin existencias quedan en null.
+     *
+     * @param composicion Cartas del mazo antes de mostrar la carta del Dealer.
+     * @return Arreglo indexado de 1 a 10 con la distribución de cada carta.
+     */
+    public double[][] distribucionesPorCartaVisible(int[] composicion) {
+        return distribucionesPorCartaVisible(composicion, false);
+    }
+
+    /**
+     * Calcula en paralelo la distribución para cada posible carta visible,
+     * opcionalmente sabiendo que el Dealer no tiene Blackjack (ver
+     * {@link #distribucionSinBlackjack(int, int[])}).
+     *
+     * @param composicion  Cartas del mazo antes de mostrar la carta del Dealer.
+     * @param sinBlackjack true para descartar el Blackjack del Dealer.
+     * @return Arreglo indexado de 1 a 10 con la distribución de cada carta.
+     */
+    public double[][] distribucionesPorCartaVisible(int[] composicion, boolean sinBlackjack) {
+        double[][] resultado = new double[11][];
+        IntStream.rangeClosed(1, 10).parallel().forEach(visible -> {
+            if (composicion[visible] > 0) {
+                int[] restantes = composicion.clone();
+                restantes[visible]--;
+                resultado[visible] = sinBlackjack
+                        ? distribucionSinBlackjack(visible, restantes)
+                        : distribucion(visible, restantes);
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Libera la memoria de todos los estados calculados.
+     */
+    public void limpiar() {
+        memoria.clear();
+    }
+
+    /**
+     * Recursión principal sobre las cartas que puede robar el Dealer.
+     */
+    private double[] calcular(long mano, int[] base, ConcurrentHashMap<Long, double[]> tabla) {
+        double[] resultado = tabla.get(mano);
+        if (resultado != null) {
+            return resultado;
+        }
+
+        resultado = new double[RESULTADOS];
+        int total = ManoCompacta.total(mano);
+
+        if (ManoCompacta.seExcedio(mano)) {
+            resultado[INDICE_EXCESO] = 1.0;
+        } else if (!reglas.decidir(total, ManoCompacta.esSuave(mano)).getValor()) {
+            resultado[INDICE_17 + total - LIMITE_17] = 1.0;
+        } else {
+            int restantes = 0;
+            for (int valor = 1; valor <= 10; valor++) {
+                restantes += base[valor] - ManoCompacta.cantidadDeValor(mano, valor);
+            }
+
+            if (restantes == 0) {
+                resultado[INDICE_SIN_CARTAS] = 1.0;
+            } else {
+                for (int valor = 1; valor <= 10; valor++) {
+                    int disponibles = base[valor] - ManoCompacta.cantidadDeValor(mano, valor);
+                    if (disponibles > 0) {
+                        double probabilidad = (double) disponibles / restantes;
+                        double[] siguiente = calcular(ManoCompacta.agregar(mano, valor), base, tabla);
+                        for (int i = 0; i < RESULTADOS; i++) {
+                            resultado[i] += probabilidad * siguiente[i];
+                        }
+                    }
+                }
+            }
+        }
+
+        // Si otro hilo calculó el mismo estado, ambos resultados son idénticos
+        tabla.put(mano, resultado);
+        return resultado;
+    }
+
+    /**
+     * Empaqueta una composición en un long para usarla como clave.
+     *
+     * @throws IllegalArgumentException si alguna cantidad no cabe en la clave.
+     */
+    private static long empaquetar(int[] composicion) {
+        long clave = 0;
+        for (int valor = 1; valor <= 9; valor++) {
+            if (composicion[valor] < 0 || composicion[valor] > MAXIMO_VALOR) {
+                throw new IllegalArgumentException("Cantidad fuera de rango para el valor " + valor);
+            }
+            clave |= (long) composicion[valor] << ((valor - 1) * BITS_VALOR);
+        }
+        if (composicion[10] < 0 || composicion[10] > MAXIMO_DIEZ) {
+            throw new IllegalArgumentException("Cantidad fuera de rango para el valor 10");
+        }
+        return clave | ((long) composicion[10] << (9 * BITS_VALOR));
+    }
+}
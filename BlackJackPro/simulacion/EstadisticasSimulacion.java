@@ -0,0 +1,116 @@
+package simulacion;
+
+import logica.ResultadoMano;
+
+/**
+ * Acumula los resultados de una simulación: victorias, derrotas, empates y
+ * Blackjacks del jugador, junto con el tiempo empleado.
+ */
+public class EstadisticasSimulacion {
+
+    private long victorias;
+    private long derrotas;
+    private long empates;
+    private long blackjacks;
+    private long nanosegundos;
+
+    /**
+     * Suma el resultado de una mano. Un Blackjack cuenta también como victoria.
+     *
+     * @param resultado Resultado de la mano para el jugador.
+     */
+    public void registrar(ResultadoMano resultado) {
+        switch (resultado) {
+            case BLACKJACK:
+                blackjacks++;
+                victorias++;
+                break;
+            case VICTORIA:
+                victorias++;
+                break;
+            case DERROTA:
+                derrotas++;
+                break;
+            default:
+                empates++;
+        }
+    }
+
+    /**
+     * Suma a estas estadísticas los contadores de otra simulación.
+     * El tiempo no se suma: quien combina resultados paralelos debe registrar
+     * el tiempo real transcurrido.
+     *
+     * @param otra Estadísticas a incorporar.
+     */
+    public void combinar(EstadisticasSimulacion otra) {
+        victorias += otra.victorias;
+        derrotas += otra.derrotas;
+        empates += otra.empates;
+        blackjacks += otra.blackjacks;
+    }
+
+    /**
+     * Registra el tiempo total que tomó la simulación.
+     *
+     * @param nanosegundos Duración en nanosegundos.
+     */
+    public void setNanosegundos(long nanosegundos) {
+        this.nanosegundos = nanosegundos;
+    }
+
+    public long getVictorias() {
+        return victorias;
+    }
+
+    public long getDerrotas() {
+        return derrotas;
+    }
+
+    public long getEmpates() {
+        return empates;
+    }
+
+    public long getBlackjacks() {
+        return blackjacks;
+    }
+
+    public long getNanosegundos() {
+        return nanosegundos;
+    }
+
+    /**
+     * Devuelve el total de manos registradas.
+     *
+     * @return Suma de victorias, derrotas y empates.
+     */
+    public long totalManos() {
+        return victorias + derrotas + empates;
+    }
+
+    /**
+     * Calcula el rendimiento de la simulación.
+     *
+     * @return Manos jugadas por segundo, o 0 si no se midió el tiempo.
+     */
+    public double manosPorSegundo() {
+        return nanosegundos == 0 ? 0 : totalManos() * 1_000_000_000.0 / nanosegundos;
+    }
+
+    @Override
+    public String toString() {
+        long total = totalManos();
+        StringBuilder sb = new StringBuilder();
+        sb.append("Manos: ").append(total).append("\n");
+        sb.append(String.format("Victorias: %d (%.3f%%)%n", victorias, porcentaje(victorias, total)));
+        sb.append(String.format("Derrotas: %d (%.3f%%)%n", derrotas, porcentaje(derrotas, total)));
+        sb.append(String.format("Empates: %d (%.3f%%)%n", empates, porcentaje(empates, total)));
+        sb.append(String.format("Blackjacks: %d (%.3f%%)%n", blackjacks, porcentaje(blackjacks, total)));
+        sb.append(String.format("Rendimiento: %.0f manos/s", manosPorSegundo()));
+        return sb.toString();
+    }
+
+    private static double porcentaje(long parte, long total) {
+        return total == 0 ? 0 : parte * 100.0 / total;
+    }
+}
@@ -0,0 +1,33 @@
+package simulacion;
+
+import logica.Carta;
+import logica.EstrategiaJugador;
+import logica.Jugador;
+
+/**
+ * Estrategia simple que pide carta mientras el puntaje sea menor a un límite.
+ * Con límite 17 imita la regla fija del Dealer.
+ */
+public class EstrategiaUmbral implements EstrategiaJugador {
+
+    private final int limite;
+
+    /**
+     * Crea la estrategia con el puntaje a partir del cual se planta.
+     *
+     * @param limite Puntaje mínimo para plantarse.
+     */
+    public EstrategiaUmbral(int limite) {
+        this.limite = limite;
+    }
+
+    @Override
+    public boolean pedirCarta(Jugador jugador, Carta cartaDealer) {
+        return jugador.puntajeTotal() < limite;
+    }
+
+    @Override
+    public String toString() {
+        return "Umbral(" + limite + ")";
+    }
+}
@@ -0,0 +1,113 @@
+package simulacion;
+
+import juego.MesaBlackjack;
+import logica.EstrategiaJugador;
+import logica.Jugador;
+import logica.MazoCartas;
+import logica.ResultadoMano;
+
+import java.util.Random;
+
+/**
+ * Motor de simulación Monte Carlo que juega manos de Blackjack sin consola.
+ * Reutiliza la {@link MesaBlackjack}, el Dealer y las reglas del juego, pero las
+ * decisiones de los jugadores las toma una {@link EstrategiaJugador}.
+ * Con varios asientos, cada turno del Dealer resuelve una mano por asiento.
+ */
+public class MotorSimulacion {
+
+    private final MesaBlackjack mesa;
+
+    /**
+     * Crea un motor que jugará con la estrategia indicada.
+     *
+     * @param estrategia Estrategia que decide las acciones del jugador.
+     */
+    public MotorSimulacion(EstrategiaJugador estrategia) {
+        this(estrategia, new Random());
+    }
+
+    /**
+     * Crea un motor con su propio generador aleatorio. Cada instancia tiene su
+     * propio jugador, Dealer y mazo, por lo que no comparte estado con otras.
+     *
+     * @param estrategia Estrategia que decide las acciones del jugador.
+     * @param generador  Generador usado para barajar.
+     */
+    public MotorSimulacion(EstrategiaJugador estrategia, Random generador) {
+        this(estrategia, new MazoCartas(generador));
+    }
+
+    /**
+     * Crea un motor de un solo asiento que reparte del mazo o zapato indicado.
+     * El mazo pasa a ser propiedad del motor y no debe compartirse con otros
+     * hilos.
+     *
+     * @param estrategia Estrategia que decide las acciones del jugador.
+     * @param mazo       Mazo o zapato del que se reparte.
+     */
+    public MotorSimulacion(EstrategiaJugador estrategia, MazoCartas mazo) {
+        this(estrategia, mazo, 1);
+    }
+
+    /**
+     * Crea un motor con varios asientos que usan la misma estrategia.
+     *
+     * @param estrategia Estrategia que decide las acciones de cada asiento.
+     * @param mazo       Mazo o zapato del que se reparte.
+     * @param asientos   Cantidad de asientos, entre 1 y
+     *                   {@link MesaBlackjack#MAXIMO_ASIENTOS}.
+     */
+    public MotorSimulacion(EstrategiaJugador estrategia, MazoCartas mazo, int asientos) {
+        if (asientos < 1 || asientos > MesaBlackjack.MAXIMO_ASIENTOS) {
+            throw new IllegalArgumentException("Cantidad de asientos inválida: " + asientos);
+        }
+        this.mesa = new MesaBlackjack(mazo);
+        for (int i = 0; i < asientos; i++) {
+            mesa.sentarJugador(new Jugador("Simulado " + (i + 1)), estrategia);
+        }
+    }
+
+    /**
+     * Juega la cantidad de manos indicada y devuelve las estadísticas. Cada
+     * asiento en cada ronda cuenta como una mano; la última ronda puede
+     * registrar solo parte de sus asientos.
+     *
+     * @param manos Número de manos a simular.
+     * @return Estadísticas acumuladas de la simulación.
+     */
+    public EstadisticasSimulacion ejecutar(long manos) {
+        EstadisticasSimulacion estadisticas = new EstadisticasSimulacion();
+        long inicio = System.nanoTime();
+
+        long jugadas = 0;
+        while (jugadas < manos) {
+            int asientos = mesa.jugarRonda();
+            for (int i = 0; i < asientos && jugadas < manos; i++, jugadas++) {
+                estadisticas.registrar(mesa.getAsiento(i).getResultado());
+            }
+        }
+
+        estadisticas.setNanosegundos(System.nanoTime() - inicio);
+        return estadisticas;
+    }
+
+    /**
+     * Juega una ronda completa y devuelve el resultado del primer asiento.
+     *
+     * @return Resultado de la mano para el primer jugador.
+     */
+    public ResultadoMano jugarMano() {
+        mesa.jugarRonda();
+        return mesa.getAsiento(0).getResultado();
+    }
+
+    /**
+     * Devuelve la mesa sobre la que juega el motor.
+     *
+     * @return Mesa del motor.
+     */
+    public MesaBlackjack getMesa() {
+        return mesa;
+    }
+}
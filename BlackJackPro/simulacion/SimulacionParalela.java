@@ -0,0 +1,148 @@
+package simulacion;
+
+import juego.MesaBlackjack;
+import logica.EstrategiaJugador;
+import logica.MazoCartas;
+import persistencia.DiarioJugadas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * Reparte una simulación de N manos entre varios hilos de un ForkJoinPool.
+ * Cada tarea crea su propio {@link MotorSimulacion} (mazo, generador, mesa y
+ * Dealer propios), de modo que los hilos no comparten ningún estado mutable.
+ * Al final se combinan los contadores de cada tarea en un único resultado.
+ *
+ * La estrategia sí se comparte entre los hilos, por lo que debe ser inmutable o
+ * segura para uso concurrente.
+ */
+public class SimulacionParalela {
+
+    private final EstrategiaJugador estrategia;
+    private final int hilos;
+    private final long semilla;
+    private int asientos;
+    private Function<Random, MazoCartas> fabricaMazos;
+    private DiarioJugadas diario;
+
+    /**
+     * Crea un ejecutor que usa todos los núcleos disponibles.
+     *
+     * @param estrategia Estrategia que decide las acciones del jugador.
+     */
+    public SimulacionParalela(EstrategiaJugador estrategia) {
+        this(estrategia, Runtime.getRuntime().availableProcessors(), System.nanoTime());
+    }
+
+    /**
+     * Crea un ejecutor con una cantidad fija de hilos y una semilla reproducible.
+     *
+     * @param estrategia Estrategia que decide las acciones del jugador.
+     * @param hilos      Cantidad de hilos de trabajo.
+     * @param semilla    Semilla de la que se derivan los generadores de cada hilo.
+     */
+    public SimulacionParalela(EstrategiaJugador estrategia, int hilos, long semilla) {
+        if (hilos < 1) {
+            throw new IllegalArgumentException("Se necesita al menos un hilo");
+        }
+        this.estrategia = estrategia;
+        this.hilos = hilos;
+        this.semilla = semilla;
+        this.fabricaMazos = MazoCartas::new;
+        this.asientos = 1;
+    }
+
+    /**
+     * Define cuántos asientos juegan en la mesa de cada hilo. Cada asiento
+     * cuenta como una mano, por lo que un turno del Dealer resuelve varias.
+     *
+     * @param asientos Cantidad de asientos por mesa.
+     */
+    public void setAsientos(int asientos) {
+        if (asientos < 1 || asientos > MesaBlackjack.MAXIMO_ASIENTOS) {
+            throw new IllegalArgumentException("Cantidad de asientos inválida: " + asientos);
+        }
+        this.asientos = asientos;
+    }
+
+    /**
+     * Define cómo se crea el mazo de cada hilo, por ejemplo un zapato de varias
+     * barajas. Por defecto cada hilo usa un mazo simple de 52 cartas.
+     *
+     * @param fabricaMazos Función que crea un mazo a partir del generador del hilo.
+     */
+    public void setFabricaMazos(Function<Random, MazoCartas> fabricaMazos) {
+        this.fabricaMazos = fabricaMazos;
+    }
+
+    /**
+     * Define un diario donde se guardan todas las manos simuladas. Los hilos
+     * comparten el diario; cada ejecución reserva en el diario una sesión por
+     * hilo, así que ejecuciones sucesivas sobre el mismo directorio no repiten
+     * sesiones. El diario no se cierra al terminar.
+     *
+     * @param diario Diario de jugadas; null para no guardar nada.
+     */
+    public void setDiario(DiarioJugadas diario) {
+        this.diario = diario;
+    }
+
+    /**
+     * Ejecuta la simulación repartiendo las manos en partes iguales entre los
+     * hilos y combina los resultados.
+     *
+     * @param manos Número total de manos a simular.
+     * @return Estadísticas combinadas, con el tiempo real transcurrido.
+     */
+    public EstadisticasSimulacion ejecutar(long manos) {
+        SplittableRandom semillas = new SplittableRandom(semilla);
+        ForkJoinPool grupo = new ForkJoinPool(hilos);
+        List<ForkJoinTask<EstadisticasSimulacion>> tareas = new ArrayList<>();
+        long inicio = System.nanoTime();
+        long primeraSesion = diario != null ? diario.reservarSesiones(hilos) : 1;
+
+        try {
+            for (int i = 0; i < hilos; i++) {
+                // El resto de la división se reparte entre los primeros hilos
+                long manosHilo = manos / hilos + (i < manos % hilos ? 1 : 0);
+                MazoCartas mazo = fabricaMazos.apply(new Random(semillas.nextLong()));
+                long sesion = primeraSesion + i;
+                tareas.add(grupo.submit(() -> {
+                    MotorSimulacion motor = new MotorSimulacion(estrategia, mazo, asientos);
+                    motor.getMesa().setDiario(diario, sesion);
+                    return motor.ejecutar(manosHilo);
+                }));
+            }
+
+            EstadisticasSimulacion total = new EstadisticasSimulacion();
+            for (ForkJoinTask<EstadisticasSimulacion> tarea : tareas) {
+                total.combinar(tarea.get());
+            }
+            total.setNanosegundos(System.nanoTime() - inicio);
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Simulación interrumpida", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Falló un hilo de la simulación", e.getCause());
+        } finally {
+            grupo.shutdown();
+        }
+    }
+
+    /**
+     * Devuelve la cantidad de hilos que usa este ejecutor.
+     *
+     * @return Número de hilos.
+     */
+    public int getHilos() {
+        return hilos;
+    }
+}
@@ -0,0 +1,203 @@
+package simulacion;
+
+import logica.Carta;
+import logica.EstrategiaJugador;
+import logica.Jugador;
+
+/**
+ * Tabla de estrategia básica del jugador (pedir o plantarse) generada a partir
+ * de los valores esperados, no escrita a mano.
+ *
+ * Para cada total del jugador (duro o suave) y cada carta visible del Dealer
+ * se compara el valor esperado de plantarse, usando la distribución exacta de
+ * {@link CalculadoraDealer} sabiendo que el Dealer no tiene Blackjack (la mesa
+ * lo resuelve antes de los turnos), con el de pedir carta, calculado
+ * recursivamente sobre la composición restante. Es una estrategia dependiente del total: las
+ * probabilidades de las cartas del jugador no descuentan las que ya tiene.
+ *
+ * El resultado queda en un arreglo plano de bytes, así que decidir es O(1).
+ * La tabla es inmutable y puede compartirse entre hilos.
+ */
+public class TablaEstrategiaBasica implements EstrategiaJugador {
+
+    /** Acción: plantarse. */
+    public static final byte PLANTARSE = 0;
+    /** Acción: pedir carta. */
+    public static final byte PEDIR = 1;
+
+    private static final int TOTALES = 32;
+    private static final int CARTAS_VISIBLES = 11;
+
+    private final byte[] acciones;
+    private final double[] valorPlantarse;
+    private final double[] valorPedir;
+
+    private TablaEstrategiaBasica() {
+        int tamaño = 2 * TOTALES * CARTAS_VISIBLES;
+        this.acciones = new byte[tamaño];
+        this.valorPlantarse = new double[tamaño];
+        this.valorPedir = new double[tamaño];
+    }
+
+    /**
+     * Genera la tabla para un zapato completo de la cantidad de barajas dada.
+     *
+     * @param barajas Cantidad de barajas de 52 cartas.
+     * @return Tabla de estrategia generada.
+     */
+    public static TablaEstrategiaBasica paraBarajas(int barajas) {
+        int[] composicion = new int[11];
+        for (int valor = 1; valor <= 9; valor++) {
+            composicion[valor] = 4 * barajas;
+        }
+        composicion[10] = 16 * barajas;
+        return generar(composicion, new CalculadoraDealer());
+    }
+
+    /**
+     * Genera la tabla para la composición de cartas indicada.
+     *
+     * @param composicion Cartas disponibles indexadas de 1 a 10, antes de
+     *                    repartir la carta visible del Dealer.
+     * @param calculadora Calculadora de probabilidades del Dealer.
+     * @return Tabla de estrategia generada.
+     */
+    public static TablaEstrategiaBasica generar(int[] composicion, CalculadoraDealer calculadora) {
+        TablaEstrategiaBasica tabla = new TablaEstrategiaBasica();
+        // El jugador solo decide si el Dealer no tiene Blackjack
+        double[][] dealer = calculadora.distribucionesPorCartaVisible(composicion, true);
+
+        for (int visible = 1; visible <= 10; visible++) {
+            if (dealer[visible] != null) {
+                int[] restantes = composicion.clone();
+                restantes[visible]--;
+                tabla.calcularCartaVisible(visible, dealer[visible], restantes);
+            }
+        }
+        return tabla;
+    }
+
+    /**
+     * Llena la tabla para una carta visible del Dealer.
+     * Recorre los totales duros de 21 hacia abajo para que pedir carta siempre
+     * consulte estados ya resueltos.
+     */
+    private void calcularCartaVisible(int visible, double[] dealer, int[] restantes) {
+        int totalCartas = 0;
+        for (int valor = 1; valor <= 10; valor++) {
+            totalCartas += restantes[valor];
+        }
+
+        // Mejor valor esperado por total duro, con o sin un As en la mano
+        double[][] mejor = new double[2][TOTALES];
+
+        for (int duro = 21; duro >= 2; duro--) {
+            for (int conAs = 0; conAs <= 1; conAs++) {
+                boolean suave = conAs == 1 && duro + 10 <= 21;
+                int total = suave ? duro + 10 : duro;
+
+                double plantarse = valorAlPlantarse(total, dealer);
+                double pedir = 0;
+                for (int valor = 1; valor <= 10; valor++) {
+                    if (restantes[valor] == 0) {
+                        continue;
+                    }
+                    double probabilidad = (double) restantes[valor] / totalCartas;
+                    int nuevoDuro = duro + valor;
+                    int nuevoAs = (conAs == 1 || valor == 1) ? 1 : 0;
+                    pedir += probabilidad * (nuevoDuro > 21 ? -1.0 : mejor[nuevoAs][nuevoDuro]);
+                }
+
+                mejor[conAs][duro] = Math.max(plantarse, pedir);
+
+                // Una mano con As que ya no puede ser suave se comporta como dura
+                if (conAs == 0 || suave) {
+                    int indice = indice(total, suave, visible);
+                    valorPlantarse[indice] = plantarse;
+                    valorPedir[indice] = pedir;
+                    acciones[indice] = pedir > plantarse ? PEDIR : PLANTARSE;
+                }
+            }
+        }
+    }
+
+    /**
+     * Valor esperado de plantarse con un total frente a la distribución del
+     * Dealer: +1 si gana, -1 si pierde, 0 si empata.
+     */
+    private static double valorAlPlantarse(int total, double[] dealer) {
+        double valor = dealer[CalculadoraDealer.INDICE_EXCESO];
+        for (int final17 = 17; final17 <= 21; final17++) {
+            double probabilidad = dealer[CalculadoraDealer.INDICE_17 + final17 - 17];
+            if (total > final17) {
+                valor += probabilidad;
+            } else if (total < final17) {
+                valor -= probabilidad;
+            }
+        }
+        // Si se agotan las cartas el Dealer queda por debajo de 17
+        double sinCartas = dealer[CalculadoraDealer.INDICE_SIN_CARTAS];
+        return valor + (total >= 17 ? sinCartas : 0);
+    }
+
+    private static int indice(int total, boolean suave, int visible) {
+        return ((suave ? TOTALES : 0) + total) * CARTAS_VISIBLES + visible;
+    }
+
+    /**
+     * Consulta la acción recomendada.
+     *
+     * @param total   Puntaje actual del jugador.
+     * @param suave   true si la mano tiene un As contado como 11.
+     * @param visible Valor de la carta visible del Dealer (1 = As, 10).
+     * @return {@link #PEDIR} o {@link #PLANTARSE}.
+     */
+    public byte accion(int total, boolean suave, int visible) {
+        if (total > 21) {
+            return PLANTARSE;
+        }
+        return acciones[indice(total, suave, visible)];
+    }
+
+    /**
+     * Devuelve el valor esperado de plantarse en la situación indicada.
+     */
+    public double valorEsperadoPlantarse(int total, boolean suave, int visible) {
+        return valorPlantarse[indice(total, suave, visible)];
+    }
+
+    /**
+     * Devuelve el valor esperado de pedir carta (y seguir jugando de forma
+     * óptima) en la situación indicada.
+     */
+    public double valorEsperadoPedir(int total, boolean suave, int visible) {
+        return valorPedir[indice(total, suave, visible)];
+    }
+
+    @Override
+    public boolean pedirCarta(Jugador jugador, Carta cartaDealer) {
+        return accion(jugador.puntajeTotal(), jugador.esManoSuave(),
+                cartaDealer.obtenerValorJuego()) == PEDIR;
+    }
+
+    /**
+     * Muestra la tabla como el cuadro clásico: P = pedir, - = plantarse.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Estrategia básica    2  3  4  5  6  7  8  9 10  A\n");
+        for (int suave = 0; suave <= 1; suave++) {
+            int desde = suave == 1 ? 12 : 4;
+            for (int total = desde; total <= 21; total++) {
+                sb.append(String.format("%-5s %2d          ", suave == 1 ? "Suave" : "Duro", total));
+                for (int visible = 2; visible <= 11; visible++) {
+                    int carta = visible == 11 ? 1 : visible;
+                    sb.append(accion(total, suave == 1, carta) == PEDIR ? "  P" : "  -");
+                }
+                sb.append("\n");
+            }
+        }
+        return sb.toString();
+    }
+}